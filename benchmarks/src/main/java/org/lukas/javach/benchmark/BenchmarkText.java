@@ -0,0 +1,45 @@
+package org.lukas.javach.benchmark;
+
+import java.util.Random;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Generator of the text used by the benchmarks. The text is random printable ASCII, the same for every run.
+ *
+ * @author Lukas Pecak
+ */
+public final class BenchmarkText {
+
+    private static final long SEED = 42;
+
+    private BenchmarkText() {
+    }
+
+    /**
+     * Method to generate lines of equal length separated by the given line break, the last line has no line break
+     * @param numberOfLines Number of lines
+     * @param lineLength Length of every line in bytes, line break not included
+     * @param lineBreak Bytes of the line break
+     * @return Generated text
+     */
+    public static byte[] lines(int numberOfLines, int lineLength, byte[] lineBreak) {
+        Random random = new Random(SEED);
+        long length = (long) numberOfLines * (lineLength + lineBreak.length) - lineBreak.length;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Text of " + length + " bytes does not fit into an array");
+        }
+        byte[] bytes = new byte[(int) Math.max(0, length)];
+        int position = 0;
+        for (int i = 0; i < numberOfLines; i++) {
+            for (int j = 0; j < lineLength; j++) {
+                bytes[position++] = (byte) (' ' + random.nextInt('~' - ' '));
+            }
+            if (i < numberOfLines - 1) {
+                System.arraycopy(lineBreak, 0, bytes, position, lineBreak.length);
+                position += lineBreak.length;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,52 @@
+package org.lukas.javach.document;
+
+import org.lukas.javach.benchmark.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Benchmark of the line break detection. The position of the first line break decides how much of the content
+ * is scanned, a content without line break is scanned completely.
+ *
+ * @author Lukas Pecak
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineBreakBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    private int firstLineLength;
+
+    @Param({"WINDOWS_LINE_BREAK", "UNIX_LINE_BREAK", "OLD_MAC_LINE_BREAK", "UNDEFINED_LINE_BREAK"})
+    private LineBreak lineBreak;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        int numberOfLines = lineBreak == LineBreak.UNDEFINED_LINE_BREAK ? 1 : 2;
+        bytes = BenchmarkText.lines(numberOfLines, firstLineLength, lineBreak.getBytes());
+    }
+
+    @Benchmark
+    public LineBreak resolveLineBreak() {
+        return LineBreak.resolveLineBreak(bytes);
+    }
+}
@@ -0,0 +1,64 @@
+package org.lukas.javach.document;
+
+import org.lukas.javach.benchmark.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Benchmark of splitting text into lines, for every line break and for short to very long lines. The 1 MB text is
+ * scanned sequentially, the 64 MB text is above {@link LineSplitter#DEFAULT_PARALLEL_THRESHOLD} and is scanned in
+ * parallel chunks. findLineStarts is measured next to split to separate the scan from copying the lines.
+ *
+ * @author Lukas Pecak
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineSplitterBenchmark {
+
+    @Param({"1048576", "67108864"})
+    private int contentSize;
+
+    @Param({"WINDOWS_LINE_BREAK", "UNIX_LINE_BREAK", "OLD_MAC_LINE_BREAK"})
+    private LineBreak lineBreak;
+
+    @Param({"10", "100", "10000", "1048576"})
+    private int lineLength;
+
+    private byte[] bytes;
+    private LineSplitter lineSplitter;
+
+    @Setup
+    public void setup() {
+        int numberOfLines = Math.max(1, contentSize / (lineLength + lineBreak.getBytes().length));
+        bytes = BenchmarkText.lines(numberOfLines, lineLength, lineBreak.getBytes());
+        lineSplitter = new LineSplitter();
+    }
+
+    @Benchmark
+    public List<byte[]> split() {
+        return lineSplitter.split(bytes, lineBreak);
+    }
+
+    @Benchmark
+    public int[] findLineStarts() {
+        return lineSplitter.findLineStarts(bytes, lineBreak);
+    }
+}
@@ -0,0 +1,90 @@
+package org.lukas.javach.document;
+
+import org.lukas.javach.benchmark.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Benchmark of serializing a content, building the whole array with getBytes compared to streaming it with
+ * writeTo. Every content implementation is measured on the same text with one edited line.
+ *
+ * @author Lukas Pecak
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextContentBenchmark {
+
+    @Param({"TEXT", "PIECE_TABLE"})
+    private ContentType contentType;
+
+    @Param({"1000", "100000", "1000000"})
+    private int numberOfLines;
+
+    @Param({"80"})
+    private int lineLength;
+
+    private DocumentContent content;
+    private WritableByteChannel nullChannel;
+
+    @Setup
+    public void setup() {
+        byte[] bytes = BenchmarkText.lines(numberOfLines, lineLength, LineBreak.UNIX_LINE_BREAK.getBytes());
+        content = contentType == ContentType.TEXT ? new TextContent(bytes) : new PieceTableContent(bytes);
+        content.getLines().set(numberOfLines / 2, "edited line".getBytes());
+        nullChannel = new NullChannel();
+    }
+
+    @Benchmark
+    public byte[] getBytes() {
+        return content.getBytes();
+    }
+
+    @Benchmark
+    public long writeTo() throws IOException {
+        return content.writeTo(nullChannel);
+    }
+
+    public enum ContentType {
+        TEXT,
+        PIECE_TABLE
+    }
+
+    private static class NullChannel implements WritableByteChannel {
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
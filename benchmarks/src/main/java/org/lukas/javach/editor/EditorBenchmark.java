@@ -0,0 +1,95 @@
+package org.lukas.javach.editor;
+
+import org.lukas.javach.benchmark.BenchmarkText;
+import org.lukas.javach.document.DocumentContentFactory;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+import org.lukas.javach.document.PieceTableContentFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Benchmark of the editor operations on documents from a thousand to ten million lines. Every benchmark removes
+ * the lines it adds, so the document keeps its number of lines for all invocations. The editor is reopened before
+ * every iteration, so the undo history of one iteration does not carry over to the next one.
+ *
+ * @author Lukas Pecak
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class EditorBenchmark {
+
+    private static final int LINE_LENGTH = 40;
+    private static final String NEW_LINE = "a line added by the benchmark";
+
+    @Param({"1000", "100000", "10000000"})
+    private int numberOfLines;
+
+    @Param({"TEXT", "PIECE_TABLE"})
+    private ContentType contentType;
+
+    private byte[] bytes;
+    private Editor editor;
+
+    @Setup(Level.Trial)
+    public void createText() {
+        bytes = BenchmarkText.lines(numberOfLines, LINE_LENGTH, System.lineSeparator().getBytes());
+    }
+
+    @Setup(Level.Iteration)
+    public void openEditor() {
+        editor = new Editor();
+        editor.openContent(contentType.factory.createDocumentContent(bytes));
+    }
+
+    @Benchmark
+    public void addAndDeleteLineAtIndex() {
+        int middle = numberOfLines / 2;
+        editor.addLineAtIndex(middle, NEW_LINE);
+        editor.deleteLineAtIndex(middle);
+    }
+
+    @Benchmark
+    public void addAndDeleteLinesOfRange() {
+        int middle = numberOfLines / 2;
+        for (int i = 0; i < 10; i++) {
+            editor.addLineAtIndex(middle, NEW_LINE);
+        }
+        editor.deleteLinesOfRange(middle, middle + 10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> readAllLines() {
+        return editor.readAllLines();
+    }
+
+    public enum ContentType {
+        TEXT(new DocumentContentFactoryImpl()),
+        PIECE_TABLE(new PieceTableContentFactory());
+
+        private final DocumentContentFactory factory;
+
+        ContentType(DocumentContentFactory factory) {
+            this.factory = factory;
+        }
+    }
+}
@@ -6,10 +6,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
@@ -21,22 +24,40 @@ class Edi {
 
     private static final Logger LOG = LoggerFactory.getLogger(Edi.class);
 
-    public static void main(String[] args) throws IOException {
+    private static final String FOLLOW_OPTION = "--follow";
+    private static final Duration FOLLOW_POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private final DocumentSaver documentSaver;
+
+    Edi() {
+        this(new DocumentSaver());
+    }
+
+    Edi(DocumentSaver documentSaver) {
+        this.documentSaver = documentSaver;
+    }
+
+    public static void main(String[] arguments) throws IOException, InterruptedException {
+        boolean follow = arguments.length > 0 && FOLLOW_OPTION.equals(arguments[0]);
+        String[] args = follow ? Arrays.copyOfRange(arguments, 1, arguments.length) : arguments;
         if (args.length > 1) {
             LOG.error("Too many arguments. Expected : 1 but was : {}. " +
-                    "Please specify only the path to the edited file ...", args.length);
+                    "Please specify only the path to the edited file, optionally preceded by {} ...",
+                    args.length, FOLLOW_OPTION);
         }
-        DocumentContentFactory contentFactory = new DocumentContentFactoryImpl();
+        DocumentContentFactory contentFactory = new DocumentContentFactoryImpl(
+                DocumentContentFactoryImpl.DEFAULT_MAPPING_THRESHOLD, true,
+                new LineIndexCache(LineIndexCache.defaultDirectory()));
         Document document;
         if (args.length == 1) {
             DocumentContent content;
             DocumentMetadata metadata;
-            byte[] loadedBytes = new Edi().loadBytes(args[0]);
-            if (loadedBytes == null) {
+            DocumentContent loadedContent = new Edi().loadContent(contentFactory, args[0]);
+            if (loadedContent == null) {
                 content = contentFactory.createDocumentContent(new byte[0]);
                 metadata = DocumentMetadata.EMPTY;
             } else {
-                content = contentFactory.createDocumentContent(loadedBytes);
+                content = loadedContent;
                 Path path = Paths.get(args[0]);
                 BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
                 metadata = DocumentMetadata.createBuilder()
@@ -62,7 +83,41 @@ class Edi {
         System.out.println("\n[---CONTENT----]");
         Editor editor = new Editor();
         editor.openContent(document.getContent());
-        editor.readAllLines().forEach(System.out::println);
+        int shownLines = document.getContent().getNumberOfLines();
+        editor.lines().limit(shownLines).forEachOrdered(System.out::println);
+        if (document.getContent() instanceof ProgressiveTextContent) {
+            ((ProgressiveTextContent) document.getContent()).awaitLoaded();
+            for (int i = shownLines; i < document.getContent().getNumberOfLines(); i++) {
+                System.out.println(editor.readLine(i));
+            }
+        }
+        if (follow && document.getMetadata() != DocumentMetadata.EMPTY) {
+            followFile(Paths.get(args[0]), document.getContent(), editor);
+        }
+    }
+
+    /**
+     * Method to print the lines appended to the file after the content until the program is stopped. A line is
+     * printed once it is terminated by a line break, the last line printed on open is printed again if it grows.
+     * A truncated or replaced file is printed again from its first line
+     */
+    private static void followFile(Path path, DocumentContent content, Editor editor)
+            throws IOException, InterruptedException {
+        TailFollower follower = new TailFollower(path, content, content.getLineOffset(content.getNumberOfLines()),
+                editor.getExternalChangeListener());
+        int[] nextLine = {Math.max(0, content.getNumberOfLines() - 1)};
+        int[] rereadCount = {follower.getRereadCount()};
+        follower.follow(FOLLOW_POLL_INTERVAL, () -> {
+            if (follower.getRereadCount() != rereadCount[0]) {
+                rereadCount[0] = follower.getRereadCount();
+                nextLine[0] = 0;
+            }
+            int lastIndex = content.getNumberOfLines() - 1;
+            for (int i = nextLine[0]; i < lastIndex; i++) {
+                System.out.println(editor.readLine(i));
+            }
+            nextLine[0] = lastIndex;
+        });
     }
 
     byte[] loadBytes(String pathString) {
@@ -82,11 +137,60 @@ class Edi {
         return bytes;
     }
 
-    void saveBytes(byte[] bytes, String pathString) {
+    DocumentContent loadContent(DocumentContentFactory contentFactory, String pathString) {
+        LOG.debug("Loading content for name : {}", pathString);
+        if (pathString == null || pathString.isEmpty()) {
+            throw new IllegalArgumentException("Path cannot be null or empty");
+        }
+        DocumentContent content;
         try {
-            Files.write(Paths.get(pathString), bytes);
+            content = contentFactory.createDocumentContent(Paths.get(pathString));
         } catch (IOException e) {
-            LOG.error("Error while trying to save file");
+            LOG.error("Error while trying to read file");
+            return null;
+        }
+        LOG.debug("Content of {} loaded successfully", pathString);
+
+        return content;
+    }
+
+    /**
+     * Method to save the content atomically, the file is either fully replaced or left unchanged
+     * @param content Content to save
+     * @param pathString Path of the file
+     * @return Report with the save latency, null when the content could not be saved
+     */
+    SaveReport saveContent(DocumentContent content, String pathString) {
+        LOG.debug("Saving content to : {}", pathString);
+        if (pathString == null || pathString.isEmpty()) {
+            LOG.error("Error while trying to save file, path cannot be null or empty");
+            return null;
+        }
+        try {
+            return documentSaver.save(content, Paths.get(pathString));
+        } catch (IOException e) {
+            LOG.error("Error while trying to save file", e);
+            return null;
+        }
+    }
+
+    /**
+     * Method to save the bytes atomically as they are, without splitting them into lines
+     * @param bytes Bytes to save
+     * @param pathString Path of the file
+     * @return Report with the save latency, null when the bytes could not be saved
+     */
+    SaveReport saveBytes(byte[] bytes, String pathString) {
+        LOG.debug("Saving bytes to : {}", pathString);
+        if (pathString == null || pathString.isEmpty()) {
+            LOG.error("Error while trying to save file, path cannot be null or empty");
+            return null;
+        }
+        try {
+            return documentSaver.save(ByteBuffer.wrap(bytes), Paths.get(pathString));
+        } catch (IOException e) {
+            LOG.error("Error while trying to save file", e);
+            return null;
         }
     }
 }
@@ -0,0 +1,83 @@
+package org.lukas.javach.diff;
+
+import org.lukas.javach.document.Document;
+import org.lukas.javach.document.DocumentContent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Differences between the content of a document and the file it was loaded from, e.g. to show what a save is going
+ * to change or to find out which lines changed when the file was modified by another program. Lines are compared
+ * by their {@link LineHashes}, the file is streamed and only the hashes of its lines are kept in memory.
+ *
+ * @author Lukas Pecak
+ */
+public final class DocumentDiff {
+
+    private DocumentDiff() {
+    }
+
+    /**
+     * Method to compare the content of the document with its file, hashing all lines of the content first
+     * @param document Document with the path of its file in the metadata
+     * @return Changes turning the lines of the file into the lines of the content
+     * @throws IOException when the file cannot be read
+     */
+    public static List<LineChange> compareWithFile(Document document) throws IOException {
+        validateDocument(document);
+        return compareWithFile(document, LineHashes.compute(document.getContent()));
+    }
+
+    /**
+     * Method to compare the content of the document with its file, using hashes kept up to date with the content
+     * @param document Document with the path of its file in the metadata
+     * @param hashes Hashes of the lines of the content of the document
+     * @return Changes turning the lines of the file into the lines of the content
+     * @throws IOException when the file cannot be read
+     */
+    public static List<LineChange> compareWithFile(Document document, LineHashes hashes) throws IOException {
+        validateDocument(document);
+        DocumentContent content = document.getContent();
+        if (hashes == null || hashes.size() != content.getNumberOfLines()) {
+            throw new IllegalArgumentException("Line hashes do not belong to the content of the document");
+        }
+        return compare(hashLines(document.getMetadata().getPath()), hashes.toArray());
+    }
+
+    /**
+     * Method to hash the lines of a file without loading it
+     * @param path Path of the file
+     * @return Hashes of the lines of the file
+     * @throws IOException when the file cannot be read
+     */
+    public static long[] hashLines(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        return new FileLineHasher().hashLines(path);
+    }
+
+    /**
+     * Method to find the shortest list of changes between two versions of lines. Ranges differing in thousands
+     * of lines without a cheap split are replaced as a whole instead of searching their shortest diff
+     * @param original Hashes of the original lines
+     * @param revised Hashes of the revised lines
+     * @return Changes turning the original into the revision ordered by their position, empty if both are equal
+     */
+    public static List<LineChange> compare(long[] original, long[] revised) {
+        if (original == null || revised == null) {
+            throw new IllegalArgumentException("Hashes of lines cannot be null");
+        }
+        return MyersDiff.diff(original, revised);
+    }
+
+    private static void validateDocument(Document document) {
+        if (document == null) {
+            throw new IllegalArgumentException("Cannot compare document which is null");
+        }
+    }
+}
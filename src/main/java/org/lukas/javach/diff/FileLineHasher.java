@@ -0,0 +1,121 @@
+package org.lukas.javach.diff;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Hashes the lines of a file while streaming it, only the hashes and the current line are kept in memory. Like
+ * when a content is loaded, the first line break of the file decides how the file is split into lines and a file
+ * ending with a line break ends with an empty line.
+ *
+ * @author Lukas Pecak
+ */
+class FileLineHasher {
+
+    private static final byte CARRIAGE_RETURN = 0x0D;
+    private static final byte LINE_FEED = 0x0A;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private enum Separator {
+        UNKNOWN,
+        LINE_FEED,
+        CARRIAGE_RETURN,
+        CARRIAGE_RETURN_LINE_FEED
+    }
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private long[] hashes = new long[1024];
+    private int numberOfLines;
+    private Separator separator = Separator.UNKNOWN;
+    private boolean pendingCarriageReturn;
+
+    /**
+     * Method to hash the lines of the file
+     * @param path Path of the file
+     * @return Hashes of the lines of the file, empty for an empty file
+     * @throws IOException when the file cannot be read
+     */
+    long[] hashLines(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        boolean empty = true;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                byte[] bytes = buffer.array();
+                for (int i = 0; i < read; i++) {
+                    accept(bytes[i]);
+                }
+                empty &= read == 0;
+                buffer.clear();
+            }
+        }
+        if (pendingCarriageReturn) {
+            // a single carriage return before the end of the file
+            endLine();
+        }
+        if (!empty) {
+            endLine();
+        }
+        return Arrays.copyOf(hashes, numberOfLines);
+    }
+
+    private void accept(byte value) {
+        if (separator == Separator.UNKNOWN) {
+            detectSeparator(value);
+            return;
+        }
+        if (separator == Separator.LINE_FEED && value == LINE_FEED
+                || separator == Separator.CARRIAGE_RETURN && value == CARRIAGE_RETURN) {
+            endLine();
+        } else if (separator == Separator.CARRIAGE_RETURN_LINE_FEED && value == LINE_FEED
+                && lineLength > 0 && line[lineLength - 1] == CARRIAGE_RETURN) {
+            lineLength--;
+            endLine();
+        } else {
+            append(value);
+        }
+    }
+
+    private void detectSeparator(byte value) {
+        if (pendingCarriageReturn) {
+            pendingCarriageReturn = false;
+            if (value == LINE_FEED) {
+                separator = Separator.CARRIAGE_RETURN_LINE_FEED;
+                endLine();
+                return;
+            }
+            separator = Separator.CARRIAGE_RETURN;
+            endLine();
+            accept(value);
+        } else if (value == LINE_FEED) {
+            separator = Separator.LINE_FEED;
+            endLine();
+        } else if (value == CARRIAGE_RETURN) {
+            pendingCarriageReturn = true;
+        } else {
+            append(value);
+        }
+    }
+
+    private void append(byte value) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = value;
+    }
+
+    private void endLine() {
+        if (numberOfLines == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        }
+        hashes[numberOfLines++] = LineHashes.hash(line, 0, lineLength);
+        lineLength = 0;
+    }
+}
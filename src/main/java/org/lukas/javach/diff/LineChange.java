@@ -0,0 +1,77 @@
+package org.lukas.javach.diff;
+
+import java.util.Objects;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Range of lines of the original which was replaced by a range of lines of the revision. An insertion has an empty
+ * original range, a deletion an empty revised range. Ranges are given by the index of their first line and the
+ * index after their last line.
+ *
+ * @author Lukas Pecak
+ */
+public final class LineChange {
+
+    private final int originalStart;
+    private final int originalEnd;
+    private final int revisedStart;
+    private final int revisedEnd;
+
+    public LineChange(int originalStart, int originalEnd, int revisedStart, int revisedEnd) {
+        this.originalStart = originalStart;
+        this.originalEnd = originalEnd;
+        this.revisedStart = revisedStart;
+        this.revisedEnd = revisedEnd;
+    }
+
+    public int getOriginalStart() {
+        return originalStart;
+    }
+
+    public int getOriginalEnd() {
+        return originalEnd;
+    }
+
+    public int getRevisedStart() {
+        return revisedStart;
+    }
+
+    public int getRevisedEnd() {
+        return revisedEnd;
+    }
+
+    public boolean isInsertion() {
+        return originalStart == originalEnd;
+    }
+
+    public boolean isDeletion() {
+        return revisedStart == revisedEnd;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LineChange lineChange = (LineChange) o;
+        return originalStart == lineChange.originalStart && originalEnd == lineChange.originalEnd
+                && revisedStart == lineChange.revisedStart && revisedEnd == lineChange.revisedEnd;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(originalStart, originalEnd, revisedStart, revisedEnd);
+    }
+
+    @Override
+    public String toString() {
+        return "LineChange{" +
+                "original=" + originalStart + ".." + originalEnd +
+                ", revised=" + revisedStart + ".." + revisedEnd +
+                '}';
+    }
+}
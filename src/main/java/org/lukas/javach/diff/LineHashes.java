@@ -0,0 +1,181 @@
+package org.lukas.javach.diff;
+
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.LineChangeListener;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * 64-bit hashes of all lines of a content, so lines can be compared without comparing their bytes. Loading a
+ * content does not hash it, the hashes are computed on demand in parallel chunks of lines by compute, e.g. when
+ * {@link DocumentDiff} compares a content with its file. Registered at the {@link org.lukas.javach.editor.Editor}
+ * with the content open, only the changed lines are hashed again, so repeated diffs do not hash the content again.
+ * <p>
+ * Lines with different hashes differ, lines with equal hashes are equal with a probability high enough for
+ * diffing.
+ *
+ * @author Lukas Pecak
+ */
+public class LineHashes implements LineChangeListener {
+
+    static final int DEFAULT_LINES_PER_CHUNK = 16 * 1024;
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final DocumentContent content;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long[] hashes;
+    private int size;
+
+    private LineHashes(DocumentContent content, long[] hashes) {
+        this.content = content;
+        this.hashes = hashes;
+        this.size = hashes.length;
+    }
+
+    /**
+     * Method to hash all lines of the content, chunks of lines are hashed in parallel on the common pool
+     * @param content Content to hash
+     * @return Hashes of the lines
+     */
+    public static LineHashes compute(DocumentContent content) {
+        return compute(content, DEFAULT_LINES_PER_CHUNK);
+    }
+
+    static LineHashes compute(DocumentContent content, int linesPerChunk) {
+        if (content == null) {
+            throw new IllegalArgumentException("Cannot hash content which is null");
+        }
+        int numberOfLines = content.getNumberOfLines();
+        long[] hashes = new long[numberOfLines];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunkSize = Math.max(linesPerChunk, numberOfLines / (pool.getParallelism() * 4));
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int start = 0; start < numberOfLines; start += chunkSize) {
+            int chunkStart = start;
+            int chunkEnd = (int) Math.min((long) start + chunkSize, numberOfLines);
+            // every chunk is hashed by its own instance, so the line buffers are not shared by threads
+            tasks.add(pool.submit(() -> new LineHashes(content, hashes).hashRange(chunkStart, chunkEnd)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return new LineHashes(content, hashes);
+    }
+
+    private void hashRange(int startIndex, int endIndex) {
+        for (int i = startIndex; i < endIndex; i++) {
+            hashes[i] = hashLine(i);
+        }
+    }
+
+    private long hashLine(int index) {
+        while (true) {
+            buffer.clear();
+            try {
+                int length = content.copyLine(index, buffer);
+                return hash(buffer.array(), 0, length);
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Method to hash bytes, eight bytes are mixed in at once
+     * @param bytes Array holding the bytes
+     * @param offset Index of the first byte
+     * @param length Number of bytes
+     * @return 64-bit hash of the bytes
+     */
+    static long hash(byte[] bytes, int offset, int length) {
+        long hash = PRIME_5 + length * PRIME_1;
+        int end = offset + length;
+        int i = offset;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            long word = (long) LONG_VIEW.get(bytes, i);
+            hash ^= Long.rotateLeft(word * PRIME_2, 31) * PRIME_1;
+            hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+        }
+        for (; i < end; i++) {
+            hash ^= (bytes[i] & 0xFFL) * PRIME_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME_1;
+        }
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        return hash ^ hash >>> 32;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index Index of the line
+     * @return Hash of the line
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return hashes[index];
+    }
+
+    /**
+     * @return Copy of the hashes of all lines
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(hashes, size);
+    }
+
+    @Override
+    public void lineUpdated(int index) {
+        validateIndex(index, size - 1);
+        hashes[index] = hashLine(index);
+    }
+
+    @Override
+    public void linesInserted(int index, int count) {
+        validateIndex(index, size);
+        if (size + count > hashes.length) {
+            hashes = Arrays.copyOf(hashes, Math.max(hashes.length * 2, size + count));
+        }
+        System.arraycopy(hashes, index, hashes, index + count, size - index);
+        size += count;
+        hashRange(index, index + count);
+    }
+
+    @Override
+    public void linesRemoved(int index, int count) {
+        validateIndex(index + count, size);
+        System.arraycopy(hashes, index + count, hashes, index, size - index - count);
+        size -= count;
+    }
+
+    private void validateIndex(int index, int maxIndex) {
+        if (index < 0 || index > maxIndex) {
+            throw new IllegalStateException("Line " + index + " is not in the hashes of " + size
+                    + " lines, the content was changed without notifying the hashes");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.lukas.javach.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Myers' difference algorithm over line hashes in linear space. The common prefix and suffix are removed first, the
+ * rest is split at the middle snake of the shortest edit script, found by searching forward from the start and
+ * backward from the end at the same time, and both halves are diffed recursively. Only two arrays of diagonals
+ * are needed per split instead of the diagonals of every edit step.
+ * <p>
+ * Searching a split takes time quadratic in the number of edits, so the search gives up after the maximal edit
+ * cost and the remaining range becomes a single replacement. Such a diff is still correct but no longer the
+ * shortest, like the deadline of diff-match-patch it keeps completely different inputs from taking minutes.
+ *
+ * @author Lukas Pecak
+ */
+class MyersDiff {
+
+    static final int DEFAULT_MAX_EDIT_COST = 4096;
+
+    private final long[] original;
+    private final long[] revised;
+    private final int maxEditCost;
+    private final List<LineChange> changes = new ArrayList<>();
+
+    private MyersDiff(long[] original, long[] revised, int maxEditCost) {
+        this.original = original;
+        this.revised = revised;
+        this.maxEditCost = maxEditCost;
+    }
+
+    /**
+     * Method to find the shortest list of changes turning the original into the revision, ranges needing more
+     * edits than the default maximal edit cost are replaced as a whole
+     * @param original Hashes of the original lines
+     * @param revised Hashes of the revised lines
+     * @return Changes ordered by their position, adjacent changes are merged
+     */
+    static List<LineChange> diff(long[] original, long[] revised) {
+        return diff(original, revised, DEFAULT_MAX_EDIT_COST);
+    }
+
+    /**
+     * Method to find the shortest list of changes turning the original into the revision
+     * @param original Hashes of the original lines
+     * @param revised Hashes of the revised lines
+     * @param maxEditCost Maximal number of edit steps searched for a split, a range needing more is replaced
+     * @return Changes ordered by their position, adjacent changes are merged
+     */
+    static List<LineChange> diff(long[] original, long[] revised, int maxEditCost) {
+        if (maxEditCost < 1) {
+            throw new IllegalArgumentException("Maximal edit cost has to be positive");
+        }
+        MyersDiff diff = new MyersDiff(original, revised, maxEditCost);
+        diff.diff(0, original.length, 0, revised.length);
+        return diff.changes;
+    }
+
+    private void diff(int originalStart, int originalEnd, int revisedStart, int revisedEnd) {
+        while (originalStart < originalEnd && revisedStart < revisedEnd
+                && original[originalStart] == revised[revisedStart]) {
+            originalStart++;
+            revisedStart++;
+        }
+        while (originalStart < originalEnd && revisedStart < revisedEnd
+                && original[originalEnd - 1] == revised[revisedEnd - 1]) {
+            originalEnd--;
+            revisedEnd--;
+        }
+        if (originalStart == originalEnd || revisedStart == revisedEnd) {
+            addChange(originalStart, originalEnd, revisedStart, revisedEnd);
+            return;
+        }
+        bisect(originalStart, originalEnd, revisedStart, revisedEnd);
+    }
+
+    private void bisect(int originalStart, int originalEnd, int revisedStart, int revisedEnd) {
+        int originalLength = originalEnd - originalStart;
+        int revisedLength = revisedEnd - revisedStart;
+        int maxD = Math.min((originalLength + revisedLength + 1) / 2, maxEditCost);
+        int offset = maxD;
+        int length = 2 * maxD + 2;
+        int[] forward = new int[length];
+        int[] backward = new int[length];
+        Arrays.fill(forward, -1);
+        Arrays.fill(backward, -1);
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+        int delta = originalLength - revisedLength;
+        // with an odd delta the forward paths meet the backward paths, otherwise the backward paths meet forward
+        boolean front = delta % 2 != 0;
+        int forwardStart = 0;
+        int forwardEnd = 0;
+        int backwardStart = 0;
+        int backwardEnd = 0;
+        for (int d = 0; d < maxD; d++) {
+            for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+                int index = offset + k;
+                int x = k == -d || k != d && forward[index - 1] < forward[index + 1]
+                        ? forward[index + 1] : forward[index - 1] + 1;
+                int y = x - k;
+                while (x < originalLength && y < revisedLength
+                        && original[originalStart + x] == revised[revisedStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[index] = x;
+                if (x > originalLength) {
+                    forwardEnd += 2;
+                } else if (y > revisedLength) {
+                    forwardStart += 2;
+                } else if (front) {
+                    int backwardIndex = offset + delta - k;
+                    if (backwardIndex >= 0 && backwardIndex < length && backward[backwardIndex] != -1
+                            && x >= originalLength - backward[backwardIndex]) {
+                        split(originalStart, originalEnd, revisedStart, revisedEnd, x, y);
+                        return;
+                    }
+                }
+            }
+            for (int k = -d + backwardStart; k <= d - backwardEnd; k += 2) {
+                int index = offset + k;
+                int x = k == -d || k != d && backward[index - 1] < backward[index + 1]
+                        ? backward[index + 1] : backward[index - 1] + 1;
+                int y = x - k;
+                while (x < originalLength && y < revisedLength
+                        && original[originalEnd - x - 1] == revised[revisedEnd - y - 1]) {
+                    x++;
+                    y++;
+                }
+                backward[index] = x;
+                if (x > originalLength) {
+                    backwardEnd += 2;
+                } else if (y > revisedLength) {
+                    backwardStart += 2;
+                } else if (!front) {
+                    int forwardIndex = offset + delta - k;
+                    if (forwardIndex >= 0 && forwardIndex < length && forward[forwardIndex] != -1) {
+                        int forwardX = forward[forwardIndex];
+                        int forwardY = offset + forwardX - forwardIndex;
+                        if (forwardX >= originalLength - x) {
+                            split(originalStart, originalEnd, revisedStart, revisedEnd, forwardX, forwardY);
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+        // no common line at all or the edit cost is over the limit
+        addChange(originalStart, originalEnd, revisedStart, revisedEnd);
+    }
+
+    private void split(int originalStart, int originalEnd, int revisedStart, int revisedEnd, int x, int y) {
+        diff(originalStart, originalStart + x, revisedStart, revisedStart + y);
+        diff(originalStart + x, originalEnd, revisedStart + y, revisedEnd);
+    }
+
+    private void addChange(int originalStart, int originalEnd, int revisedStart, int revisedEnd) {
+        if (originalStart == originalEnd && revisedStart == revisedEnd) {
+            return;
+        }
+        int last = changes.size() - 1;
+        if (last >= 0 && changes.get(last).getOriginalEnd() == originalStart
+                && changes.get(last).getRevisedEnd() == revisedStart) {
+            LineChange previous = changes.remove(last);
+            changes.add(new LineChange(previous.getOriginalStart(), originalEnd, previous.getRevisedStart(),
+                    revisedEnd));
+            return;
+        }
+        changes.add(new LineChange(originalStart, originalEnd, revisedStart, revisedEnd));
+    }
+}
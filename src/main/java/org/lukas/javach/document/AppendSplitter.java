@@ -0,0 +1,125 @@
+package org.lukas.javach.document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Splits bytes appended to a content into lines, one block of appended bytes at a time. The first segment of every
+ * block continues the last line of the content, every line break found starts a new line. A carriage return at the
+ * end of a block is held back until the next block shows whether a line feed follows it, so a CRLF pair split
+ * between two blocks is still a single line break. A held back carriage return is flushed as an old Mac line break
+ * when no block follows it while the content has no line break yet.
+ *
+ * @author Lukas Pecak
+ */
+class AppendSplitter {
+
+    private static final byte CARRIAGE_RETURN = 0x0D;
+    private static final byte LINE_FEED = 0x0A;
+    private static final byte[] EMPTY = new byte[0];
+
+    private LineBreak lineBreak;
+    private boolean pendingCarriageReturn;
+
+    /**
+     * @param lineBreak Line break of the content, UNDEFINED_LINE_BREAK to detect it from the first line break found
+     */
+    AppendSplitter(LineBreak lineBreak) {
+        this.lineBreak = lineBreak;
+    }
+
+    /**
+     * @return Line break of the content, UNDEFINED_LINE_BREAK as long as no line break was found
+     */
+    LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    /**
+     * Method to end the line with the held back carriage return when no more bytes were appended. It is a line
+     * break only while the line break of the content is not known, in a Windows content it stays held back until
+     * the next block shows whether a line feed follows it
+     * @return True if the carriage return ended the last line and a new empty line starts
+     */
+    boolean flushCarriageReturn() {
+        if (!pendingCarriageReturn || lineBreak != UNDEFINED_LINE_BREAK) {
+            return false;
+        }
+        pendingCarriageReturn = false;
+        lineBreak = OLD_MAC_LINE_BREAK;
+        return true;
+    }
+
+    /**
+     * Method to split the next block of appended bytes
+     * @param bytes Array with the appended bytes
+     * @param length Number of appended bytes in the array
+     * @return Segments of the block, the first one is appended to the last line, each of the others is a new line
+     */
+    List<byte[]> split(byte[] bytes, int length) {
+        List<byte[]> segments = new ArrayList<>();
+        byte[] prefix = EMPTY;
+        int segmentStart = 0;
+        int i = 0;
+        if (pendingCarriageReturn && length > 0) {
+            pendingCarriageReturn = false;
+            if (bytes[0] == LINE_FEED && (lineBreak == WINDOWS_LINE_BREAK || lineBreak == UNDEFINED_LINE_BREAK)) {
+                lineBreak = WINDOWS_LINE_BREAK;
+                segments.add(EMPTY);
+                segmentStart = i = 1;
+            } else if (lineBreak == OLD_MAC_LINE_BREAK || lineBreak == UNDEFINED_LINE_BREAK) {
+                lineBreak = OLD_MAC_LINE_BREAK;
+                segments.add(EMPTY);
+            } else {
+                prefix = new byte[]{CARRIAGE_RETURN};
+            }
+        }
+        int segmentEnd = length;
+        while (i < length) {
+            byte value = bytes[i];
+            int breakLength = 0;
+            if (value == LINE_FEED && (lineBreak == UNIX_LINE_BREAK || lineBreak == UNDEFINED_LINE_BREAK)) {
+                lineBreak = UNIX_LINE_BREAK;
+                breakLength = 1;
+            } else if (value == CARRIAGE_RETURN && lineBreak != UNIX_LINE_BREAK) {
+                if (i + 1 == length && lineBreak != OLD_MAC_LINE_BREAK) {
+                    pendingCarriageReturn = true;
+                    segmentEnd = i;
+                    break;
+                }
+                if (i + 1 < length && bytes[i + 1] == LINE_FEED && lineBreak != OLD_MAC_LINE_BREAK) {
+                    lineBreak = WINDOWS_LINE_BREAK;
+                    breakLength = 2;
+                } else if (lineBreak != WINDOWS_LINE_BREAK) {
+                    lineBreak = OLD_MAC_LINE_BREAK;
+                    breakLength = 1;
+                }
+            }
+            if (breakLength > 0) {
+                segments.add(concat(prefix, bytes, segmentStart, i));
+                prefix = EMPTY;
+                segmentStart = i + breakLength;
+                i += breakLength;
+            } else {
+                i++;
+            }
+        }
+        segments.add(concat(prefix, bytes, segmentStart, segmentEnd));
+        return segments;
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] bytes, int from, int to) {
+        if (prefix.length == 0) {
+            return Arrays.copyOfRange(bytes, from, to);
+        }
+        byte[] segment = new byte[prefix.length + to - from];
+        System.arraycopy(prefix, 0, segment, 0, prefix.length);
+        System.arraycopy(bytes, from, segment, prefix.length, to - from);
+        return segment;
+    }
+}
@@ -0,0 +1,109 @@
+package org.lukas.javach.document;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Lines of a content changed since it was loaded or last saved. As long as lines were only replaced by lines of the
+ * same length every other byte of the content stays at its position, so the changed line ranges are kept to patch
+ * the saved file in place. Once a line was inserted, removed or resized only the first changed line is kept, the
+ * rest of the file behind it has to be rewritten anyway.
+ *
+ * @author Lukas Pecak
+ */
+public class DirtyLines {
+
+    private final TreeMap<Integer, Integer> ranges = new TreeMap<>();
+    private int firstDirtyLine = -1;
+    private boolean resized;
+
+    public boolean isModified() {
+        return firstDirtyLine >= 0;
+    }
+
+    /**
+     * Method to check if any line was inserted, removed or changed its length
+     * @return true if the positions of the bytes behind the first dirty line changed
+     */
+    public boolean isResized() {
+        return resized;
+    }
+
+    /**
+     * @return Index of the first changed line, -1 if no line was changed
+     */
+    public int getFirstDirtyLine() {
+        return firstDirtyLine;
+    }
+
+    /**
+     * Method to get the changed line ranges, only available while the content was not resized
+     * @return Map of start line index to end line index (exclusive) of the changed ranges, sorted by start index
+     */
+    public Map<Integer, Integer> getRanges() {
+        if (resized) {
+            throw new IllegalStateException("Line ranges are not tracked after the content was resized");
+        }
+        return new TreeMap<>(ranges);
+    }
+
+    void lineUpdated(int index, boolean lengthChanged) {
+        markFirstDirtyLine(index);
+        if (lengthChanged) {
+            markResized();
+        } else if (!resized) {
+            addRange(index);
+        }
+    }
+
+    void linesInserted(int index) {
+        markFirstDirtyLine(index);
+        markResized();
+    }
+
+    void linesRemoved(int fromIndex) {
+        markFirstDirtyLine(fromIndex);
+        markResized();
+    }
+
+    void allLinesChanged() {
+        markFirstDirtyLine(0);
+        markResized();
+    }
+
+    void clear() {
+        ranges.clear();
+        firstDirtyLine = -1;
+        resized = false;
+    }
+
+    private void markFirstDirtyLine(int index) {
+        if (firstDirtyLine < 0 || index < firstDirtyLine) {
+            firstDirtyLine = index;
+        }
+    }
+
+    private void markResized() {
+        resized = true;
+        ranges.clear();
+    }
+
+    private void addRange(int index) {
+        int start = index;
+        int end = index + 1;
+        Map.Entry<Integer, Integer> previous = ranges.floorEntry(index);
+        if (previous != null && previous.getValue() >= index) {
+            if (previous.getValue() > index) {
+                return;
+            }
+            start = previous.getKey();
+        }
+        Integer nextEnd = ranges.remove(end);
+        if (nextEnd != null) {
+            end = nextEnd;
+        }
+        ranges.put(start, end);
+    }
+}
@@ -1,5 +1,8 @@
 package org.lukas.javach.document;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 /**
@@ -14,12 +17,67 @@ public interface DocumentContent {
      */
     byte[] getBytes();
 
+    /**
+     * Method to write the full document content including line breaks to the channel. Unlike getBytes() the content
+     * is written line by line, so no array of the whole content is built
+     * @param channel Channel to write the content to
+     * @return Number of bytes written
+     * @throws IOException when writing to the channel fails
+     */
+    long writeTo(WritableByteChannel channel) throws IOException;
+
+    /**
+     * Method to write a range of lines with the line breaks between them (not after the last one) to the channel
+     * @param channel Channel to write the lines to
+     * @param startIndex Index of the first line, inclusive
+     * @param endIndex Index of the last line, exclusive
+     * @return Number of bytes written
+     * @throws IOException when writing to the channel fails
+     */
+    long writeTo(WritableByteChannel channel, int startIndex, int endIndex) throws IOException;
+
+    /**
+     * Method to get the position of a line in the bytes written by writeTo(). Index equal to the number of lines
+     * gives the length of the whole content
+     * @param index Index of the line
+     * @return Offset of the first byte of the line
+     */
+    long getLineOffset(int index);
+
+    /**
+     * Method to get the lines changed since the content was loaded or last saved
+     * @return Changed lines of the content
+     */
+    DirtyLines getDirtyLines();
+
+    /**
+     * Method to copy the lines at and after the index into memory. Called before the file the content was read
+     * from is overwritten in place, contents reading their lines from that file on request have to override it
+     * @param startIndex Index of the first line to copy
+     */
+    default void copyLinesIntoMemory(int startIndex) {
+    }
+
     /**
      * Method to get all lines in document separated by the document line break (lines without line break)
      * @return List of lines represented as byte arrays
      */
     List<byte[]> getLines();
 
+    /**
+     * Method to copy a line (without line break) into the buffer. Contents keeping the lines in a buffer or a file
+     * copy them without creating an array of the line
+     * @param index Index of the line
+     * @param target Buffer to copy the line to
+     * @return Number of bytes copied
+     * @throws java.nio.BufferOverflowException when the line does not fit into the buffer, nothing is copied then
+     */
+    default int copyLine(int index, ByteBuffer target) {
+        byte[] line = getLines().get(index);
+        target.put(line);
+        return line.length;
+    }
+
     /**
      * Method to get the count of line in a document. Should match the number of lines returned by getLines() method
      * @return Number of lines in document
@@ -1,5 +1,8 @@
 package org.lukas.javach.document;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Created by Lukas on 17.08.2019.
  *
@@ -13,4 +16,13 @@ public interface DocumentContentFactory {
      * @return DocumentContent object
      */
     DocumentContent createDocumentContent(byte[] bytes);
+
+    /**
+     * Creates a DocumentContent object for the file under given path. Implementations may choose a representation
+     * which does not load the whole file onto the heap
+     * @param path Path of the file to open
+     * @return DocumentContent object
+     * @throws IOException when the file cannot be read
+     */
+    DocumentContent createDocumentContent(Path path) throws IOException;
 }
@@ -1,5 +1,9 @@
 package org.lukas.javach.document;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Created by Lukas on 17.08.2019.
  *
@@ -7,8 +11,81 @@ package org.lukas.javach.document;
  */
 public class DocumentContentFactoryImpl implements DocumentContentFactory {
 
+    public static final long DEFAULT_MAPPING_THRESHOLD = 64L * 1024 * 1024;
+
+    private final long mappingThreshold;
+    private final boolean progressive;
+    private final LineIndexCache lineIndexCache;
+
+    public DocumentContentFactoryImpl() {
+        this(DEFAULT_MAPPING_THRESHOLD);
+    }
+
+    /**
+     * @param mappingThreshold Size in bytes from which files are memory mapped instead of read onto the heap
+     */
+    public DocumentContentFactoryImpl(long mappingThreshold) {
+        this(mappingThreshold, false);
+    }
+
+    /**
+     * @param mappingThreshold Size in bytes from which files are memory mapped instead of read onto the heap
+     * @param progressive true if mapped files should be indexed on a background thread, so their first lines can be
+     *                    read before the whole file is indexed
+     */
+    public DocumentContentFactoryImpl(long mappingThreshold, boolean progressive) {
+        this(mappingThreshold, progressive, null);
+    }
+
+    /**
+     * @param mappingThreshold Size in bytes from which files are memory mapped instead of read onto the heap
+     * @param progressive true if mapped files should be indexed on a background thread, so their first lines can be
+     *                    read before the whole file is indexed
+     * @param lineIndexCache Cache of the line indexes of mapped files, null to index every mapped file on open
+     */
+    public DocumentContentFactoryImpl(long mappingThreshold, boolean progressive, LineIndexCache lineIndexCache) {
+        if (mappingThreshold < 0) {
+            throw new IllegalArgumentException("Mapping threshold cannot be negative");
+        }
+        this.mappingThreshold = mappingThreshold;
+        this.progressive = progressive;
+        this.lineIndexCache = lineIndexCache;
+    }
+
     @Override
     public DocumentContent createDocumentContent(byte[] bytes) {
         return new TextContent(bytes);
     }
+
+    @Override
+    public DocumentContent createDocumentContent(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (Files.size(path) >= mappingThreshold) {
+            return createMappedContent(path, MappedFile.map(path));
+        }
+        return new TextContent(Files.readAllBytes(path));
+    }
+
+    private DocumentContent createMappedContent(Path path, MappedFile file) {
+        MappedLineIndex index = lineIndexCache != null ? lineIndexCache.load(path, file) : null;
+        if (index != null) {
+            return new MappedTextContent(file, index);
+        }
+        MappedLineIndex newIndex = new MappedLineIndex(file);
+        if (progressive) {
+            ProgressiveTextContent content =
+                    new ProgressiveTextContent(file, newIndex, ProgressiveTextContent.DEFAULT_FIRST_LINES);
+            if (lineIndexCache != null) {
+                content.whenLoaded(() -> lineIndexCache.store(path, file, newIndex));
+            }
+            return content;
+        }
+        newIndex.indexAll();
+        if (lineIndexCache != null) {
+            lineIndexCache.store(path, file, newIndex);
+        }
+        return new MappedTextContent(file, newIndex);
+    }
 }
@@ -120,7 +120,7 @@ public class DocumentMetadata {
         return fileName;
     }
 
-    Path getPath() {
+    public Path getPath() {
         return path;
     }
 
@@ -0,0 +1,359 @@
+package org.lukas.javach.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Saves documents to the disk. A full save streams the content into a temporary file next to the target, forces
+ * it to the disk according to the {@link FsyncPolicy} and renames it over the target in one atomic step, so a
+ * crash at any point leaves either the old or the new file.
+ * <p>
+ * A document whose file did not change since it was loaded or last saved is saved in place when only a small
+ * part of it was changed: lines replaced by lines of the same length are patched, otherwise the file is rewritten
+ * from the first changed line. The part to rewrite is prepared in memory before the file is touched, but the
+ * write itself is not atomic.
+ *
+ * @author Lukas Pecak
+ */
+public class DocumentSaver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentSaver.class);
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    static final long DEFAULT_MAX_IN_PLACE_BYTES = 64L * 1024 * 1024;
+
+    private final FsyncPolicy fsyncPolicy;
+    private final long maxInPlaceBytes;
+
+    public DocumentSaver() {
+        this(FsyncPolicy.ON_CLOSE);
+    }
+
+    public DocumentSaver(FsyncPolicy fsyncPolicy) {
+        this(fsyncPolicy, DEFAULT_MAX_IN_PLACE_BYTES);
+    }
+
+    /**
+     * @param fsyncPolicy Policy of forcing the saved file to the disk
+     * @param maxInPlaceBytes Maximal number of bytes written over the file in place, bigger changes are saved with
+     *                        an atomic rewrite. Zero disables saving in place
+     */
+    public DocumentSaver(FsyncPolicy fsyncPolicy, long maxInPlaceBytes) {
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null");
+        }
+        if (maxInPlaceBytes < 0) {
+            throw new IllegalArgumentException("Maximal number of bytes saved in place cannot be negative");
+        }
+        this.fsyncPolicy = fsyncPolicy;
+        this.maxInPlaceBytes = maxInPlaceBytes;
+    }
+
+    /**
+     * Method to save the document content to the path of its metadata. The content is saved in place if the file
+     * was not changed since the metadata was captured and rewriting the changed lines is cheaper than rewriting
+     * the file. A save in place is not atomic, a saver created with zero maximal bytes in place always rewrites
+     * the file atomically. Creation and last access time captured in the metadata are preserved, the metadata of
+     * the document is updated with the new size and modification time
+     * @param document Document to save
+     * @return Report with the latency of the save, its save mode tells whether the file was saved in place
+     * @throws IOException when the content could not be saved. An atomic rewrite leaves the target file unchanged
+     * in this case, a failed save in place may leave it partly written
+     */
+    public SaveReport save(Document document) throws IOException {
+        if (document == null) {
+            throw new IllegalArgumentException("Cannot save null document");
+        }
+        DocumentMetadata metadata = document.getMetadata();
+        Path target = metadata.getPath();
+        if (target == null || target.toString().isEmpty()) {
+            throw new IllegalArgumentException("Cannot save a document without path");
+        }
+        DocumentContent content = document.getContent();
+        SaveReport report = null;
+        if (isUnchangedOnDisk(target, metadata)) {
+            report = saveInPlace(content, target.toAbsolutePath());
+        }
+        if (report == null) {
+            report = save(content, target, metadata);
+        }
+        content.getDirtyLines().clear();
+        document.setMetadata(updateMetadata(metadata, target));
+        return report;
+    }
+
+    /**
+     * Method to save the content to the given path
+     * @param content Content to save
+     * @param target Path of the saved file
+     * @return Report with the latency of the save
+     * @throws IOException when the content could not be saved, the target file is left unchanged in this case
+     */
+    public SaveReport save(DocumentContent content, Path target) throws IOException {
+        return save(content, target, null);
+    }
+
+    /**
+     * Method to save raw bytes to the given path like save(content, target). The bytes are written as they are,
+     * they are not split into lines
+     * @param bytes Bytes to save, from their position to their limit
+     * @param target Path of the saved file
+     * @return Report with the latency of the save
+     * @throws IOException when the bytes could not be saved, the target file is left unchanged in this case
+     */
+    public SaveReport save(ByteBuffer bytes, Path target) throws IOException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot save null bytes");
+        }
+        ByteBuffer source = bytes.duplicate();
+        return save(channel -> {
+            long written = 0;
+            while (source.hasRemaining()) {
+                written += channel.write(source);
+            }
+            return written;
+        }, target, null);
+    }
+
+    private SaveReport save(DocumentContent content, Path target, DocumentMetadata metadata) throws IOException {
+        return save(content::writeTo, target, metadata);
+    }
+
+    private SaveReport save(ContentWriter writer, Path target, DocumentMetadata metadata) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path directory = absoluteTarget.getParent();
+        Path temporaryFile = createTemporaryFile(absoluteTarget);
+        try {
+            long start = System.nanoTime();
+            long bytesWritten;
+            long syncNanos = 0;
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                bytesWritten = writer.writeTo(channel);
+                if (fsyncPolicy != FsyncPolicy.NEVER) {
+                    long syncStart = System.nanoTime();
+                    channel.force(fsyncPolicy == FsyncPolicy.ALWAYS);
+                    syncNanos = System.nanoTime() - syncStart;
+                }
+            }
+            copyAttributes(absoluteTarget, temporaryFile, metadata);
+            long writeNanos = System.nanoTime() - start - syncNanos;
+
+            long renameStart = System.nanoTime();
+            move(temporaryFile, absoluteTarget);
+            long renameNanos = System.nanoTime() - renameStart;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                long syncStart = System.nanoTime();
+                forceDirectory(directory);
+                syncNanos += System.nanoTime() - syncStart;
+            }
+
+            SaveReport report = new SaveReport(SaveMode.ATOMIC_REWRITE, fsyncPolicy, bytesWritten,
+                    Duration.ofNanos(writeNanos), Duration.ofNanos(syncNanos), Duration.ofNanos(renameNanos));
+            LOG.info("Saved {} : {}", absoluteTarget, report);
+            return report;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Method to create the temporary file the content is written to. A temporary file is readable only by its owner
+     * until the permissions of the replaced file are copied to it. A new file gets the default permissions of the
+     * process instead, which respect the umask, like a file created by Files.write
+     * @param target Absolute path of the saved file
+     * @return Path of the created temporary file
+     */
+    private static Path createTemporaryFile(Path target) throws IOException {
+        Path directory = target.getParent();
+        String prefix = "." + target.getFileName();
+        if (Files.exists(target)) {
+            return Files.createTempFile(directory, prefix, TEMPORARY_FILE_SUFFIX);
+        }
+        while (true) {
+            Path temporaryFile = directory.resolve(prefix
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + TEMPORARY_FILE_SUFFIX);
+            try {
+                return Files.createFile(temporaryFile);
+            } catch (FileAlreadyExistsException e) {
+                LOG.debug("Temporary file {} exists already, trying another name", temporaryFile);
+            }
+        }
+    }
+
+    private boolean isUnchangedOnDisk(Path target, DocumentMetadata metadata) throws IOException {
+        if (metadata == DocumentMetadata.EMPTY || !Files.isRegularFile(target)) {
+            return false;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+        return attributes.size() == metadata.getSize()
+                && attributes.lastModifiedTime().toInstant().equals(metadata.getLastModifiedTime());
+    }
+
+    /**
+     * Method to save the changed lines over the file
+     * @return Report of the save, null when an atomic rewrite is cheaper
+     */
+    private SaveReport saveInPlace(DocumentContent content, Path target) throws IOException {
+        DirtyLines dirtyLines = content.getDirtyLines();
+        long size = content.getLineOffset(content.getNumberOfLines());
+        long start = System.nanoTime();
+        long bytesWritten = 0;
+        SaveMode saveMode;
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            if (!dirtyLines.isResized()) {
+                Map<Integer, Integer> ranges = dirtyLines.getRanges();
+                long patchedBytes = 0;
+                for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+                    patchedBytes += content.getLineOffset(range.getValue()) - content.getLineOffset(range.getKey());
+                }
+                if (!isCheaperInPlace(patchedBytes, size)) {
+                    return null;
+                }
+                for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+                    channel.position(content.getLineOffset(range.getKey()));
+                    bytesWritten += content.writeTo(channel, range.getKey(), range.getValue());
+                }
+                saveMode = SaveMode.IN_PLACE_PATCH;
+            } else {
+                // The line before the first dirty one is written too, the line break in front of an appended line
+                // is not in the file yet
+                int startIndex = Math.max(0, dirtyLines.getFirstDirtyLine() - 1);
+                long offset = content.getLineOffset(startIndex);
+                if (!isCheaperInPlace(size - offset, size)) {
+                    return null;
+                }
+                ByteBuffer suffix = ByteBuffer.allocate((int) (size - offset));
+                content.writeTo(new BufferChannel(suffix), startIndex, content.getNumberOfLines());
+                content.copyLinesIntoMemory(startIndex);
+                suffix.flip();
+                channel.position(offset);
+                while (suffix.hasRemaining()) {
+                    bytesWritten += channel.write(suffix);
+                }
+                channel.truncate(size);
+                saveMode = SaveMode.IN_PLACE_SUFFIX;
+            }
+            long syncNanos = 0;
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                long syncStart = System.nanoTime();
+                channel.force(fsyncPolicy == FsyncPolicy.ALWAYS);
+                syncNanos = System.nanoTime() - syncStart;
+            }
+            long writeNanos = System.nanoTime() - start - syncNanos;
+            SaveReport report = new SaveReport(saveMode, fsyncPolicy, bytesWritten, Duration.ofNanos(writeNanos),
+                    Duration.ofNanos(syncNanos), Duration.ZERO);
+            LOG.info("Saved {} : {}", target, report);
+            return report;
+        }
+    }
+
+    /**
+     * Method to decide if writing the bytes in place is cheaper than rewriting the whole file. Writing in place is
+     * not atomic, so it is used only when it saves at least half of the writes
+     */
+    private boolean isCheaperInPlace(long bytesToWrite, long size) {
+        return bytesToWrite <= maxInPlaceBytes && bytesToWrite * 2 <= size;
+    }
+
+    private void copyAttributes(Path target, Path temporaryFile, DocumentMetadata metadata) throws IOException {
+        if (Files.exists(target)) {
+            PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (targetView != null) {
+                Files.getFileAttributeView(temporaryFile, PosixFileAttributeView.class)
+                        .setPermissions(targetView.readAttributes().permissions());
+            }
+        }
+        if (metadata != null && metadata != DocumentMetadata.EMPTY) {
+            Files.getFileAttributeView(temporaryFile, BasicFileAttributeView.class)
+                    .setTimes(null, toFileTime(metadata.getLastAccessTime()), toFileTime(metadata.getCreationTime()));
+        }
+    }
+
+    private static FileTime toFileTime(Instant instant) {
+        return instant == null || instant == Instant.MIN ? null : FileTime.from(instant);
+    }
+
+    private void move(Path temporaryFile, Path target) throws IOException {
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.warn("Atomic move is not supported for {}, replacing the file non atomically", target);
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms cannot open directories as channels, the rename is durable there without it
+            LOG.debug("Cannot force directory {}", directory);
+        }
+    }
+
+    private DocumentMetadata updateMetadata(DocumentMetadata metadata, Path target) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+        return DocumentMetadata.createBuilder()
+                .setFileName(metadata.getFileName())
+                .setPath(metadata.getPath())
+                .setCreationTime(attributes.creationTime().toInstant())
+                .setLastModifiedTime(attributes.lastModifiedTime().toInstant())
+                .setLastAccessTime(attributes.lastAccessTime().toInstant())
+                .setRegularFile(attributes.isRegularFile())
+                .setSize(attributes.size())
+                .build();
+    }
+
+    private interface ContentWriter {
+
+        long writeTo(FileChannel channel) throws IOException;
+    }
+
+    private static class BufferChannel implements WritableByteChannel {
+
+        private final ByteBuffer buffer;
+
+        private BufferChannel(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            buffer.put(source);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
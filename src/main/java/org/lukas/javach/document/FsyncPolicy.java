@@ -0,0 +1,29 @@
+package org.lukas.javach.document;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Defines how hard the {@link DocumentSaver} works to get a saved document to the disk before it reports success.
+ *
+ * @author Lukas Pecak
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Content and metadata of the temporary file are forced to the disk before the rename and the directory is
+     * forced after the rename, so the new content survives a power loss once the save returns
+     */
+    ALWAYS,
+
+    /**
+     * Content of the temporary file is forced to the disk before it is closed and renamed. The rename itself is
+     * left to the operating system
+     */
+    ON_CLOSE,
+
+    /**
+     * Nothing is forced, the operating system decides when the content reaches the disk. The rename is still
+     * atomic, so a crash leaves either the old or the new file, but the new one may be empty
+     */
+    NEVER
+}
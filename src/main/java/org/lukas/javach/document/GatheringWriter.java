@@ -0,0 +1,73 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Collects buffers and writes them in batches, with a single gathering write per batch when the channel
+ * supports it. Used to write a content line by line without joining the lines first.
+ *
+ * @author Lukas Pecak
+ */
+class GatheringWriter {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer[] batch = new ByteBuffer[BATCH_SIZE];
+    private int batchSize;
+    private long written;
+
+    GatheringWriter(WritableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        this.channel = channel;
+    }
+
+    void write(ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        batch[batchSize++] = buffer;
+        if (batchSize == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Method to write all collected buffers
+     * @return Total number of bytes written by this writer
+     * @throws IOException when writing to the channel fails
+     */
+    long finish() throws IOException {
+        flush();
+        return written;
+    }
+
+    private void flush() throws IOException {
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+            int offset = 0;
+            while (offset < batchSize) {
+                written += gatheringChannel.write(batch, offset, batchSize - offset);
+                while (offset < batchSize && !batch[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                while (batch[i].hasRemaining()) {
+                    written += channel.write(batch[i]);
+                }
+            }
+        }
+        Arrays.fill(batch, 0, batchSize, null);
+        batchSize = 0;
+    }
+}
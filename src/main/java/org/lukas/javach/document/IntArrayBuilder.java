@@ -0,0 +1,57 @@
+package org.lukas.javach.document;
+
+import java.util.Arrays;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Growable array of primitive ints, used to collect offsets without boxing them.
+ *
+ * @author Lukas Pecak
+ */
+class IntArrayBuilder {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+    private int size;
+
+    IntArrayBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntArrayBuilder(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length << 1);
+        }
+        values[size++] = value;
+    }
+
+    void addAll(IntArrayBuilder other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length << 1, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Method to get the collected values as an array of exact size
+     * @return Array with the collected values
+     */
+    int[] toArray() {
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+}
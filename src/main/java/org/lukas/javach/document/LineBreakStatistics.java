@@ -0,0 +1,54 @@
+package org.lukas.javach.document;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Histogram of the line breaks found in a content. A carriage return directly followed by a line feed is counted
+ * as a windows line break only, the other two counts hold the standalone occurrences.
+ *
+ * @author Lukas Pecak
+ */
+public class LineBreakStatistics {
+
+    static final LineBreakStatistics EMPTY = new LineBreakStatistics(0, 0, 0);
+
+    private final long windowsLineBreakCount;
+    private final long unixLineBreakCount;
+    private final long oldMacLineBreakCount;
+
+    LineBreakStatistics(long windowsLineBreakCount, long unixLineBreakCount, long oldMacLineBreakCount) {
+        this.windowsLineBreakCount = windowsLineBreakCount;
+        this.unixLineBreakCount = unixLineBreakCount;
+        this.oldMacLineBreakCount = oldMacLineBreakCount;
+    }
+
+    public long getWindowsLineBreakCount() {
+        return windowsLineBreakCount;
+    }
+
+    public long getUnixLineBreakCount() {
+        return unixLineBreakCount;
+    }
+
+    public long getOldMacLineBreakCount() {
+        return oldMacLineBreakCount;
+    }
+
+    /**
+     * Method to test if the content contains more than one kind of line break. Such content is split by the
+     * detected line break only, the other line breaks stay part of the lines
+     * @return true if at least two kinds of line breaks were found
+     */
+    public boolean isMixed() {
+        int kinds = 0;
+        kinds += windowsLineBreakCount > 0 ? 1 : 0;
+        kinds += unixLineBreakCount > 0 ? 1 : 0;
+        kinds += oldMacLineBreakCount > 0 ? 1 : 0;
+        return kinds > 1;
+    }
+
+    @Override
+    public String toString() {
+        return "CRLF : " + windowsLineBreakCount + ", LF : " + unixLineBreakCount + ", CR : " + oldMacLineBreakCount;
+    }
+}
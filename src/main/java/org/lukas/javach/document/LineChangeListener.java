@@ -0,0 +1,48 @@
+package org.lukas.javach.document;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Receiver of the changes of the lines of the content open in an {@link org.lukas.javach.editor.Editor}, including
+ * the changes made by undo and redo. The listener is called after the lines were changed. All indexes are indexes
+ * of lines in the content, not in the current line range.
+ *
+ * @author Lukas Pecak
+ */
+public interface LineChangeListener {
+
+    LineChangeListener NONE = new LineChangeListener() {
+
+        @Override
+        public void lineUpdated(int index) {
+            // nothing to do
+        }
+
+        @Override
+        public void linesInserted(int index, int count) {
+            // nothing to do
+        }
+
+        @Override
+        public void linesRemoved(int index, int count) {
+            // nothing to do
+        }
+    };
+
+    /**
+     * @param index Index of the line replaced by a new value
+     */
+    void lineUpdated(int index);
+
+    /**
+     * @param index Index of the first inserted line
+     * @param count Number of inserted lines
+     */
+    void linesInserted(int index, int count);
+
+    /**
+     * @param index Index the first removed line had
+     * @param count Number of removed lines
+     */
+    void linesRemoved(int index, int count);
+}
@@ -0,0 +1,281 @@
+package org.lukas.javach.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Cache of line indexes of mapped files, so an unchanged file is reopened without scanning it for line breaks.
+ * The index of a file is stored in a binary sidecar file in the cache directory, named after the path of the file.
+ * The sidecar records the size and last modification time of the file and a checksum of a few samples of its
+ * content, a sidecar not matching the file is ignored. Line starts of a valid sidecar are read from its mapping.
+ * They are stored as unsigned ints for files smaller than 4 GB and as longs for bigger files.
+ * <p>
+ * The sidecars together may use at most the maximal size of the cache. The least recently used sidecars are
+ * deleted when a new one is stored, reading a sidecar marks it as used by its modification time.
+ * <p>
+ * The cache is an optimization only, failing to read or write a sidecar is logged and never fails opening a file.
+ *
+ * @author Lukas Pecak
+ */
+public class LineIndexCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LineIndexCache.class);
+
+    private static final int MAGIC = 0x45444C49;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 48;
+    private static final int CHECKSUM_SAMPLE_SIZE = 64 * 1024;
+    private static final long MAX_INT_OFFSET_FILE_SIZE = 0xFFFFFFFFL;
+    private static final String SIDECAR_SUFFIX = ".lines";
+
+    public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxSize;
+
+    /**
+     * @param directory Directory of the sidecar files, created when the first index is stored
+     */
+    public LineIndexCache(Path directory) {
+        this(directory, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param directory Directory of the sidecar files, created when the first index is stored
+     * @param maxSize Maximal number of bytes of all sidecar files, the least recently used ones are deleted first
+     */
+    public LineIndexCache(Path directory, long maxSize) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Cache directory cannot be null");
+        }
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximal size of the cache cannot be negative");
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Method to get the cache directory in the home directory of the user
+     * @return Path of the default cache directory
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".cache", "edi", "line-index");
+    }
+
+    /**
+     * Method to load the stored line index of the file
+     * @param path Path the file was mapped from
+     * @param file Mapped file
+     * @return Complete line index, null if no valid index of the current version of the file is stored
+     */
+    MappedLineIndex load(Path path, MappedFile file) {
+        Path sidecar = getSidecar(path);
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int read = 0;
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header);
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Instant lastModifiedTime = attributes.lastModifiedTime().toInstant();
+            long size = header.getLong();
+            long seconds = header.getLong();
+            int nanos = header.getInt();
+            LineBreak lineBreak = LineBreak.values()[header.getInt()];
+            long checksum = header.getLong();
+            int numberOfLines = header.getInt();
+            int offsetBytes = header.getInt();
+            if (size != attributes.size() || size != file.size() || seconds != lastModifiedTime.getEpochSecond()
+                    || nanos != lastModifiedTime.getNano() || offsetBytes != offsetBytes(size)
+                    || channel.size() != HEADER_SIZE + (long) numberOfLines * offsetBytes
+                    || checksum != checksum(file)) {
+                LOG.debug("Line index of {} is out of date", path);
+                return null;
+            }
+            ByteBuffer lineStarts = channel
+                    .map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) numberOfLines * offsetBytes);
+            markUsed(sidecar);
+            return new MappedLineIndex(file, lineBreak, lineStarts, offsetBytes);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Cannot load line index of {} from {}", path, sidecar, e);
+            return null;
+        }
+    }
+
+    /**
+     * Method to store the line index of the file, replacing the stored one
+     * @param path Path the file was mapped from
+     * @param file Mapped file
+     * @param index Complete line index of the file
+     */
+    void store(Path path, MappedFile file, MappedLineIndex index) {
+        int offsetBytes = offsetBytes(file.size());
+        long sidecarSize = HEADER_SIZE + (long) index.size() * offsetBytes;
+        if (!index.isComplete() || sidecarSize > Integer.MAX_VALUE || sidecarSize > maxSize) {
+            return;
+        }
+        Path sidecar = getSidecar(path);
+        Path temporaryFile = null;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.size() != file.size()) {
+                return;
+            }
+            Instant lastModifiedTime = attributes.lastModifiedTime().toInstant();
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, sidecar.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                buffer.putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putLong(file.size())
+                        .putLong(lastModifiedTime.getEpochSecond())
+                        .putInt(lastModifiedTime.getNano())
+                        .putInt(index.getLineBreak().ordinal())
+                        .putLong(checksum(file))
+                        .putInt(index.size())
+                        .putInt(offsetBytes);
+                buffer.position(HEADER_SIZE);
+                for (int i = 0; i < index.size(); i++) {
+                    if (!buffer.hasRemaining()) {
+                        write(channel, buffer);
+                    }
+                    if (offsetBytes == Integer.BYTES) {
+                        buffer.putInt((int) index.get(i));
+                    } else {
+                        buffer.putLong(index.get(i));
+                    }
+                }
+                write(channel, buffer);
+            }
+            move(temporaryFile, sidecar);
+            LOG.debug("Stored line index of {} to {}", path, sidecar);
+            evictLeastRecentlyUsed(sidecar);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Cannot store line index of {} to {}", path, sidecar, e);
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private static int offsetBytes(long fileSize) {
+        return fileSize <= MAX_INT_OFFSET_FILE_SIZE ? Integer.BYTES : Long.BYTES;
+    }
+
+    private static void markUsed(Path sidecar) {
+        try {
+            Files.setLastModifiedTime(sidecar, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOG.debug("Cannot mark {} as used", sidecar);
+        }
+    }
+
+    /**
+     * Method to delete the least recently used sidecars until all of them fit into the maximal size of the cache
+     * @param storedSidecar Sidecar stored just now, it is kept
+     */
+    private void evictLeastRecentlyUsed(Path storedSidecar) throws IOException {
+        List<Path> sidecars;
+        try (Stream<Path> files = Files.list(directory)) {
+            sidecars = files.filter(file -> file.getFileName().toString().endsWith(SIDECAR_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long totalSize = 0;
+        for (Path sidecar : sidecars) {
+            BasicFileAttributes sidecarAttributes = Files.readAttributes(sidecar, BasicFileAttributes.class);
+            attributes.put(sidecar, sidecarAttributes);
+            totalSize += sidecarAttributes.size();
+        }
+        sidecars.sort(Comparator.comparing(sidecar -> attributes.get(sidecar).lastModifiedTime()));
+        for (Path sidecar : sidecars) {
+            if (totalSize <= maxSize) {
+                return;
+            }
+            if (!sidecar.equals(storedSidecar)) {
+                deleteQuietly(sidecar);
+                totalSize -= attributes.get(sidecar).size();
+                LOG.debug("Evicted line index {} from the cache", sidecar);
+            }
+        }
+    }
+
+    Path getSidecar(Path path) {
+        String key = path.toAbsolutePath().normalize().toString();
+        return directory.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * Method to compute the checksum of the start, the middle and the end of the file, it detects changes keeping
+     * the size and modification time of the file without reading the whole file
+     */
+    private static long checksum(MappedFile file) {
+        CRC32 crc = new CRC32();
+        long size = file.size();
+        long[] sampleStarts = {0, size / 2 - CHECKSUM_SAMPLE_SIZE / 2, size - CHECKSUM_SAMPLE_SIZE};
+        byte[] sample = new byte[(int) Math.min(CHECKSUM_SAMPLE_SIZE, size)];
+        for (long sampleStart : sampleStarts) {
+            file.get(Math.max(0, sampleStart), sample, 0, sample.length);
+            crc.update(sample);
+        }
+        return crc.getValue();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void move(Path temporaryFile, Path target) throws IOException {
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debug("Cannot delete {}", path);
+        }
+    }
+}
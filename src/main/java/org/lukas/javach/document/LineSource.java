@@ -0,0 +1,65 @@
+package org.lukas.javach.document;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Read only access to the lines of an unmodified content. Implementations locate a line on request instead of
+ * keeping every line as a separate array.
+ *
+ * @author Lukas Pecak
+ */
+interface LineSource {
+
+    /**
+     * Method to get the number of lines available in the source
+     * @return Number of lines
+     */
+    int getNumberOfLines();
+
+    /**
+     * Method to read a single line (without line break) as a new array of bytes
+     * @param index Index of the line
+     * @return Line content as byte array
+     */
+    byte[] readLine(int index);
+
+    /**
+     * Method to get a single line (without line break) as a buffer. Sources keeping the lines in a buffer return
+     * a view of it instead of a copy
+     * @param index Index of the line
+     * @return Line content as byte buffer
+     */
+    default ByteBuffer readLineBuffer(int index) {
+        return ByteBuffer.wrap(readLine(index));
+    }
+
+    /**
+     * Method to copy a single line (without line break) into the buffer
+     * @param index Index of the line
+     * @param target Buffer to copy the line to
+     * @return Number of bytes copied
+     * @throws java.nio.BufferOverflowException when the line does not fit into the buffer, nothing is copied then
+     */
+    default int copyLine(int index, ByteBuffer target) {
+        ByteBuffer line = readLineBuffer(index);
+        int length = line.remaining();
+        target.put(line);
+        return length;
+    }
+
+    /**
+     * Method to get the total length of a range of lines, line breaks not included
+     * @param startIndex Index of the first line, inclusive
+     * @param endIndex Index of the last line, exclusive
+     * @return Sum of the line lengths
+     */
+    default long getLength(int startIndex, int endIndex) {
+        long length = 0;
+        for (int i = startIndex; i < endIndex; i++) {
+            length += readLine(i).length;
+        }
+        return length;
+    }
+}
@@ -1,102 +1,259 @@
 package org.lukas.javach.document;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static org.lukas.javach.document.LineBreak.*;
 
+/**
+ * Splits content into lines. The content is scanned a word (8 bytes) at a time: every byte of the word is compared
+ * with carriage return and line feed at once, so a single pass detects the line break, records the line starts
+ * and counts every kind of line break. Content bigger than the parallel threshold is divided into chunks which
+ * are scanned on the common fork/join pool.
+ */
 class LineSplitter {
 
-    private static final int CARRIAGE_RETURN = 0x0D;
-    private static final int LINE_FEED = 0x0A;
+    static final int DEFAULT_PARALLEL_THRESHOLD = 16 * 1024 * 1024;
+    static final int DEFAULT_MIN_CHUNK_SIZE = 1024 * 1024;
 
+    private static final byte CARRIAGE_RETURN = 0x0D;
+    private static final byte LINE_FEED = 0x0A;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ONE_IN_EVERY_BYTE = 0x0101010101010101L;
+    private static final long CARRIAGE_RETURNS = ONE_IN_EVERY_BYTE * CARRIAGE_RETURN;
+    private static final long LINE_FEEDS = ONE_IN_EVERY_BYTE * LINE_FEED;
+    private static final long FIRST_BYTE_HIGH_BIT = 0x80L;
+    private static final long LAST_BYTE_HIGH_BIT = 0x80L << 56;
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int parallelThreshold;
+    private final int minChunkSize;
     private byte[] bytes;
     private LineBreak lineBreak;
-    private List<byte[]> lines;
+    private LineBreakStatistics lineBreakStatistics = LineBreakStatistics.EMPTY;
 
-    List<byte[]> split(byte[] bytes, LineBreak lineBreak) {
-        this.bytes = bytes;
-        this.lineBreak = lineBreak;
-        lines = new ArrayList<>();
+    LineSplitter() {
+        this(DEFAULT_PARALLEL_THRESHOLD, DEFAULT_MIN_CHUNK_SIZE);
+    }
 
-        return splitBytesToLines();
+    /**
+     * @param parallelThreshold Content size in bytes from which the content is split in parallel
+     * @param minChunkSize Smallest number of bytes scanned by a single parallel task
+     */
+    LineSplitter(int parallelThreshold, int minChunkSize) {
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size has to be greater than zero");
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.minChunkSize = minChunkSize;
     }
 
-    private List<byte[]> splitBytesToLines() {
-        if (bytes.length == 0) {
+    List<byte[]> split(byte[] bytes, LineBreak lineBreak) {
+        int[] lineStarts = findLineStarts(bytes, lineBreak);
+        if (lineStarts.length == 0) {
             return Collections.emptyList();
         }
-        int[] lineBreakIndexes = getLineBrakeIndexes();
-
-        int lastLineStartIndex = addAllLinesButLast(lineBreakIndexes);
-        if (!lines.isEmpty()) {
-            lines.add(Arrays.copyOfRange(bytes, lastLineStartIndex, bytes.length));
-        } else {
+        List<byte[]> lines = new ArrayList<>(lineStarts.length);
+        if (lineStarts.length == 1) {
             lines.add(bytes);
+            return lines;
         }
+        int lineBreakLength = lineBreak.getBytes().length;
+        for (int i = 0; i < lineStarts.length - 1; i++) {
+            lines.add(Arrays.copyOfRange(bytes, lineStarts[i], lineStarts[i + 1] - lineBreakLength));
+        }
+        lines.add(Arrays.copyOfRange(bytes, lineStarts[lineStarts.length - 1], bytes.length));
         return lines;
     }
 
-    private int[] getLineBrakeIndexes() {
-        if (WINDOWS_LINE_BREAK.equals(lineBreak)) {
-            return calculateIndexesForWindowsLineBreak();
+    /**
+     * Method to find the start offsets of all lines separated by the given line break without copying the lines
+     * out of the array
+     * @param bytes Content to be split
+     * @param lineBreak Line break separating the lines
+     * @return Array of line start offsets, one entry per line; empty for an empty content
+     */
+    int[] findLineStarts(byte[] bytes, LineBreak lineBreak) {
+        if (!isKnownLineBreak(lineBreak)) {
+            throw new IllegalStateException("Line break for document not set");
         }
-        if (UNIX_LINE_BREAK.equals(lineBreak)) {
-            return calculateIndexesForUnixLineBreak();
+        return scan(bytes, lineBreak);
+    }
+
+    /**
+     * Method to detect the line break and find the start offsets of all lines in the same pass. The first line
+     * break found in the content decides how the content is split, see {@link LineBreak#resolveLineBreak(byte[])}
+     * @param bytes Content to be split
+     * @return Array of line start offsets, one entry per line; empty for an empty content
+     */
+    int[] findLineStarts(byte[] bytes) {
+        return scan(bytes, UNDEFINED_LINE_BREAK);
+    }
+
+    /**
+     * Method to get the line break used by the last split
+     * @return Detected or given line break, UNDEFINED_LINE_BREAK when the content does not contain any
+     */
+    LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    /**
+     * Method to get the histogram of all line breaks found by the last split
+     * @return Counts of windows, unix and old mac line breaks
+     */
+    LineBreakStatistics getLineBreakStatistics() {
+        return lineBreakStatistics;
+    }
+
+    private int[] scan(byte[] bytes, LineBreak lineBreak) {
+        this.bytes = bytes;
+        this.lineBreak = lineBreak;
+
+        if (bytes.length == 0) {
+            lineBreakStatistics = LineBreakStatistics.EMPTY;
+            return new int[0];
         }
-        if (OLD_MAC_LINE_BREAK.equals(lineBreak)) {
-            return calculateIndexesForOldMacLineBreak();
+        IntArrayBuilder lineStarts = new IntArrayBuilder();
+        lineStarts.add(0);
+        long[] counts = new long[3];
+        if (bytes.length >= parallelThreshold) {
+            scanInParallel(lineStarts, counts);
+        } else {
+            scanRange(0, bytes.length, lineStarts, counts);
         }
-        throw new IllegalStateException("Line break for document not set");
+        lineBreakStatistics = toStatistics(counts);
+        return lineStarts.toArray();
     }
 
-    private int addAllLinesButLast(int[] lineBreakIndexes) {
-        int fromIndex = 0;
-        int toIndex;
-        for (int i = 0; i < lineBreakIndexes.length; i = i + 2) {
-            toIndex = lineBreakIndexes[i];
-            lines.add(Arrays.copyOfRange(bytes, fromIndex, toIndex));
-            fromIndex = lineBreakIndexes[i + 1];
+    /**
+     * Method to scan equal chunks of the content in parallel and stitch the results in chunk order. Chunks are
+     * scanned one by one until the line break is known. A windows line break is recorded by the chunk containing
+     * its line feed, which looks back at the last byte of the previous chunk, so a CRLF pair straddling two chunks
+     * is found exactly once.
+     * @param lineStarts Builder collecting the line starts
+     * @param counts Counters of carriage returns, line feeds and windows line breaks
+     */
+    private void scanInParallel(IntArrayBuilder lineStarts, long[] counts) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunkSize = Math.max(minChunkSize, bytes.length / (pool.getParallelism() * 4));
+        long position = 0;
+        while (lineBreak == UNDEFINED_LINE_BREAK && position < bytes.length) {
+            int toIndex = (int) Math.min(position + chunkSize, bytes.length);
+            scanRange((int) position, toIndex, lineStarts, counts);
+            position = toIndex;
+        }
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        for (; position < bytes.length; position += chunkSize) {
+            Chunk chunk = new Chunk((int) position, (int) Math.min(position + chunkSize, bytes.length));
+            tasks.add(pool.submit(() -> {
+                scanRange(chunk.fromIndex, chunk.toIndex, chunk.lineStarts, chunk.counts);
+                return chunk;
+            }));
+        }
+        for (ForkJoinTask<Chunk> task : tasks) {
+            Chunk chunk = task.join();
+            lineStarts.addAll(chunk.lineStarts);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += chunk.counts[i];
+            }
         }
-        return fromIndex;
     }
 
-    private int[] calculateIndexesForOldMacLineBreak() {
-        List<Integer> lineBreaks = new ArrayList<>();
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] == CARRIAGE_RETURN) {
-                lineBreaks.add(i);
-                lineBreaks.add(i + 1);
+    /**
+     * Method to scan a range of the content. When the line break is not known yet, the first carriage return or
+     * line feed in the range decides it. Parallel chunks are only scanned with a known line break.
+     * @param fromIndex First index of the range (inclusive)
+     * @param toIndex Last index of the range (exclusive)
+     * @param lineStarts Builder collecting the line starts
+     * @param counts Counters of carriage returns, line feeds and windows line breaks
+     */
+    private void scanRange(int fromIndex, int toIndex, IntArrayBuilder lineStarts, long[] counts) {
+        boolean carriageReturnBefore = fromIndex > 0 && bytes[fromIndex - 1] == CARRIAGE_RETURN;
+        for (int i = fromIndex; i < toIndex; i += Long.BYTES) {
+            long word = i <= toIndex - Long.BYTES ? (long) LONG_VIEW.get(bytes, i) : readPartialWord(i, toIndex);
+            long carriageReturns = findZeroBytes(word ^ CARRIAGE_RETURNS);
+            long lineFeeds = findZeroBytes(word ^ LINE_FEEDS);
+            long windowsLineBreaks = (carriageReturns << 8 | (carriageReturnBefore ? FIRST_BYTE_HIGH_BIT : 0))
+                    & lineFeeds;
+            carriageReturnBefore = (carriageReturns & LAST_BYTE_HIGH_BIT) != 0;
+            if ((carriageReturns | lineFeeds) == 0) {
+                continue;
+            }
+            counts[0] += Long.bitCount(carriageReturns);
+            counts[1] += Long.bitCount(lineFeeds);
+            counts[2] += Long.bitCount(windowsLineBreaks);
+            if (lineBreak == UNDEFINED_LINE_BREAK) {
+                lineBreak = detectLineBreakAt(i + (Long.numberOfTrailingZeros(carriageReturns | lineFeeds) >>> 3));
+            }
+            long lineBreakEnds;
+            if (lineBreak == UNIX_LINE_BREAK) {
+                lineBreakEnds = lineFeeds;
+            } else if (lineBreak == OLD_MAC_LINE_BREAK) {
+                lineBreakEnds = carriageReturns;
+            } else {
+                lineBreakEnds = windowsLineBreaks;
+            }
+            while (lineBreakEnds != 0) {
+                lineStarts.add(i + (Long.numberOfTrailingZeros(lineBreakEnds) >>> 3) + 1);
+                lineBreakEnds &= lineBreakEnds - 1;
             }
         }
-        return toIntArray(lineBreaks);
     }
 
-    private int[] calculateIndexesForWindowsLineBreak() {
-        List<Integer> lineBreaks = new ArrayList<>();
-        for (int i = 0; i < bytes.length - 1; i++) {
-            if (bytes[i] == CARRIAGE_RETURN && bytes[i + 1] == LINE_FEED) {
-                lineBreaks.add(i);
-                lineBreaks.add(i + 2);
-            }
+    private long readPartialWord(int fromIndex, int toIndex) {
+        long word = 0;
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            word = word << 8 | (bytes[i] & 0xFF);
         }
-        return toIntArray(lineBreaks);
+        return word;
     }
 
-    private int[] calculateIndexesForUnixLineBreak() {
-        List<Integer> lineBreaks = new ArrayList<>();
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] == LINE_FEED) {
-                lineBreaks.add(i);
-                lineBreaks.add(i + 1);
-            }
+    private LineBreak detectLineBreakAt(int index) {
+        if (bytes[index] == LINE_FEED) {
+            return UNIX_LINE_BREAK;
+        }
+        if (index + 1 < bytes.length && bytes[index + 1] == LINE_FEED) {
+            return WINDOWS_LINE_BREAK;
         }
-        return toIntArray(lineBreaks);
+        return OLD_MAC_LINE_BREAK;
+    }
+
+    private static LineBreakStatistics toStatistics(long[] counts) {
+        long windowsLineBreakCount = counts[2];
+        return new LineBreakStatistics(windowsLineBreakCount,
+                counts[1] - windowsLineBreakCount,
+                counts[0] - windowsLineBreakCount);
     }
 
-    private int[] toIntArray(List<Integer> lineBreaks) {
-        return lineBreaks.stream().mapToInt(i -> i).toArray();
+    /**
+     * Method to mark the zero bytes of a word. Unlike the common "has zero byte" test the result is exact:
+     * the high bit of a byte is set if and only if that byte is zero.
+     * @param word Eight bytes to test
+     * @return Word with the high bit set for every zero byte
+     */
+    private static long findZeroBytes(long word) {
+        return ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+    }
+
+    private static class Chunk {
+
+        private final int fromIndex;
+        private final int toIndex;
+        private final IntArrayBuilder lineStarts = new IntArrayBuilder();
+        private final long[] counts = new long[3];
+
+        private Chunk(int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
     }
-}
\ No newline at end of file
+}
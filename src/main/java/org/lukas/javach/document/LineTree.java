@@ -0,0 +1,554 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * List of lines stored in a B+tree. Every node knows the number of lines in its subtree, so reading, replacing,
+ * inserting and removing a line as well as removing a whole range of lines cost O(log n) instead of shifting
+ * the elements of an array.
+ * <p>
+ * The tree is built over a {@link LineSource}. A leaf which was not modified covers a run of consecutive source
+ * lines and stores nothing but the index of the first one, the lines are read from the source on request.
+ * Modified leaves keep their lines explicitly, either as the new line or as the index of the source line.
+ * <p>
+ * Next to the number of lines every node keeps the total length of its lines, so the byte offset of a line is
+ * found in O(log n) too. Changes are recorded in {@link DirtyLines}.
+ *
+ * @author Lukas Pecak
+ */
+class LineTree extends AbstractList<byte[]> implements RandomAccess {
+
+    static final int NODE_CAPACITY = 64;
+
+    private final LineSource source;
+    private final DirtyLines dirtyLines = new DirtyLines();
+    private Node root;
+
+    LineTree(LineSource source) {
+        this.source = source;
+        root = build(source);
+    }
+
+    private static Node build(LineSource source) {
+        int numberOfLines = source.getNumberOfLines();
+        int numberOfLeaves = Math.max(1, (numberOfLines + NODE_CAPACITY - 1) / NODE_CAPACITY);
+        Node[] level = new Node[numberOfLeaves];
+        for (int i = 0; i < numberOfLeaves; i++) {
+            int sourceStart = i * NODE_CAPACITY;
+            int size = Math.min(NODE_CAPACITY, numberOfLines - sourceStart);
+            level[i] = new Leaf(sourceStart, size, source.getLength(sourceStart, sourceStart + size));
+        }
+        while (level.length > 1) {
+            Node[] parents = new Node[(level.length + NODE_CAPACITY - 1) / NODE_CAPACITY];
+            for (int i = 0; i < parents.length; i++) {
+                int from = i * NODE_CAPACITY;
+                parents[i] = new Inner(Arrays.copyOfRange(level, from, Math.min(level.length, from + NODE_CAPACITY)));
+            }
+            level = parents;
+        }
+        return level[0];
+    }
+
+    @Override
+    public byte[] get(int index) {
+        checkIndex(index, size());
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int child = inner.childAt(index);
+            index -= inner.offsetOf(child);
+            node = inner.children[child];
+        }
+        return ((Leaf) node).get(index, source);
+    }
+
+    /**
+     * Method to copy a line into the buffer without creating an array of it
+     * @param index Index of the line
+     * @param target Buffer to copy the line to
+     * @return Number of bytes copied
+     * @throws java.nio.BufferOverflowException when the line does not fit into the buffer, nothing is copied then
+     */
+    int copyLine(int index, ByteBuffer target) {
+        checkIndex(index, size());
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int child = inner.childAt(index);
+            index -= inner.offsetOf(child);
+            node = inner.children[child];
+        }
+        return ((Leaf) node).copyLine(index, source, target);
+    }
+
+    @Override
+    public byte[] set(int index, byte[] line) {
+        byte[] previousLine = get(index);
+        int lengthDelta = line.length - previousLine.length;
+        dirtyLines.lineUpdated(index, lengthDelta != 0);
+        Node node = root;
+        node.length += lengthDelta;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int child = inner.childAt(index);
+            index -= inner.offsetOf(child);
+            node = inner.children[child];
+            node.length += lengthDelta;
+        }
+        ((Leaf) node).set(index, line);
+        return previousLine;
+    }
+
+    @Override
+    public void add(int index, byte[] line) {
+        checkIndex(index, size() + 1);
+        Node sibling = root.add(index, line, source);
+        if (sibling != null) {
+            root = new Inner(new Node[]{root, sibling});
+        }
+        dirtyLines.linesInserted(index);
+        modCount++;
+    }
+
+    @Override
+    public byte[] remove(int index) {
+        byte[] removedLine = get(index);
+        removeRange(index, index + 1);
+        return removedLine;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        root.removeRange(fromIndex, toIndex, source);
+        while (root instanceof Inner && ((Inner) root).numberOfChildren == 1) {
+            root = ((Inner) root).children[0];
+        }
+        if (root instanceof Inner && root.size == 0) {
+            root = new Leaf(0, 0, 0);
+        }
+        dirtyLines.linesRemoved(fromIndex);
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    /**
+     * Method to write a range of lines separated by the given line break. Lines which were not modified are written
+     * as views of the source buffers, without copying them
+     * @param channel Channel to write to
+     * @param lineBreak Bytes written between two lines
+     * @param fromIndex Index of the first line, inclusive
+     * @param toIndex Index of the last line, exclusive
+     * @return Number of bytes written
+     * @throws IOException when writing to the channel fails
+     */
+    long writeTo(WritableByteChannel channel, byte[] lineBreak, int fromIndex, int toIndex) throws IOException {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > size()) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " - " + toIndex + ", Size: " + size());
+        }
+        GatheringWriter writer = new GatheringWriter(channel);
+        write(root, 0, fromIndex, toIndex, writer, ByteBuffer.wrap(lineBreak));
+        return writer.finish();
+    }
+
+    private void write(Node node, int nodeStart, int fromIndex, int toIndex, GatheringWriter writer,
+                       ByteBuffer lineBreak) throws IOException {
+        if (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int childStart = nodeStart;
+            for (int i = 0; i < inner.numberOfChildren && childStart < toIndex; i++) {
+                Node child = inner.children[i];
+                if (childStart + child.size > fromIndex) {
+                    write(child, childStart, fromIndex, toIndex, writer, lineBreak);
+                }
+                childStart += child.size;
+            }
+            return;
+        }
+        Leaf leaf = (Leaf) node;
+        int to = Math.min(toIndex - nodeStart, leaf.size);
+        for (int i = Math.max(fromIndex - nodeStart, 0); i < to; i++) {
+            if (nodeStart + i > fromIndex) {
+                writer.write(lineBreak.duplicate());
+            }
+            writer.write(leaf.getBuffer(i, source));
+        }
+    }
+
+    /**
+     * Method to get the total length of the lines before the given index, line breaks not included
+     * @param index Index of the line, may be equal to the size
+     * @return Sum of the lengths of all preceding lines
+     */
+    long lengthBefore(int index) {
+        checkIndex(index, size() + 1);
+        long length = 0;
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int child = inner.childAt(index);
+            for (int i = 0; i < child; i++) {
+                length += inner.children[i].length;
+                index -= inner.children[i].size;
+            }
+            node = inner.children[child];
+        }
+        return length + ((Leaf) node).lengthBefore(index, source);
+    }
+
+    DirtyLines getDirtyLines() {
+        return dirtyLines;
+    }
+
+    /**
+     * Method to copy the source lines at and after the index into the tree, so they can be read after the source
+     * is gone. Copied lines are not marked as dirty
+     * @param fromIndex Index of the first line to copy
+     */
+    void copySourceLines(int fromIndex) {
+        copySourceLines(root, fromIndex);
+    }
+
+    private void copySourceLines(Node node, int fromIndex) {
+        if (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int childStart = 0;
+            for (int i = 0; i < inner.numberOfChildren; i++) {
+                Node child = inner.children[i];
+                if (childStart + child.size > fromIndex) {
+                    copySourceLines(child, Math.max(fromIndex - childStart, 0));
+                }
+                childStart += child.size;
+            }
+            return;
+        }
+        ((Leaf) node).copySourceLines(fromIndex, source);
+    }
+
+    int getHeight() {
+        int height = 1;
+        for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + " is out of range [0, " + bound + ")");
+        }
+    }
+
+    private abstract static class Node {
+
+        int size;
+        long length;
+
+        /**
+         * Method to insert a line into the subtree
+         * @return New right sibling when the node had to be split, null otherwise
+         */
+        abstract Node add(int index, byte[] line, LineSource source);
+
+        abstract void removeRange(int fromIndex, int toIndex, LineSource source);
+
+        /**
+         * Method to get the number of used slots of the node: lines of a leaf, children of an inner node
+         */
+        abstract int used();
+    }
+
+    private static final class Leaf extends Node {
+
+        private int sourceStart;
+        private byte[][] lines;
+        private int[] sourceIndexes;
+
+        private Leaf(int sourceStart, int size, long length) {
+            this.sourceStart = sourceStart;
+            this.size = size;
+            this.length = length;
+        }
+
+        private Leaf(byte[][] lines, int[] sourceIndexes, int size, LineSource source) {
+            this.lines = lines;
+            this.sourceIndexes = sourceIndexes;
+            this.size = size;
+            this.length = lengthBefore(size, source);
+        }
+
+        byte[] get(int index, LineSource source) {
+            if (lines == null) {
+                return source.readLine(sourceStart + index);
+            }
+            byte[] line = lines[index];
+            return line != null ? line : source.readLine(sourceIndexes[index]);
+        }
+
+        ByteBuffer getBuffer(int index, LineSource source) {
+            if (lines == null) {
+                return source.readLineBuffer(sourceStart + index);
+            }
+            byte[] line = lines[index];
+            return line != null ? ByteBuffer.wrap(line) : source.readLineBuffer(sourceIndexes[index]);
+        }
+
+        int copyLine(int index, LineSource source, ByteBuffer target) {
+            byte[] line = lines != null ? lines[index] : null;
+            if (line != null) {
+                target.put(line);
+                return line.length;
+            }
+            return source.copyLine(lines == null ? sourceStart + index : sourceIndexes[index], target);
+        }
+
+        /**
+         * Method to replace a line, the length of the leaf has to be updated by the caller
+         */
+        void set(int index, byte[] line) {
+            makeExplicit();
+            lines[index] = line;
+        }
+
+        long lengthBefore(int index, LineSource source) {
+            if (lines == null) {
+                return source.getLength(sourceStart, sourceStart + index);
+            }
+            long length = 0;
+            for (int i = 0; i < index; i++) {
+                length += lineLength(i, source);
+            }
+            return length;
+        }
+
+        private long lineLength(int index, LineSource source) {
+            byte[] line = lines[index];
+            return line != null ? line.length : source.getLength(sourceIndexes[index], sourceIndexes[index] + 1);
+        }
+
+        void copySourceLines(int fromIndex, LineSource source) {
+            makeExplicit();
+            for (int i = fromIndex; i < size; i++) {
+                if (lines[i] == null) {
+                    lines[i] = source.readLine(sourceIndexes[i]);
+                }
+            }
+        }
+
+        @Override
+        Node add(int index, byte[] line, LineSource source) {
+            makeExplicit();
+            if (size == lines.length) {
+                lines = Arrays.copyOf(lines, size + 1);
+                sourceIndexes = Arrays.copyOf(sourceIndexes, size + 1);
+            }
+            System.arraycopy(lines, index, lines, index + 1, size - index);
+            System.arraycopy(sourceIndexes, index, sourceIndexes, index + 1, size - index);
+            lines[index] = line;
+            size++;
+            length += line.length;
+            if (size <= NODE_CAPACITY) {
+                return null;
+            }
+            int half = size / 2;
+            byte[][] siblingLines = new byte[NODE_CAPACITY][];
+            int[] siblingSourceIndexes = new int[NODE_CAPACITY];
+            System.arraycopy(lines, half, siblingLines, 0, size - half);
+            System.arraycopy(sourceIndexes, half, siblingSourceIndexes, 0, size - half);
+            lines = Arrays.copyOf(lines, NODE_CAPACITY);
+            sourceIndexes = Arrays.copyOf(sourceIndexes, NODE_CAPACITY);
+            Arrays.fill(lines, half, NODE_CAPACITY, null);
+            Leaf sibling = new Leaf(siblingLines, siblingSourceIndexes, size - half, source);
+            size = half;
+            length -= sibling.length;
+            return sibling;
+        }
+
+        @Override
+        void removeRange(int fromIndex, int toIndex, LineSource source) {
+            if (lines == null) {
+                length -= source.getLength(sourceStart + fromIndex, sourceStart + toIndex);
+            } else {
+                for (int i = fromIndex; i < toIndex; i++) {
+                    length -= lineLength(i, source);
+                }
+            }
+            if (lines == null && fromIndex == 0) {
+                sourceStart += toIndex;
+                size -= toIndex;
+                return;
+            }
+            if (lines == null && toIndex == size) {
+                size = fromIndex;
+                return;
+            }
+            makeExplicit();
+            System.arraycopy(lines, toIndex, lines, fromIndex, size - toIndex);
+            System.arraycopy(sourceIndexes, toIndex, sourceIndexes, fromIndex, size - toIndex);
+            Arrays.fill(lines, size - (toIndex - fromIndex), size, null);
+            size -= toIndex - fromIndex;
+        }
+
+        @Override
+        int used() {
+            return size;
+        }
+
+        void appendAll(Leaf other) {
+            makeExplicit();
+            other.makeExplicit();
+            System.arraycopy(other.lines, 0, lines, size, other.size);
+            System.arraycopy(other.sourceIndexes, 0, sourceIndexes, size, other.size);
+            size += other.size;
+            length += other.length;
+        }
+
+        private void makeExplicit() {
+            if (lines != null) {
+                return;
+            }
+            lines = new byte[NODE_CAPACITY][];
+            sourceIndexes = new int[NODE_CAPACITY];
+            for (int i = 0; i < size; i++) {
+                sourceIndexes[i] = sourceStart + i;
+            }
+        }
+    }
+
+    private static final class Inner extends Node {
+
+        private final Node[] children = new Node[NODE_CAPACITY + 1];
+        private int numberOfChildren;
+
+        private Inner(Node[] children) {
+            System.arraycopy(children, 0, this.children, 0, children.length);
+            numberOfChildren = children.length;
+            for (Node child : children) {
+                size += child.size;
+                length += child.length;
+            }
+        }
+
+        int childAt(int index) {
+            int child = 0;
+            while (child < numberOfChildren - 1 && index >= children[child].size) {
+                index -= children[child].size;
+                child++;
+            }
+            return child;
+        }
+
+        int offsetOf(int child) {
+            int offset = 0;
+            for (int i = 0; i < child; i++) {
+                offset += children[i].size;
+            }
+            return offset;
+        }
+
+        @Override
+        Node add(int index, byte[] line, LineSource source) {
+            int child = childAt(index);
+            Node sibling = children[child].add(index - offsetOf(child), line, source);
+            size++;
+            length += line.length;
+            if (sibling == null) {
+                return null;
+            }
+            System.arraycopy(children, child + 1, children, child + 2, numberOfChildren - child - 1);
+            children[child + 1] = sibling;
+            numberOfChildren++;
+            if (numberOfChildren <= NODE_CAPACITY) {
+                return null;
+            }
+            int half = numberOfChildren / 2;
+            Inner right = new Inner(Arrays.copyOfRange(children, half, numberOfChildren));
+            Arrays.fill(children, half, numberOfChildren, null);
+            numberOfChildren = half;
+            size -= right.size;
+            length -= right.length;
+            return right;
+        }
+
+        @Override
+        void removeRange(int fromIndex, int toIndex, LineSource source) {
+            int offset = 0;
+            int child = 0;
+            while (child < numberOfChildren && offset < toIndex) {
+                Node node = children[child];
+                int childFrom = Math.max(fromIndex - offset, 0);
+                int childTo = Math.min(toIndex - offset, node.size);
+                offset += node.size;
+                if (childFrom < childTo) {
+                    long previousLength = node.length;
+                    if (childFrom == 0 && childTo == node.size) {
+                        node.size = 0;
+                        node.length = 0;
+                    } else {
+                        node.removeRange(childFrom, childTo, source);
+                    }
+                    size -= childTo - childFrom;
+                    length -= previousLength - node.length;
+                }
+                child++;
+            }
+            removeEmptyChildren();
+            mergeSmallChildren();
+        }
+
+        @Override
+        int used() {
+            return numberOfChildren;
+        }
+
+        private void removeEmptyChildren() {
+            int kept = 0;
+            for (int i = 0; i < numberOfChildren; i++) {
+                if (children[i].size > 0) {
+                    children[kept++] = children[i];
+                }
+            }
+            Arrays.fill(children, kept, numberOfChildren, null);
+            numberOfChildren = kept;
+        }
+
+        private void mergeSmallChildren() {
+            int i = 0;
+            while (i < numberOfChildren - 1) {
+                Node left = children[i];
+                Node right = children[i + 1];
+                if (left.getClass() == right.getClass() && left.used() + right.used() <= NODE_CAPACITY / 2) {
+                    if (left instanceof Leaf) {
+                        ((Leaf) left).appendAll((Leaf) right);
+                    } else {
+                        ((Inner) left).appendAll((Inner) right);
+                    }
+                    System.arraycopy(children, i + 2, children, i + 1, numberOfChildren - i - 2);
+                    children[--numberOfChildren] = null;
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        void appendAll(Inner other) {
+            System.arraycopy(other.children, 0, children, numberOfChildren, other.numberOfChildren);
+            numberOfChildren += other.numberOfChildren;
+            size += other.size;
+            length += other.length;
+        }
+    }
+}
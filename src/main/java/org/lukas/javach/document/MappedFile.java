@@ -0,0 +1,152 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Read only view of a file mapped into memory. A single MappedByteBuffer is limited to 2 GB, so bigger files
+ * are mapped as a sequence of equally sized regions and addressed with long positions.
+ *
+ * @author Lukas Pecak
+ */
+class MappedFile {
+
+    static final int DEFAULT_REGION_SIZE = 1 << 30;
+
+    private final MappedByteBuffer[] regions;
+    private final int regionShift;
+    private final int regionMask;
+    private final long size;
+
+    private MappedFile(MappedByteBuffer[] regions, int regionSize, long size) {
+        this.regions = regions;
+        this.regionShift = Integer.numberOfTrailingZeros(regionSize);
+        this.regionMask = regionSize - 1;
+        this.size = size;
+    }
+
+    static MappedFile map(Path path) throws IOException {
+        return map(path, DEFAULT_REGION_SIZE);
+    }
+
+    static MappedFile map(Path path, int regionSize) throws IOException {
+        if (regionSize <= 0 || Integer.bitCount(regionSize) != 1) {
+            throw new IllegalArgumentException("Region size has to be a positive power of two");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int numberOfRegions = (int) ((size + regionSize - 1) / regionSize);
+            MappedByteBuffer[] regions = new MappedByteBuffer[numberOfRegions];
+            for (int i = 0; i < numberOfRegions; i++) {
+                long position = (long) i * regionSize;
+                long length = Math.min(regionSize, size - position);
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            }
+            return new MappedFile(regions, regionSize, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    int getNumberOfRegions() {
+        return regions.length;
+    }
+
+    /**
+     * Method to get the mapped region with the given index. The returned buffer is shared, callers should use
+     * absolute get methods only.
+     * @param index Index of the region
+     * @return Buffer of the region
+     */
+    ByteBuffer getRegion(int index) {
+        return regions[index];
+    }
+
+    int getRegionIndex(long position) {
+        return (int) (position >>> regionShift);
+    }
+
+    long getRegionStart(int index) {
+        return (long) index << regionShift;
+    }
+
+    byte get(long position) {
+        return regions[(int) (position >>> regionShift)].get((int) (position & regionMask));
+    }
+
+    /**
+     * Method to copy a range of the file into the given array. The range may span more than one region.
+     * @param position Position in file of the first byte to copy
+     * @param target Array to copy the bytes to
+     * @param offset Offset in the target array
+     * @param length Number of bytes to copy
+     */
+    void get(long position, byte[] target, int offset, int length) {
+        while (length > 0) {
+            int regionIndex = (int) (position >>> regionShift);
+            int regionPosition = (int) (position & regionMask);
+            ByteBuffer region = regions[regionIndex].duplicate();
+            int chunk = Math.min(length, region.limit() - regionPosition);
+            region.position(regionPosition);
+            region.get(target, offset, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Method to copy a range of the file into the buffer. The bytes are copied in bulk from the region, a range
+     * spanning two regions is copied in two parts
+     * @param position Position in file of the first byte to copy
+     * @param target Buffer to copy the bytes to
+     * @param length Number of bytes to copy
+     * @throws BufferOverflowException when the bytes do not fit into the buffer, nothing is copied then
+     */
+    void get(long position, ByteBuffer target, int length) {
+        if (target.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        while (length > 0) {
+            int regionIndex = (int) (position >>> regionShift);
+            int regionPosition = (int) (position & regionMask);
+            ByteBuffer region = regions[regionIndex].duplicate();
+            int chunk = Math.min(length, region.limit() - regionPosition);
+            region.position(regionPosition).limit(regionPosition + chunk);
+            target.put(region);
+            position += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Method to get a range of the file as a buffer. A range within a single region is returned as a read only view
+     * of the mapping, a range spanning two regions is copied
+     * @param position Position in file of the first byte
+     * @param length Number of bytes
+     * @return Buffer with the bytes of the range
+     */
+    ByteBuffer slice(long position, int length) {
+        int regionIndex = (int) (position >>> regionShift);
+        int regionPosition = (int) (position & regionMask);
+        ByteBuffer region = regions.length > 0 ? regions[regionIndex] : ByteBuffer.allocate(0);
+        if (regionPosition + length <= region.limit()) {
+            ByteBuffer view = region.duplicate();
+            view.limit(regionPosition + length);
+            view.position(regionPosition);
+            return view;
+        }
+        byte[] bytes = new byte[length];
+        get(position, bytes, 0, length);
+        return ByteBuffer.wrap(bytes);
+    }
+}
@@ -0,0 +1,202 @@
+package org.lukas.javach.document;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Start offsets of the lines of a mapped file. The file is indexed in chunks, so the index can be built step by step
+ * while the lines found so far are already read. A single thread indexes the file, any number of threads may read
+ * the line starts published so far. An index loaded from a {@link LineIndexCache} is complete from the start and
+ * reads the line starts from the mapped cache file.
+ *
+ * @author Lukas Pecak
+ */
+class MappedLineIndex {
+
+    private static final byte CARRIAGE_RETURN = 0x0D;
+    private static final byte LINE_FEED = 0x0A;
+    private static final int INITIAL_CAPACITY = 1024;
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final MappedFile file;
+    private final LineBreak lineBreak;
+    private final int chunkSize;
+    private final ByteBuffer storedLineStarts;
+    private final int storedOffsetBytes;
+    private long[] writerLineStarts = new long[INITIAL_CAPACITY];
+    private int writerSize;
+    private long position;
+    private volatile long[] lineStarts = writerLineStarts;
+    private volatile int size;
+    private volatile boolean complete;
+
+    MappedLineIndex(MappedFile file) {
+        this(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param file Mapped file to index
+     * @param chunkSize Number of bytes indexed before the found line starts are published
+     */
+    MappedLineIndex(MappedFile file, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size has to be positive");
+        }
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.storedLineStarts = null;
+        this.storedOffsetBytes = 0;
+        this.lineBreak = detectLineBreak(file);
+        if (file.size() > 0) {
+            addLineStart(0);
+            size = writerSize;
+        }
+        if (lineBreak == UNDEFINED_LINE_BREAK) {
+            position = file.size();
+        }
+        complete = position == file.size();
+    }
+
+    /**
+     * @param file Mapped file the index belongs to
+     * @param lineBreak Line break of the file
+     * @param storedLineStarts Start offsets of all lines of the file
+     * @param storedOffsetBytes Number of bytes of a stored offset, 4 for an unsigned int, 8 for a long
+     */
+    MappedLineIndex(MappedFile file, LineBreak lineBreak, ByteBuffer storedLineStarts, int storedOffsetBytes) {
+        if (storedOffsetBytes != Integer.BYTES && storedOffsetBytes != Long.BYTES) {
+            throw new IllegalArgumentException("Stored offsets have to be ints or longs");
+        }
+        this.file = file;
+        this.chunkSize = DEFAULT_CHUNK_SIZE;
+        this.lineBreak = lineBreak;
+        this.storedLineStarts = storedLineStarts;
+        this.storedOffsetBytes = storedOffsetBytes;
+        writerLineStarts = null;
+        lineStarts = null;
+        writerSize = storedLineStarts.limit() / storedOffsetBytes;
+        size = writerSize;
+        position = file.size();
+        complete = true;
+    }
+
+    static LineBreak detectLineBreak(MappedFile file) {
+        long size = file.size();
+        for (long i = 0; i < size; i++) {
+            byte value = file.get(i);
+            if (value == LINE_FEED) {
+                return UNIX_LINE_BREAK;
+            }
+            if (value == CARRIAGE_RETURN) {
+                return i + 1 < size && file.get(i + 1) == LINE_FEED ? WINDOWS_LINE_BREAK : OLD_MAC_LINE_BREAK;
+            }
+        }
+        return UNDEFINED_LINE_BREAK;
+    }
+
+    /**
+     * @return Line break detected in the file, UNDEFINED_LINE_BREAK if the file has a single line
+     */
+    LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    /**
+     * Method to index the file until the given number of line starts is known or the whole file is indexed.
+     * Must not be called by two threads at the same time
+     * @param numberOfLineStarts Number of line starts to find
+     */
+    void indexUntil(int numberOfLineStarts) {
+        while (!complete && writerSize < numberOfLineStarts) {
+            long end = Math.min(position + chunkSize, file.size());
+            indexRange(position, end);
+            position = end;
+            size = writerSize;
+            complete = position == file.size();
+        }
+    }
+
+    void indexAll() {
+        indexUntil(Integer.MAX_VALUE);
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return Number of line starts found so far
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Method to get the start of a line, the index has to be lower than a value returned by size() before
+     * @param index Index of the line
+     * @return Offset of the first byte of the line in the file
+     */
+    long get(int index) {
+        long[] starts = lineStarts;
+        if (starts != null) {
+            return starts[index];
+        }
+        return storedOffsetBytes == Integer.BYTES
+                ? Integer.toUnsignedLong(storedLineStarts.getInt(index * Integer.BYTES))
+                : storedLineStarts.getLong(index * Long.BYTES);
+    }
+
+    private void indexRange(long from, long to) {
+        while (from < to) {
+            int regionIndex = file.getRegionIndex(from);
+            ByteBuffer region = file.getRegion(regionIndex);
+            long regionStart = file.getRegionStart(regionIndex);
+            int start = (int) (from - regionStart);
+            int end = (int) Math.min(to - regionStart, region.limit());
+            indexRegion(region, regionStart, start, end);
+            from = regionStart + end;
+        }
+    }
+
+    private void indexRegion(ByteBuffer region, long regionStart, int start, int end) {
+        if (lineBreak == UNIX_LINE_BREAK) {
+            for (int i = start; i < end; i++) {
+                if (region.get(i) == LINE_FEED) {
+                    addLineStart(regionStart + i + 1);
+                }
+            }
+        } else if (lineBreak == OLD_MAC_LINE_BREAK) {
+            for (int i = start; i < end; i++) {
+                if (region.get(i) == CARRIAGE_RETURN) {
+                    addLineStart(regionStart + i + 1);
+                }
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                if (region.get(i) == CARRIAGE_RETURN && isLineFeedAt(region, regionStart, i + 1)) {
+                    addLineStart(regionStart + i + 2);
+                }
+            }
+        }
+    }
+
+    private boolean isLineFeedAt(ByteBuffer region, long regionStart, int index) {
+        if (index < region.limit()) {
+            return region.get(index) == LINE_FEED;
+        }
+        long filePosition = regionStart + index;
+        return filePosition < file.size() && file.get(filePosition) == LINE_FEED;
+    }
+
+    private void addLineStart(long lineStart) {
+        if (writerSize == writerLineStarts.length) {
+            writerLineStarts = Arrays.copyOf(writerLineStarts, writerLineStarts.length * 2);
+            lineStarts = writerLineStarts;
+        }
+        writerLineStarts[writerSize++] = lineStart;
+    }
+}
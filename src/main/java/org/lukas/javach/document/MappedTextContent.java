@@ -0,0 +1,193 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Document content backed by a memory mapped file. Only the start offsets of the lines are kept on the heap,
+ * the line bytes are copied out of the mapping when a line is requested.
+ *
+ * @author Lukas Pecak
+ */
+public class MappedTextContent implements DocumentContent {
+
+    private final MappedFile file;
+    private final MappedLineIndex lineIndex;
+    private final LineTree lines;
+    private final int lineBreakLength;
+    private LineBreak lineBreak;
+
+    MappedTextContent(MappedFile file) {
+        this(file, indexAll(file));
+    }
+
+    /**
+     * @param file Mapped file
+     * @param index Complete line index of the file
+     */
+    MappedTextContent(MappedFile file, MappedLineIndex index) {
+        if (file == null || index == null) {
+            throw new IllegalArgumentException("Cannot initialize a document without a mapped file");
+        }
+        if (!index.isComplete()) {
+            throw new IllegalArgumentException("Line index of the file is not complete");
+        }
+        this.file = file;
+        this.lineIndex = index;
+        LineBreak detectedLineBreak = index.getLineBreak();
+        lineBreak = detectedLineBreak != UNDEFINED_LINE_BREAK ? detectedLineBreak : systemDefaultLineBreak();
+        lineBreakLength = detectedLineBreak.getBytes().length;
+        lines = new LineTree(new MappedLineSource());
+    }
+
+    private static MappedLineIndex indexAll(MappedFile file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Cannot initialize a document without a mapped file");
+        }
+        MappedLineIndex index = new MappedLineIndex(file);
+        index.indexAll();
+        return index;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        byte[] lineBreakBytes = lineBreak.getBytes();
+        long length = 0;
+        for (byte[] line : lines) {
+            length += line.length + lineBreakBytes.length;
+        }
+        length = Math.max(0, length - lineBreakBytes.length);
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Content of " + length + " bytes cannot be represented as byte array");
+        }
+        byte[] bytes = new byte[(int) length];
+        int position = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            byte[] line = lines.get(i);
+            System.arraycopy(line, 0, bytes, position, line.length);
+            position += line.length;
+            if (i < lines.size() - 1) {
+                System.arraycopy(lineBreakBytes, 0, bytes, position, lineBreakBytes.length);
+                position += lineBreakBytes.length;
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return writeTo(channel, 0, lines.size());
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel, int startIndex, int endIndex) throws IOException {
+        return lines.writeTo(channel, lineBreak.getBytes(), startIndex, endIndex);
+    }
+
+    @Override
+    public long getLineOffset(int index) {
+        int lineBreakLength = lineBreak.getBytes().length;
+        long offset = lines.lengthBefore(index) + (long) index * lineBreakLength;
+        return index > 0 && index == lines.size() ? offset - lineBreakLength : offset;
+    }
+
+    @Override
+    public DirtyLines getDirtyLines() {
+        return lines.getDirtyLines();
+    }
+
+    @Override
+    public void copyLinesIntoMemory(int startIndex) {
+        lines.copySourceLines(startIndex);
+    }
+
+    @Override
+    public int copyLine(int index, ByteBuffer target) {
+        return lines.copyLine(index, target);
+    }
+
+    @Override
+    public List<byte[]> getLines() {
+        return lines;
+    }
+
+    @Override
+    public int getNumberOfLines() {
+        return lines.size();
+    }
+
+    @Override
+    public LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    @Override
+    public void setLineBreak(LineBreak lineBreak) {
+        if (!isKnownLineBreak(lineBreak)) {
+            throw new IllegalArgumentException("Tried to set null value as line break");
+        }
+        if (lineBreak != this.lineBreak) {
+            lines.getDirtyLines().allLinesChanged();
+        }
+        this.lineBreak = lineBreak;
+    }
+
+    @Override
+    public LineRange getLineRange(int startIndex, int endIndex) {
+        return new LineRange(lines.subList(startIndex, endIndex), startIndex, endIndex);
+    }
+
+    @Override
+    public LineRange getLineRangeAll() {
+        return new LineRange(lines, 0, lines.size());
+    }
+
+    private class MappedLineSource implements LineSource {
+
+        @Override
+        public int getNumberOfLines() {
+            return lineIndex.size();
+        }
+
+        @Override
+        public byte[] readLine(int index) {
+            long start = lineIndex.get(index);
+            byte[] line = new byte[(int) (lineEnd(index) - start)];
+            file.get(start, line, 0, line.length);
+            return line;
+        }
+
+        @Override
+        public ByteBuffer readLineBuffer(int index) {
+            long start = lineIndex.get(index);
+            return file.slice(start, (int) (lineEnd(index) - start));
+        }
+
+        @Override
+        public int copyLine(int index, ByteBuffer target) {
+            long start = lineIndex.get(index);
+            int length = (int) (lineEnd(index) - start);
+            file.get(start, target, length);
+            return length;
+        }
+
+        @Override
+        public long getLength(int startIndex, int endIndex) {
+            if (startIndex >= endIndex) {
+                return 0;
+            }
+            long lineBreaks = (long) (endIndex - startIndex - 1) * lineBreakLength;
+            return lineEnd(endIndex - 1) - lineIndex.get(startIndex) - lineBreaks;
+        }
+
+        private long lineEnd(int index) {
+            return index + 1 < lineIndex.size() ? lineIndex.get(index + 1) - lineBreakLength : file.size();
+        }
+    }
+}
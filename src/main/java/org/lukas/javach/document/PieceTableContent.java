@@ -0,0 +1,471 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Document content kept as a piece table. The loaded bytes are never copied or modified, inserted bytes are
+ * appended to an add buffer and the document is described by a sequence of pieces pointing into one of the two
+ * buffers. The pieces are kept in a treap ordered by their position in the document, every node knows the byte
+ * length and the number of line breaks of its subtree, so finding a line and inserting or deleting bytes costs
+ * O(log pieces).
+ * <p>
+ * Line breaks are tracked by position rather than by value: only the line breaks found on load and the ones
+ * written between inserted lines separate lines, line break bytes inside a line stay part of it.
+ *
+ * @author Lukas Pecak
+ */
+public class PieceTableContent implements DocumentContent {
+
+    private final byte[] original;
+    private final int[] originalLineStarts;
+    private final byte[] separator;
+    private final IntArrayBuilder addedLineStarts = new IntArrayBuilder();
+    private final List<byte[]> lines = new PieceTableLines();
+    private final DirtyLines dirtyLines = new DirtyLines();
+    private byte[] added = new byte[1024];
+    private int addedLength;
+    private Piece root;
+    private boolean hasLines;
+    private LineBreak lineBreak;
+
+    PieceTableContent(byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot initialize a document with a null array of bytes");
+        }
+        original = bytes;
+        LineSplitter lineSplitter = new LineSplitter();
+        originalLineStarts = lineSplitter.findLineStarts(bytes);
+        LineBreak detectedLineBreak = lineSplitter.getLineBreak();
+        lineBreak = detectedLineBreak != UNDEFINED_LINE_BREAK ? detectedLineBreak : systemDefaultLineBreak();
+        separator = lineBreak.getBytes();
+        if (bytes.length > 0) {
+            root = new Piece(false, 0, bytes.length);
+            hasLines = true;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() {
+        if (Arrays.equals(separator, lineBreak.getBytes())) {
+            byte[] bytes = new byte[toArrayLength(length(root))];
+            copy(root, 0, 0, bytes.length, bytes);
+            return bytes;
+        }
+        byte[] lineBreakBytes = lineBreak.getBytes();
+        int numberOfLines = lines.size();
+        long length = length(root)
+                + (long) Math.max(0, numberOfLines - 1) * (lineBreakBytes.length - separator.length);
+        byte[] bytes = new byte[toArrayLength(length)];
+        int position = 0;
+        for (int i = 0; i < numberOfLines; i++) {
+            byte[] line = lines.get(i);
+            System.arraycopy(line, 0, bytes, position, line.length);
+            position += line.length;
+            if (i < numberOfLines - 1) {
+                System.arraycopy(lineBreakBytes, 0, bytes, position, lineBreakBytes.length);
+                position += lineBreakBytes.length;
+            }
+        }
+        return bytes;
+    }
+
+    private static int toArrayLength(long length) {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Content of " + length
+                    + " bytes cannot be represented as byte array, use writeTo() instead");
+        }
+        return (int) length;
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return writeTo(channel, 0, lines.size());
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel, int startIndex, int endIndex) throws IOException {
+        if (startIndex < 0 || startIndex > endIndex || endIndex > lines.size()) {
+            throw new IndexOutOfBoundsException("Range: " + startIndex + " - " + endIndex + ", Size: " + lines.size());
+        }
+        GatheringWriter writer = new GatheringWriter(channel);
+        if (startIndex == endIndex) {
+            return writer.finish();
+        }
+        if (Arrays.equals(separator, lineBreak.getBytes())) {
+            writePieces(root, 0, lineStart(startIndex), lineEnd(endIndex - 1), writer);
+        } else {
+            ByteBuffer lineBreakBuffer = ByteBuffer.wrap(lineBreak.getBytes());
+            for (int i = startIndex; i < endIndex; i++) {
+                if (i > startIndex) {
+                    writer.write(lineBreakBuffer.duplicate());
+                }
+                writer.write(ByteBuffer.wrap(lines.get(i)));
+            }
+        }
+        return writer.finish();
+    }
+
+    private void writePieces(Piece piece, long pieceOffset, long from, long to, GatheringWriter writer)
+            throws IOException {
+        if (piece == null || to <= pieceOffset || from >= pieceOffset + piece.subtreeLength) {
+            return;
+        }
+        writePieces(piece.left, pieceOffset, from, to, writer);
+        long start = pieceOffset + length(piece.left);
+        long end = start + piece.length();
+        long writeFrom = Math.max(from, start);
+        long writeTo = Math.min(to, end);
+        if (writeFrom < writeTo) {
+            writer.write(ByteBuffer.wrap(buffer(piece), piece.start + (int) (writeFrom - start),
+                    (int) (writeTo - writeFrom)));
+        }
+        writePieces(piece.right, end, from, to, writer);
+    }
+
+    @Override
+    public long getLineOffset(int index) {
+        int numberOfLines = lines.size();
+        if (index < 0 || index > numberOfLines) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numberOfLines);
+        }
+        int lengthDifference = lineBreak.getBytes().length - separator.length;
+        if (index == numberOfLines) {
+            return length(root) + (long) Math.max(0, numberOfLines - 1) * lengthDifference;
+        }
+        return lineStart(index) + (long) index * lengthDifference;
+    }
+
+    @Override
+    public DirtyLines getDirtyLines() {
+        return dirtyLines;
+    }
+
+    @Override
+    public List<byte[]> getLines() {
+        return lines;
+    }
+
+    @Override
+    public int getNumberOfLines() {
+        return lines.size();
+    }
+
+    @Override
+    public LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    @Override
+    public void setLineBreak(LineBreak lineBreak) {
+        if (!isKnownLineBreak(lineBreak)) {
+            throw new IllegalArgumentException("Tried to set null value as line break");
+        }
+        if (lineBreak != this.lineBreak) {
+            dirtyLines.allLinesChanged();
+        }
+        this.lineBreak = lineBreak;
+    }
+
+    @Override
+    public LineRange getLineRange(int startIndex, int endIndex) {
+        return new LineRange(lines.subList(startIndex, endIndex), startIndex, endIndex);
+    }
+
+    @Override
+    public LineRange getLineRangeAll() {
+        return new LineRange(lines, 0, lines.size());
+    }
+
+    int getNumberOfPieces() {
+        return count(root);
+    }
+
+    private long lineStart(int index) {
+        if (index == 0) {
+            return 0;
+        }
+        int remainingBreaks = index;
+        long offset = 0;
+        Piece piece = root;
+        while (piece != null) {
+            int leftBreaks = breaks(piece.left);
+            if (remainingBreaks <= leftBreaks) {
+                piece = piece.left;
+                continue;
+            }
+            offset += length(piece.left);
+            remainingBreaks -= leftBreaks;
+            if (remainingBreaks <= piece.breaks) {
+                int lineStart = lineStartAt(piece, firstLineStartAfter(piece, piece.start) + remainingBreaks - 1);
+                return offset + lineStart - piece.start;
+            }
+            remainingBreaks -= piece.breaks;
+            offset += piece.length();
+            piece = piece.right;
+        }
+        throw new IllegalStateException("Line " + index + " not found in piece table");
+    }
+
+    private long lineEnd(int index) {
+        return index + 1 < lines.size() ? lineStart(index + 1) - separator.length : length(root);
+    }
+
+    private byte[] read(long from, long to) {
+        byte[] bytes = new byte[(int) (to - from)];
+        copy(root, 0, from, to, bytes);
+        return bytes;
+    }
+
+    private void copy(Piece piece, long pieceOffset, long from, long to, byte[] target) {
+        if (piece == null || to <= pieceOffset || from >= pieceOffset + piece.subtreeLength) {
+            return;
+        }
+        copy(piece.left, pieceOffset, from, to, target);
+        long start = pieceOffset + length(piece.left);
+        long end = start + piece.length();
+        long copyFrom = Math.max(from, start);
+        long copyTo = Math.min(to, end);
+        if (copyFrom < copyTo) {
+            System.arraycopy(buffer(piece), piece.start + (int) (copyFrom - start),
+                    target, (int) (copyFrom - from), (int) (copyTo - copyFrom));
+        }
+        copy(piece.right, end, from, to, target);
+    }
+
+    private void insert(long offset, Piece piece) {
+        Piece[] parts = split(root, offset);
+        root = merge(merge(parts[0], piece), parts[1]);
+    }
+
+    private void delete(long from, long to) {
+        Piece[] head = split(root, from);
+        Piece[] tail = split(head[1], to - from);
+        root = merge(head[0], tail[1]);
+    }
+
+    /**
+     * Method to append bytes to the add buffer
+     * @param bytes Bytes to append
+     * @param breakBefore true if the line separator should precede the bytes
+     * @param breakAfter true if the line separator should follow the bytes
+     * @return Piece covering the appended bytes
+     */
+    private Piece append(byte[] bytes, boolean breakBefore, boolean breakAfter) {
+        int start = addedLength;
+        if (breakBefore) {
+            appendToBuffer(separator);
+            addedLineStarts.add(addedLength);
+        }
+        appendToBuffer(bytes);
+        if (breakAfter) {
+            appendToBuffer(separator);
+            addedLineStarts.add(addedLength);
+        }
+        return new Piece(true, start, addedLength);
+    }
+
+    private void appendToBuffer(byte[] bytes) {
+        if (addedLength + bytes.length > added.length) {
+            added = Arrays.copyOf(added, Math.max(added.length << 1, addedLength + bytes.length));
+        }
+        System.arraycopy(bytes, 0, added, addedLength, bytes.length);
+        addedLength += bytes.length;
+    }
+
+    private Piece[] split(Piece piece, long offset) {
+        if (piece == null) {
+            return new Piece[2];
+        }
+        long leftLength = length(piece.left);
+        if (offset <= leftLength) {
+            Piece[] parts = split(piece.left, offset);
+            piece.left = parts[1];
+            piece.update();
+            parts[1] = piece;
+            return parts;
+        }
+        long end = leftLength + piece.length();
+        if (offset >= end) {
+            Piece[] parts = split(piece.right, offset - end);
+            piece.right = parts[0];
+            piece.update();
+            parts[0] = piece;
+            return parts;
+        }
+        int cut = piece.start + (int) (offset - leftLength);
+        Piece head = new Piece(piece.added, piece.start, cut);
+        Piece tail = new Piece(piece.added, cut, piece.end);
+        return new Piece[]{merge(piece.left, head), merge(tail, piece.right)};
+    }
+
+    private Piece merge(Piece left, Piece right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private byte[] buffer(Piece piece) {
+        return piece.added ? added : original;
+    }
+
+    private int lineStartAt(Piece piece, int index) {
+        return piece.added ? addedLineStarts.get(index) : originalLineStarts[index];
+    }
+
+    /**
+     * Method to find the index of the first line start placed after the given position of the piece buffer.
+     * Line starts of a buffer are sorted, so a binary search is enough
+     */
+    private int firstLineStartAfter(Piece piece, int position) {
+        int low = 0;
+        int high = piece.added ? addedLineStarts.size() : originalLineStarts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lineStartAt(piece, middle) <= position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long length(Piece piece) {
+        return piece == null ? 0 : piece.subtreeLength;
+    }
+
+    private static int breaks(Piece piece) {
+        return piece == null ? 0 : piece.subtreeBreaks;
+    }
+
+    private static int count(Piece piece) {
+        return piece == null ? 0 : count(piece.left) + 1 + count(piece.right);
+    }
+
+    private class Piece {
+
+        private final boolean added;
+        private final int start;
+        private final int end;
+        private final int breaks;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Piece left;
+        private Piece right;
+        private long subtreeLength;
+        private int subtreeBreaks;
+
+        private Piece(boolean added, int start, int end) {
+            this.added = added;
+            this.start = start;
+            this.end = end;
+            this.breaks = firstLineStartAfter(this, end) - firstLineStartAfter(this, start);
+            update();
+        }
+
+        private int length() {
+            return end - start;
+        }
+
+        private void update() {
+            subtreeLength = PieceTableContent.length(left) + length() + PieceTableContent.length(right);
+            subtreeBreaks = PieceTableContent.breaks(left) + breaks + PieceTableContent.breaks(right);
+        }
+    }
+
+    private class PieceTableLines extends AbstractList<byte[]> implements RandomAccess {
+
+        @Override
+        public byte[] get(int index) {
+            checkIndex(index, size());
+            return read(lineStart(index), lineEnd(index));
+        }
+
+        @Override
+        public byte[] set(int index, byte[] line) {
+            byte[] previousLine = get(index);
+            dirtyLines.lineUpdated(index, line.length != previousLine.length);
+            long start = lineStart(index);
+            delete(start, start + previousLine.length);
+            if (line.length > 0) {
+                insert(start, append(line, false, false));
+            }
+            return previousLine;
+        }
+
+        @Override
+        public void add(int index, byte[] line) {
+            int size = size();
+            checkIndex(index, size + 1);
+            if (size == 0) {
+                if (line.length > 0) {
+                    insert(0, append(line, false, false));
+                }
+                hasLines = true;
+            } else if (index < size) {
+                insert(lineStart(index), append(line, false, true));
+            } else {
+                insert(length(root), append(line, true, false));
+            }
+            dirtyLines.linesInserted(index);
+            modCount++;
+        }
+
+        @Override
+        public byte[] remove(int index) {
+            byte[] removedLine = get(index);
+            removeRange(index, index + 1);
+            return removedLine;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            if (fromIndex >= toIndex) {
+                return;
+            }
+            int size = size();
+            if (toIndex - fromIndex == size) {
+                root = null;
+                hasLines = false;
+            } else if (toIndex < size) {
+                delete(lineStart(fromIndex), lineStart(toIndex));
+            } else {
+                delete(lineStart(fromIndex) - separator.length, length(root));
+            }
+            dirtyLines.linesRemoved(fromIndex);
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return hasLines ? breaks(root) + 1 : 0;
+        }
+
+        private void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Factory of contents backed by a piece table, meant for documents with many structural edits
+ *
+ * @author Lukas Pecak
+ */
+public class PieceTableContentFactory implements DocumentContentFactory {
+
+    @Override
+    public DocumentContent createDocumentContent(byte[] bytes) {
+        return new PieceTableContent(bytes);
+    }
+
+    @Override
+    public DocumentContent createDocumentContent(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        return new PieceTableContent(Files.readAllBytes(path));
+    }
+}
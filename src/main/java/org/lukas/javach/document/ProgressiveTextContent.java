@@ -0,0 +1,219 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Document content of a mapped file which is usable before the file is fully indexed. The first lines are indexed
+ * when the content is created, the rest of the file is indexed on a background thread. Until then the content
+ * can be read, the number of lines is the number of lines known so far. The first change of the content waits
+ * for the indexing to finish, from then on the content behaves like a {@link MappedTextContent}.
+ *
+ * @author Lukas Pecak
+ */
+public class ProgressiveTextContent implements DocumentContent {
+
+    static final int DEFAULT_FIRST_LINES = 1000;
+
+    private final MappedFile file;
+    private final MappedLineIndex index;
+    private final int lineBreakLength;
+    private final LineBreak initialLineBreak;
+    private final CompletableFuture<MappedTextContent> loading;
+    private final List<byte[]> lines = new ProgressiveLines();
+    private final DirtyLines unchangedLines = new DirtyLines();
+
+    ProgressiveTextContent(MappedFile file) {
+        this(file, new MappedLineIndex(file), DEFAULT_FIRST_LINES);
+    }
+
+    /**
+     * @param file Mapped file
+     * @param index Empty line index of the file
+     * @param firstLines Number of lines indexed before the constructor returns
+     */
+    ProgressiveTextContent(MappedFile file, MappedLineIndex index, int firstLines) {
+        if (file == null || index == null) {
+            throw new IllegalArgumentException("Cannot initialize a document without a mapped file");
+        }
+        this.file = file;
+        this.index = index;
+        LineBreak detectedLineBreak = index.getLineBreak();
+        initialLineBreak = detectedLineBreak != UNDEFINED_LINE_BREAK ? detectedLineBreak : systemDefaultLineBreak();
+        lineBreakLength = detectedLineBreak.getBytes().length;
+        // The start of the following line is needed to know where the last of the first lines ends
+        index.indexUntil(firstLines + 1);
+        loading = CompletableFuture.supplyAsync(() -> {
+            index.indexAll();
+            return new MappedTextContent(file, index);
+        }, ProgressiveTextContent::startIndexer);
+    }
+
+    private static void startIndexer(Runnable indexing) {
+        Thread indexer = new Thread(indexing, "line-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    /**
+     * Method to check if the whole file was indexed
+     * @return true if all lines are known
+     */
+    public boolean isLoaded() {
+        return loading.isDone();
+    }
+
+    /**
+     * Method to wait until the whole file is indexed
+     */
+    public void awaitLoaded() {
+        loading.join();
+    }
+
+    /**
+     * Method to run the action on the indexing thread once the whole file is indexed
+     * @param action Action to run
+     */
+    void whenLoaded(Runnable action) {
+        loading.thenRun(action);
+    }
+
+    private MappedTextContent loaded() {
+        return loading.join();
+    }
+
+    private MappedTextContent loadedOrNull() {
+        return loading.getNow(null);
+    }
+
+    private int getNumberOfKnownLines() {
+        if (index.isComplete()) {
+            return index.size();
+        }
+        return Math.max(0, index.size() - 1);
+    }
+
+    private byte[] readKnownLine(int lineIndex) {
+        long start = index.get(lineIndex);
+        long end = lineIndex + 1 < index.size() ? index.get(lineIndex + 1) - lineBreakLength : file.size();
+        byte[] line = new byte[(int) (end - start)];
+        file.get(start, line, 0, line.length);
+        return line;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return loaded().getBytes();
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return loaded().writeTo(channel);
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel, int startIndex, int endIndex) throws IOException {
+        return loaded().writeTo(channel, startIndex, endIndex);
+    }
+
+    @Override
+    public long getLineOffset(int index) {
+        return loaded().getLineOffset(index);
+    }
+
+    @Override
+    public DirtyLines getDirtyLines() {
+        MappedTextContent content = loadedOrNull();
+        return content != null ? content.getDirtyLines() : unchangedLines;
+    }
+
+    @Override
+    public void copyLinesIntoMemory(int startIndex) {
+        loaded().copyLinesIntoMemory(startIndex);
+    }
+
+    @Override
+    public List<byte[]> getLines() {
+        return lines;
+    }
+
+    @Override
+    public int getNumberOfLines() {
+        return lines.size();
+    }
+
+    @Override
+    public LineBreak getLineBreak() {
+        MappedTextContent content = loadedOrNull();
+        return content != null ? content.getLineBreak() : initialLineBreak;
+    }
+
+    @Override
+    public void setLineBreak(LineBreak lineBreak) {
+        loaded().setLineBreak(lineBreak);
+    }
+
+    @Override
+    public LineRange getLineRange(int startIndex, int endIndex) {
+        return new LineRange(lines.subList(startIndex, endIndex), startIndex, endIndex);
+    }
+
+    @Override
+    public LineRange getLineRangeAll() {
+        return new LineRange(lines, 0, lines.size());
+    }
+
+    private class ProgressiveLines extends AbstractList<byte[]> implements RandomAccess {
+
+        @Override
+        public byte[] get(int index) {
+            MappedTextContent content = loadedOrNull();
+            if (content != null) {
+                return content.getLines().get(index);
+            }
+            int size = getNumberOfKnownLines();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return readKnownLine(index);
+        }
+
+        @Override
+        public byte[] set(int index, byte[] line) {
+            return loaded().getLines().set(index, line);
+        }
+
+        @Override
+        public void add(int index, byte[] line) {
+            loaded().getLines().add(index, line);
+            modCount++;
+        }
+
+        @Override
+        public byte[] remove(int index) {
+            byte[] removedLine = loaded().getLines().remove(index);
+            modCount++;
+            return removedLine;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            loaded().getLines().subList(fromIndex, toIndex).clear();
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            MappedTextContent content = loadedOrNull();
+            return content != null ? content.getNumberOfLines() : getNumberOfKnownLines();
+        }
+    }
+}
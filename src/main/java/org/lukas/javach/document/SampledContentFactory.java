@@ -0,0 +1,50 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Factory of read only contents of mapped files indexed by a sparse sampled line index, meant for viewing files
+ * too big to index every line of them
+ *
+ * @author Lukas Pecak
+ */
+public class SampledContentFactory implements DocumentContentFactory {
+
+    private final int sampleInterval;
+
+    public SampledContentFactory() {
+        this(SampledLineIndex.DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param sampleInterval Number of lines between two line starts kept in memory
+     */
+    public SampledContentFactory(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval has to be positive");
+        }
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Method to create a content of the bytes. The bytes are on the heap already, so they are not indexed sparsely
+     * and the returned content is a modifiable text content
+     */
+    @Override
+    public DocumentContent createDocumentContent(byte[] bytes) {
+        return new TextContent(bytes);
+    }
+
+    @Override
+    public DocumentContent createDocumentContent(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        MappedFile file = MappedFile.map(path);
+        return new SampledTextContent(file,
+                new SampledLineIndex(file, sampleInterval, SampledLineIndex.DEFAULT_SEGMENT_SIZE));
+    }
+}
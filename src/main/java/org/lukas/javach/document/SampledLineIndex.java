@@ -0,0 +1,221 @@
+package org.lukas.javach.document;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Sparse index of the lines of a mapped file. Only the start of every n-th line is kept, the start of any other line
+ * is found by scanning forward from the nearest sample, so the index needs memory proportional to the number of
+ * samples instead of the number of lines.
+ * <p>
+ * The file is indexed in parallel in two passes over segments of the file: the first pass counts the line breaks of
+ * every segment, the second records the sampled line starts knowing the number of the first line of its segment.
+ *
+ * @author Lukas Pecak
+ */
+class SampledLineIndex {
+
+    static final int DEFAULT_SAMPLE_INTERVAL = 1024;
+    static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    private static final byte CARRIAGE_RETURN = 0x0D;
+    private static final byte LINE_FEED = 0x0A;
+
+    private final MappedFile file;
+    private final LineBreak lineBreak;
+    private final int lineBreakLength;
+    private final int sampleInterval;
+    private final int numberOfLines;
+    private final long[] samples;
+    private volatile LineCursor cursor;
+
+    SampledLineIndex(MappedFile file) {
+        this(file, DEFAULT_SAMPLE_INTERVAL, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param file Mapped file to index
+     * @param sampleInterval Number of lines between two sampled line starts
+     * @param segmentSize Number of bytes indexed by one task of the parallel scan
+     */
+    SampledLineIndex(MappedFile file, int sampleInterval, int segmentSize) {
+        if (file == null) {
+            throw new IllegalArgumentException("Cannot index a file which is null");
+        }
+        if (sampleInterval <= 0 || segmentSize <= 0) {
+            throw new IllegalArgumentException("Sample interval and segment size have to be positive");
+        }
+        this.file = file;
+        this.sampleInterval = sampleInterval;
+        this.lineBreak = MappedLineIndex.detectLineBreak(file);
+        this.lineBreakLength = lineBreak.getBytes().length;
+
+        int numberOfSegments = (int) ((file.size() + segmentSize - 1) / segmentSize);
+        long[] lineBreaksBefore = new long[numberOfSegments + 1];
+        if (lineBreak != UNDEFINED_LINE_BREAK) {
+            long[] lineBreaks = new long[numberOfSegments];
+            IntStream.range(0, numberOfSegments).parallel().forEach(segment -> {
+                long[] count = new long[1];
+                scan(segmentStart(segment, segmentSize), segmentEnd(segment, segmentSize), lineStart -> count[0]++);
+                lineBreaks[segment] = count[0];
+            });
+            for (int i = 0; i < numberOfSegments; i++) {
+                lineBreaksBefore[i + 1] = lineBreaksBefore[i] + lineBreaks[i];
+            }
+        }
+        long lines = file.size() > 0 ? lineBreaksBefore[numberOfSegments] + 1 : 0;
+        if (lines > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("File with " + lines + " lines cannot be indexed");
+        }
+        numberOfLines = (int) lines;
+        samples = new long[(numberOfLines + sampleInterval - 1) / sampleInterval];
+        if (lineBreak != UNDEFINED_LINE_BREAK) {
+            IntStream.range(0, numberOfSegments).parallel().forEach(segment -> {
+                // The first line break of the segment starts the line following the lines of the previous segments
+                long[] line = {lineBreaksBefore[segment] + 1};
+                scan(segmentStart(segment, segmentSize), segmentEnd(segment, segmentSize), lineStart -> {
+                    if (line[0] % sampleInterval == 0) {
+                        samples[(int) (line[0] / sampleInterval)] = lineStart;
+                    }
+                    line[0]++;
+                });
+            });
+        }
+    }
+
+    private static long segmentStart(int segment, int segmentSize) {
+        return (long) segment * segmentSize;
+    }
+
+    private long segmentEnd(int segment, int segmentSize) {
+        return Math.min(segmentStart(segment + 1, segmentSize), file.size());
+    }
+
+    LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    int getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    int getNumberOfSamples() {
+        return samples.length;
+    }
+
+    /**
+     * Method to get the start of a line. The line is found from the nearest sample before it or from the line
+     * found by the previous call, whichever is closer
+     * @param index Index of the line
+     * @return Offset of the first byte of the line in the file
+     */
+    long getLineStart(int index) {
+        validateIndex(index);
+        int lineIndex = index - index % sampleInterval;
+        long lineStart = samples[index / sampleInterval];
+        LineCursor lastLine = cursor;
+        if (lastLine != null && lastLine.index <= index && lastLine.index > lineIndex) {
+            lineIndex = lastLine.index;
+            lineStart = lastLine.start;
+        }
+        while (lineIndex < index) {
+            lineStart = findNextLineStart(lineStart);
+            lineIndex++;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Method to get the end of a line, the line break after it is not included
+     * @param index Index of the line
+     * @param lineStart Start of the line returned by getLineStart()
+     * @return Offset after the last byte of the line in the file
+     */
+    long getLineEnd(int index, long lineStart) {
+        if (index + 1 == numberOfLines) {
+            return file.size();
+        }
+        long nextLineStart = findNextLineStart(lineStart);
+        cursor = new LineCursor(index + 1, nextLineStart);
+        return nextLineStart - lineBreakLength;
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index >= numberOfLines) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numberOfLines);
+        }
+    }
+
+    private long findNextLineStart(long position) {
+        long size = file.size();
+        for (long i = position; i < size; i++) {
+            byte value = file.get(i);
+            if (lineBreak == UNIX_LINE_BREAK && value == LINE_FEED
+                    || lineBreak == OLD_MAC_LINE_BREAK && value == CARRIAGE_RETURN) {
+                return i + 1;
+            }
+            if (lineBreak == WINDOWS_LINE_BREAK && value == CARRIAGE_RETURN && i + 1 < size
+                    && file.get(i + 1) == LINE_FEED) {
+                return i + 2;
+            }
+        }
+        throw new IllegalStateException("No line break after position " + position);
+    }
+
+    /**
+     * Method to pass the start of every line beginning after a line break found between the positions to the consumer
+     */
+    private void scan(long from, long to, LongConsumer lineStartConsumer) {
+        while (from < to) {
+            int regionIndex = file.getRegionIndex(from);
+            ByteBuffer region = file.getRegion(regionIndex);
+            long regionStart = file.getRegionStart(regionIndex);
+            int start = (int) (from - regionStart);
+            int end = (int) Math.min(to - regionStart, region.limit());
+            scanRegion(region, regionStart, start, end, lineStartConsumer);
+            from = regionStart + end;
+        }
+    }
+
+    private void scanRegion(ByteBuffer region, long regionStart, int start, int end, LongConsumer lineStartConsumer) {
+        if (lineBreak == UNIX_LINE_BREAK) {
+            for (int i = start; i < end; i++) {
+                if (region.get(i) == LINE_FEED) {
+                    lineStartConsumer.accept(regionStart + i + 1);
+                }
+            }
+        } else if (lineBreak == OLD_MAC_LINE_BREAK) {
+            for (int i = start; i < end; i++) {
+                if (region.get(i) == CARRIAGE_RETURN) {
+                    lineStartConsumer.accept(regionStart + i + 1);
+                }
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                if (region.get(i) == CARRIAGE_RETURN && isLineFeedAt(regionStart + i + 1)) {
+                    lineStartConsumer.accept(regionStart + i + 2);
+                }
+            }
+        }
+    }
+
+    private boolean isLineFeedAt(long position) {
+        return position < file.size() && file.get(position) == LINE_FEED;
+    }
+
+    private static class LineCursor {
+
+        private final int index;
+        private final long start;
+
+        private LineCursor(int index, long start) {
+            this.index = index;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.lukas.javach.document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Read only document content of a mapped file indexed by a {@link SampledLineIndex}. Memory used by the content
+ * does not grow with the number of lines beyond the samples of the index, which makes it fit for viewing huge logs.
+ * Lines are found by scanning from the nearest sample, lines read in order are found from the previous one.
+ * Every attempt to change the content throws UnsupportedOperationException.
+ *
+ * @author Lukas Pecak
+ */
+public class SampledTextContent implements DocumentContent {
+
+    private final MappedFile file;
+    private final SampledLineIndex index;
+    private final LineBreak lineBreak;
+    private final List<byte[]> lines = new SampledLines();
+    private final DirtyLines unchangedLines = new DirtyLines();
+
+    SampledTextContent(MappedFile file) {
+        this(file, file != null ? new SampledLineIndex(file) : null);
+    }
+
+    /**
+     * @param file Mapped file
+     * @param index Sampled line index of the file
+     */
+    SampledTextContent(MappedFile file, SampledLineIndex index) {
+        if (file == null || index == null) {
+            throw new IllegalArgumentException("Cannot initialize a document without a mapped file");
+        }
+        this.file = file;
+        this.index = index;
+        LineBreak detectedLineBreak = index.getLineBreak();
+        lineBreak = detectedLineBreak != UNDEFINED_LINE_BREAK ? detectedLineBreak : systemDefaultLineBreak();
+    }
+
+    @Override
+    public byte[] getBytes() {
+        if (file.size() > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Content of " + file.size() + " bytes cannot be represented as byte array");
+        }
+        byte[] bytes = new byte[(int) file.size()];
+        file.get(0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return writeRange(channel, 0, file.size());
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel, int startIndex, int endIndex) throws IOException {
+        if (startIndex >= endIndex) {
+            return 0;
+        }
+        long end = index.getLineEnd(endIndex - 1, index.getLineStart(endIndex - 1));
+        return writeRange(channel, index.getLineStart(startIndex), end);
+    }
+
+    /**
+     * Method to write a range of the file. The range is written in chunks ending at region boundaries, so every
+     * chunk is a view of a single mapped region and nothing is copied to the heap
+     */
+    private long writeRange(WritableByteChannel channel, long from, long to) throws IOException {
+        long bytesWritten = 0;
+        long chunkEnd;
+        for (long position = from; position < to; position = chunkEnd) {
+            chunkEnd = Math.min(to, file.getRegionStart(file.getRegionIndex(position) + 1));
+            ByteBuffer chunk = file.slice(position, (int) (chunkEnd - position));
+            while (chunk.hasRemaining()) {
+                bytesWritten += channel.write(chunk);
+            }
+        }
+        return bytesWritten;
+    }
+
+    @Override
+    public long getLineOffset(int lineIndex) {
+        return lineIndex == index.getNumberOfLines() ? file.size() : index.getLineStart(lineIndex);
+    }
+
+    @Override
+    public DirtyLines getDirtyLines() {
+        return unchangedLines;
+    }
+
+    @Override
+    public List<byte[]> getLines() {
+        return lines;
+    }
+
+    @Override
+    public int getNumberOfLines() {
+        return index.getNumberOfLines();
+    }
+
+    @Override
+    public LineBreak getLineBreak() {
+        return lineBreak;
+    }
+
+    @Override
+    public void setLineBreak(LineBreak lineBreak) {
+        throw new UnsupportedOperationException("Cannot change the line break of a read only content");
+    }
+
+    @Override
+    public LineRange getLineRange(int startIndex, int endIndex) {
+        return new LineRange(lines.subList(startIndex, endIndex), startIndex, endIndex);
+    }
+
+    @Override
+    public LineRange getLineRangeAll() {
+        return new LineRange(lines, 0, lines.size());
+    }
+
+    private class SampledLines extends AbstractList<byte[]> implements RandomAccess {
+
+        @Override
+        public byte[] get(int lineIndex) {
+            long start = index.getLineStart(lineIndex);
+            byte[] line = new byte[(int) (index.getLineEnd(lineIndex, start) - start)];
+            file.get(start, line, 0, line.length);
+            return line;
+        }
+
+        @Override
+        public int size() {
+            return index.getNumberOfLines();
+        }
+    }
+}
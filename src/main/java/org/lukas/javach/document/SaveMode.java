@@ -0,0 +1,28 @@
+package org.lukas.javach.document;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * The way a {@link DocumentSaver} wrote a document to the disk.
+ *
+ * @author Lukas Pecak
+ */
+public enum SaveMode {
+
+    /**
+     * The whole content was written to a temporary file which replaced the target atomically
+     */
+    ATOMIC_REWRITE,
+
+    /**
+     * The content was written over the target starting at the first changed line, the unchanged part before it
+     * was left in place. Not atomic, a crash during the save leaves the file partially written
+     */
+    IN_PLACE_SUFFIX,
+
+    /**
+     * Only the changed lines were written over the target, all of them kept their length. Not atomic, a crash
+     * during the save leaves the file partially written
+     */
+    IN_PLACE_PATCH
+}
@@ -0,0 +1,70 @@
+package org.lukas.javach.document;
+
+import java.time.Duration;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Latency of a single save split into its phases, used to choose the {@link FsyncPolicy}.
+ *
+ * @author Lukas Pecak
+ */
+public class SaveReport {
+
+    private final SaveMode saveMode;
+    private final FsyncPolicy fsyncPolicy;
+    private final long bytesWritten;
+    private final Duration writeTime;
+    private final Duration syncTime;
+    private final Duration renameTime;
+
+    SaveReport(SaveMode saveMode, FsyncPolicy fsyncPolicy, long bytesWritten, Duration writeTime, Duration syncTime,
+               Duration renameTime) {
+        this.saveMode = saveMode;
+        this.fsyncPolicy = fsyncPolicy;
+        this.bytesWritten = bytesWritten;
+        this.writeTime = writeTime;
+        this.syncTime = syncTime;
+        this.renameTime = renameTime;
+    }
+
+    public SaveMode getSaveMode() {
+        return saveMode;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public Duration getWriteTime() {
+        return writeTime;
+    }
+
+    public Duration getSyncTime() {
+        return syncTime;
+    }
+
+    public Duration getRenameTime() {
+        return renameTime;
+    }
+
+    public Duration getTotalTime() {
+        return writeTime.plus(syncTime).plus(renameTime);
+    }
+
+    @Override
+    public String toString() {
+        return "SaveReport{" +
+                "saveMode=" + saveMode +
+                ", fsyncPolicy=" + fsyncPolicy +
+                ", bytesWritten=" + bytesWritten +
+                ", writeTime=" + writeTime.toMillis() + "ms" +
+                ", syncTime=" + syncTime.toMillis() + "ms" +
+                ", renameTime=" + renameTime.toMillis() + "ms" +
+                '}';
+    }
+}
@@ -0,0 +1,242 @@
+package org.lukas.javach.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Follows a growing file like tail -f. Only the bytes appended to the file since the last poll are read, split
+ * into lines and appended to the content, the lines already in the content are never parsed again. The last line
+ * of the content is extended while it is not terminated by a line break. A file which got shorter was truncated,
+ * a file with another file key, or creation time where the file system has no keys, was replaced. Both are read
+ * again from their start. A carriage return ending the file is held back until the next poll shows whether a line
+ * feed follows it, if none does and the file has no other line break yet, it is an old Mac line break.
+ * <p>
+ * Lines appended by the follower mirror the file, so they are not reported as changes of a content which was
+ * not modified before. They are reported to the given listener instead, so an editor the content is open in keeps
+ * its line range and indexes up to date.
+ *
+ * @author Lukas Pecak
+ */
+public class TailFollower {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TailFollower.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final byte CARRIAGE_RETURN = 0x0D;
+
+    private final Path path;
+    private final DocumentContent content;
+    private final LineChangeListener listener;
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private AppendSplitter splitter;
+    private boolean trailingCarriageReturn;
+    private long position;
+    private Object fileIdentity;
+    private int rereadCount;
+
+    /**
+     * @param path Path of the followed file
+     * @param content Content with the lines of the file up to the position
+     * @param position Number of bytes of the file already in the content
+     */
+    public TailFollower(Path path, DocumentContent content, long position) {
+        this(path, content, position, LineChangeListener.NONE);
+    }
+
+    /**
+     * @param path Path of the followed file
+     * @param content Content with the lines of the file up to the position
+     * @param position Number of bytes of the file already in the content
+     * @param listener Listener notified about every line the follower adds, extends or removes, e.g. the one of
+     *                 the editor the content is open in
+     */
+    public TailFollower(Path path, DocumentContent content, long position, LineChangeListener listener) {
+        if (path == null || content == null || listener == null) {
+            throw new IllegalArgumentException("Cannot follow a file without path, content or listener");
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+        this.path = path;
+        this.content = content;
+        this.listener = listener;
+        this.position = position;
+        // A content of a single line has no detected line break, it is detected from the appended bytes then
+        LineBreak lineBreak = content.getNumberOfLines() > 1 ? content.getLineBreak() : UNDEFINED_LINE_BREAK;
+        splitter = new AppendSplitter(lineBreak);
+        // A carriage return ending the file may be the first half of a CRLF which is not completely written yet
+        trailingCarriageReturn = (lineBreak == WINDOWS_LINE_BREAK || lineBreak == UNDEFINED_LINE_BREAK)
+                && endsWithCarriageReturn(content.getLines());
+        try {
+            fileIdentity = identify(Files.readAttributes(path, BasicFileAttributes.class));
+        } catch (IOException e) {
+            LOG.debug("Cannot identify file {}, a replacement is detected from the next poll on", path);
+        }
+    }
+
+    /**
+     * Method to get an identity of the file which changes when the file is replaced by another one. The creation
+     * time is used only without a file key, where it is usually kept by the file system and not set to the time
+     * of the last modification
+     */
+    private static Object identify(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return fileKey != null ? fileKey : attributes.creationTime();
+    }
+
+    private static boolean endsWithCarriageReturn(List<byte[]> lines) {
+        if (lines.isEmpty()) {
+            return false;
+        }
+        byte[] lastLine = lines.get(lines.size() - 1);
+        return lastLine.length > 0 && lastLine[lastLine.length - 1] == CARRIAGE_RETURN;
+    }
+
+    /**
+     * @return Number of bytes of the file read into the content
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return Number of times the file was truncated or replaced and the content was read again from its start
+     */
+    public int getRereadCount() {
+        return rereadCount;
+    }
+
+    /**
+     * Method to append the bytes written to the file since the last poll to the content
+     * @return Number of lines added to the content, the last line may have been extended even if it is zero
+     * @throws IOException when the file cannot be read
+     */
+    public int poll() throws IOException {
+        boolean modified = content.getDirtyLines().isModified();
+        int numberOfLines = content.getNumberOfLines();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Object identity = identify(Files.readAttributes(path, BasicFileAttributes.class));
+            boolean replaced = fileIdentity != null && !fileIdentity.equals(identity);
+            fileIdentity = identity;
+            if (replaced || channel.size() < position) {
+                LOG.info("File {} was {}, reading it again", path, replaced ? "replaced" : "truncated");
+                content.getLines().clear();
+                if (numberOfLines > 0) {
+                    listener.linesRemoved(0, numberOfLines);
+                }
+                splitter = new AppendSplitter(UNDEFINED_LINE_BREAK);
+                trailingCarriageReturn = false;
+                position = 0;
+                numberOfLines = 0;
+                rereadCount++;
+            }
+            channel.position(position);
+            long previousPosition = position;
+            int read;
+            while ((read = channel.read(buffer)) > 0) {
+                if (trailingCarriageReturn) {
+                    holdBackTrailingCarriageReturn();
+                }
+                append(splitter.split(buffer.array(), read));
+                position += read;
+                buffer.clear();
+            }
+            // A carriage return still alone after a poll without new bytes is an old Mac line break
+            if (position == previousPosition && splitter.flushCarriageReturn()) {
+                append(Arrays.asList(new byte[0], new byte[0]));
+            }
+        }
+        if (!modified) {
+            content.getDirtyLines().clear();
+        }
+        return content.getNumberOfLines() - numberOfLines;
+    }
+
+    /**
+     * Method to move the carriage return ending the content into the splitter, which decides together with the
+     * appended bytes whether it is a line break. The content is changed only once bytes were appended to the file
+     */
+    private void holdBackTrailingCarriageReturn() {
+        trailingCarriageReturn = false;
+        List<byte[]> lines = content.getLines();
+        int last = lines.size() - 1;
+        byte[] lastLine = lines.get(last);
+        lines.set(last, Arrays.copyOf(lastLine, lastLine.length - 1));
+        listener.lineUpdated(last);
+        splitter.split(new byte[]{CARRIAGE_RETURN}, 1);
+    }
+
+    private void append(List<byte[]> segments) {
+        List<byte[]> lines = content.getLines();
+        byte[] continuation = segments.get(0);
+        if (lines.isEmpty()) {
+            lines.add(continuation);
+            listener.linesInserted(0, 1);
+        } else if (continuation.length > 0) {
+            int last = lines.size() - 1;
+            byte[] lastLine = lines.get(last);
+            byte[] line = new byte[lastLine.length + continuation.length];
+            System.arraycopy(lastLine, 0, line, 0, lastLine.length);
+            System.arraycopy(continuation, 0, line, lastLine.length, continuation.length);
+            lines.set(last, line);
+            listener.lineUpdated(last);
+        }
+        if (segments.size() > 1) {
+            int index = lines.size();
+            lines.addAll(segments.subList(1, segments.size()));
+            listener.linesInserted(index, segments.size() - 1);
+        }
+        LineBreak lineBreak = splitter.getLineBreak();
+        if (lineBreak != UNDEFINED_LINE_BREAK && lineBreak != content.getLineBreak()) {
+            content.setLineBreak(lineBreak);
+        }
+    }
+
+    /**
+     * Method to follow the file until the thread is interrupted. The directory of the file is watched for changes,
+     * the file is also polled in the given interval because not every file system reports changes
+     * @param pollInterval Longest time between two polls
+     * @param onAppend Action run after lines were added to the content or its last line was extended
+     * @throws IOException when the file cannot be read or watched
+     * @throws InterruptedException when the thread was interrupted
+     */
+    public void follow(Duration pollInterval, Runnable onAppend) throws IOException, InterruptedException {
+        Path directory = path.toAbsolutePath().getParent();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            while (!Thread.interrupted()) {
+                long previousPosition = position;
+                if (poll() > 0 || position != previousPosition) {
+                    onAppend.run();
+                }
+                WatchKey key = watchService.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+            throw new InterruptedException("Following " + path + " was interrupted");
+        }
+    }
+}
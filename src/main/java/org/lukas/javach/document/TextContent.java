@@ -1,28 +1,53 @@
 package org.lukas.javach.document;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 import java.util.List;
 
-import static org.lukas.javach.document.LineBreak.isKnownLineBreak;
-import static org.lukas.javach.document.LineBreak.resolveLineBreak;
+import static org.lukas.javach.document.LineBreak.*;
 
 /**
  * Created by Lukas on 28.07.2019.
  *
+ * <p>
+ * The content keeps the loaded array of bytes together with the start offsets of its lines. A line is copied
+ * out of the array only when it is requested through {@link #getLines()} or {@link #getLineRange(int, int)}.
+ * Lines are kept in a {@link LineTree}, so structural edits do not shift or copy the whole list.
+ *
  * @author Lukas Pecak
  */
 public class TextContent implements DocumentContent {
 
-    private final List<byte[]> lines;
+    private static final Logger LOG = LoggerFactory.getLogger(TextContent.class);
+
+    private final byte[] bytes;
+    private final int[] lineStarts;
+    private final int lineBreakLength;
+    private final LineBreakStatistics lineBreakStatistics;
+    private final LineTree lines;
     private LineBreak lineBreak;
 
     TextContent(byte[] bytes) {
         if (bytes == null) {
             throw new IllegalArgumentException("Cannot initialize a document with a null array of bytes");
         }
-        lineBreak = resolveLineBreak(bytes);
-        lines = new LineSplitter().split(bytes, lineBreak);
+        this.bytes = bytes;
+        LineSplitter lineSplitter = new LineSplitter();
+        lineStarts = lineSplitter.findLineStarts(bytes);
+        LineBreak detectedLineBreak = lineSplitter.getLineBreak();
+        lineBreak = detectedLineBreak != UNDEFINED_LINE_BREAK ? detectedLineBreak : systemDefaultLineBreak();
+        lineBreakLength = detectedLineBreak.getBytes().length;
+        lineBreakStatistics = lineSplitter.getLineBreakStatistics();
+        if (lineBreakStatistics.isMixed()) {
+            LOG.warn("Content contains mixed line breaks ({}), lines are split by {}", lineBreakStatistics, lineBreak);
+        }
+        lines = new LineTree(new TextLineSource());
     }
 
     @Override
@@ -45,10 +70,40 @@ public class TextContent implements DocumentContent {
         }
     }
 
+    @Override
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return writeTo(channel, 0, lines.size());
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel channel, int startIndex, int endIndex) throws IOException {
+        return lines.writeTo(channel, lineBreak.getBytes(), startIndex, endIndex);
+    }
+
+    @Override
+    public long getLineOffset(int index) {
+        int lineBreakLength = lineBreak.getBytes().length;
+        long offset = lines.lengthBefore(index) + (long) index * lineBreakLength;
+        return index > 0 && index == lines.size() ? offset - lineBreakLength : offset;
+    }
+
+    @Override
+    public DirtyLines getDirtyLines() {
+        return lines.getDirtyLines();
+    }
+
     private boolean isLastLine(int i) {
         return i == lines.size() - 1;
     }
 
+    /**
+     * Method to get the counts of all kinds of line breaks found when the content was loaded
+     * @return Line break histogram of the loaded content
+     */
+    public LineBreakStatistics getLineBreakStatistics() {
+        return lineBreakStatistics;
+    }
+
     @Override
     public LineBreak getLineBreak() {
         return lineBreak;
@@ -59,6 +114,11 @@ public class TextContent implements DocumentContent {
         return lines.size();
     }
 
+    @Override
+    public int copyLine(int index, ByteBuffer target) {
+        return lines.copyLine(index, target);
+    }
+
     @Override
     public List<byte[]> getLines() {
         return lines;
@@ -69,6 +129,9 @@ public class TextContent implements DocumentContent {
         if (!isKnownLineBreak(lineBreak)) {
             throw new IllegalArgumentException("Tried to set null value as line break");
         }
+        if (lineBreak != this.lineBreak) {
+            lines.getDirtyLines().allLinesChanged();
+        }
         this.lineBreak = lineBreak;
     }
 
@@ -79,6 +142,44 @@ public class TextContent implements DocumentContent {
 
     @Override
     public LineRange getLineRangeAll() {
-        return getLineRange(0, lines.size());
+        return new LineRange(lines, 0, lines.size());
+    }
+
+    private class TextLineSource implements LineSource {
+
+        @Override
+        public int getNumberOfLines() {
+            return lineStarts.length;
+        }
+
+        @Override
+        public byte[] readLine(int index) {
+            return Arrays.copyOfRange(bytes, lineStarts[index], lineEnd(index));
+        }
+
+        @Override
+        public ByteBuffer readLineBuffer(int index) {
+            return ByteBuffer.wrap(bytes, lineStarts[index], lineEnd(index) - lineStarts[index]);
+        }
+
+        @Override
+        public int copyLine(int index, ByteBuffer target) {
+            int length = lineEnd(index) - lineStarts[index];
+            target.put(bytes, lineStarts[index], length);
+            return length;
+        }
+
+        @Override
+        public long getLength(int startIndex, int endIndex) {
+            if (startIndex >= endIndex) {
+                return 0;
+            }
+            long lineBreaks = (long) (endIndex - startIndex - 1) * lineBreakLength;
+            return lineEnd(endIndex - 1) - lineStarts[startIndex] - lineBreaks;
+        }
+
+        private int lineEnd(int index) {
+            return index + 1 < lineStarts.length ? lineStarts[index + 1] - lineBreakLength : bytes.length;
+        }
     }
 }
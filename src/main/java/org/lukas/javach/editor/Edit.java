@@ -0,0 +1,94 @@
+package org.lukas.javach.editor;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Single operation of a batch applied by {@link Editor#applyBatch(java.util.List)}. The index of every edit of a
+ * batch refers to the lines as they were before the batch, edits do not shift the indexes of each other.
+ *
+ * @author Lukas Pecak
+ */
+public final class Edit {
+
+    public enum Type {
+        UPDATE,
+        INSERT,
+        DELETE
+    }
+
+    private final Type type;
+    private final int index;
+    private final byte[] line;
+
+    private Edit(Type type, int index, byte[] line) {
+        this.type = type;
+        this.index = index;
+        this.line = line;
+    }
+
+    /**
+     * Method to create an edit replacing a line
+     * @param index Index of the replaced line
+     * @param line New value of the line
+     * @return Edit of the line
+     */
+    public static Edit updateLine(int index, String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("The new value of line cannot be null value");
+        }
+        return new Edit(Type.UPDATE, index, line.getBytes());
+    }
+
+    /**
+     * Method to create an edit replacing a line with bytes which are already encoded
+     * @param index Index of the replaced line
+     * @param line New bytes of the line without line break, the array must not be changed afterwards
+     * @return Edit of the line
+     */
+    public static Edit updateLine(int index, byte[] line) {
+        if (line == null) {
+            throw new IllegalArgumentException("The new value of line cannot be null value");
+        }
+        return new Edit(Type.UPDATE, index, line);
+    }
+
+    /**
+     * Method to create an edit inserting a line before the line with the index. Lines inserted at the same index
+     * keep their order in the batch
+     * @param index Index of the line the new line is inserted before, the number of lines to append it
+     * @param line Inserted line
+     * @return Edit of the line
+     */
+    public static Edit insertLine(int index, String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("The inserted line cannot be null value");
+        }
+        return new Edit(Type.INSERT, index, line.getBytes());
+    }
+
+    /**
+     * Method to create an edit deleting a line
+     * @param index Index of the deleted line
+     * @return Edit of the line
+     */
+    public static Edit deleteLine(int index) {
+        return new Edit(Type.DELETE, index, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    byte[] getLine() {
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return "Edit{" + type + " at " + index + "}";
+    }
+}
@@ -1,12 +1,29 @@
 package org.lukas.javach.editor;
 
 import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.LineChangeListener;
 import org.lukas.javach.document.LineRange;
 import org.lukas.javach.exception.NoContentOpenException;
+import org.lukas.javach.search.ByteSearcher;
+import org.lukas.javach.search.LineReplacement;
+import org.lukas.javach.search.RegexSearcher;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created by Lukas on 14.08.2019.
@@ -17,15 +34,71 @@ public class Editor {
 
     private static final byte[] EMPTY_LINE = new byte[0];
 
+    private static final int INITIAL_LINE_BUFFER_SIZE = 256;
+
+    private final UndoJournal undoJournal;
+    private final List<LineChangeListener> lineChangeListeners = new CopyOnWriteArrayList<>();
+    private final LineChangeListener lineChangeNotifier = new LineChangeNotifier();
+    private final LineChangeListener externalChangeHandler = new ExternalChangeHandler();
+    private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer lineBuffer = ByteBuffer.allocate(INITIAL_LINE_BUFFER_SIZE);
     private DocumentContent content;
     private LineRange currentLineRange;
 
+    public Editor() {
+        this(UndoJournal.DEFAULT_MEMORY_LIMIT);
+    }
+
+    /**
+     * @param undoMemoryLimit Estimated number of bytes the undo history may use, the oldest edits are forgotten
+     *                        when it is exceeded
+     */
+    public Editor(long undoMemoryLimit) {
+        undoJournal = new UndoJournal(undoMemoryLimit);
+    }
+
+    /**
+     * Method to open a content in the editor. The undo history and the line change listeners belong to the content
+     * opened before and are dropped, an index of the new content has to be registered again
+     * @param content Content to edit
+     */
     public void openContent(DocumentContent content) {
         if (content == null) {
             throw new IllegalArgumentException("The provided content cannot be null");
         }
         this.content = content;
         currentLineRange = content.getLineRangeAll();
+        undoJournal.clear();
+        lineChangeListeners.clear();
+    }
+
+    /**
+     * Method to register a listener notified about every change of the lines of the open content, e.g. to keep an
+     * index of the lines up to date. The listener is dropped when another content is opened
+     * @param listener Listener to register
+     */
+    public void addLineChangeListener(LineChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null");
+        }
+        lineChangeListeners.add(listener);
+    }
+
+    public void removeLineChangeListener(LineChangeListener listener) {
+        lineChangeListeners.remove(listener);
+    }
+
+    /**
+     * Method to get the listener to which changes of the open content made outside of the editor are reported, e.g.
+     * lines appended by a {@link org.lukas.javach.document.TailFollower}. The current line range becomes the whole
+     * content, the registered listeners are notified. Lines appended at the end keep the undo history, any other
+     * change clears it because the recorded lines no longer match the content
+     * @return Listener of external changes of the open content
+     */
+    public LineChangeListener getExternalChangeListener() {
+        return externalChangeHandler;
     }
 
     public String readLine(int lineNumber) {
@@ -54,6 +127,96 @@ public class Editor {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Method to read lines of the current line range for rendering a viewport. Unlike readLine() the current line
+     * range is not changed and no LineRange, String or array is created per line: every line is copied into a
+     * buffer reused for all lines and passed to the sink
+     * @param startIndex Index of the first line in the current line range
+     * @param count Maximal number of lines to read
+     * @param sink Receiver of the lines
+     * @return Number of lines read, smaller than count when the line range ends before
+     */
+    public int readLines(int startIndex, int count, LineSink sink) {
+        int endIndex = validateViewport(startIndex, count);
+        for (int i = startIndex; i < endIndex; i++) {
+            sink.acceptLine(i, copyLine(i));
+        }
+        return endIndex - startIndex;
+    }
+
+    /**
+     * Method to read lines of the current line range into a character buffer for rendering a viewport. The lines
+     * are decoded one after another into the buffer with the platform charset, like readLine() does, and the
+     * position in the buffer after every line is stored in lineEnds. No String is created
+     * @param startIndex Index of the first line in the current line range
+     * @param count Maximal number of lines to read
+     * @param target Buffer the lines are decoded to
+     * @param lineEnds Array receiving the position in the target after each line, at least count long
+     * @return Number of lines read, smaller than count when the line range ends or the target is full before. A line
+     * which does not fit into the target is not read
+     */
+    public int readLines(int startIndex, int count, CharBuffer target, int[] lineEnds) {
+        int endIndex = validateViewport(startIndex, count);
+        if (lineEnds.length < endIndex - startIndex) {
+            throw new IllegalArgumentException("Line ends cannot hold " + (endIndex - startIndex) + " lines");
+        }
+        for (int i = startIndex; i < endIndex; i++) {
+            int lineStart = target.position();
+            decoder.reset();
+            ByteBuffer line = copyLine(i);
+            if (decoder.decode(line, target, true).isOverflow() || decoder.flush(target).isOverflow()) {
+                target.position(lineStart);
+                return i - startIndex;
+            }
+            lineEnds[i - startIndex] = target.position();
+        }
+        return endIndex - startIndex;
+    }
+
+    private int validateViewport(int startIndex, int count) {
+        validateContentState();
+        if (startIndex < 0 || count < 0) {
+            throw new IllegalArgumentException("Start index and count of lines cannot be less then zero");
+        }
+        return (int) Math.min((long) startIndex + count, currentLineRange.size());
+    }
+
+    private ByteBuffer copyLine(int index) {
+        int contentIndex = toContentIndex(index);
+        while (true) {
+            lineBuffer.clear();
+            try {
+                content.copyLine(contentIndex, lineBuffer);
+                lineBuffer.flip();
+                return lineBuffer;
+            } catch (BufferOverflowException e) {
+                lineBuffer = ByteBuffer.allocate(lineBuffer.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Method to stream the lines of the current line range without copying them into a list first. A line is read
+     * from the content and converted to a String only when the stream consumes it. The stream is sized by the
+     * number of lines when it is created and splits evenly for parallel processing. The content must not be
+     * changed while the stream is consumed
+     * @return Stream of the lines
+     */
+    public Stream<String> lines() {
+        return rawLines().map(String::new);
+    }
+
+    /**
+     * Method to stream the lines of the current line range as bytes, without the line breaks. Like lines(), but
+     * without converting them to Strings
+     * @return Stream of the lines as byte arrays
+     */
+    public Stream<byte[]> rawLines() {
+        validateContentState();
+        List<byte[]> lines = currentLineRange.getLines();
+        return StreamSupport.stream(new LineSpliterator(lines, 0, lines.size()), false);
+    }
+
     private void validateContentState() {
         if (content == null) {
             throw new NoContentOpenException("No content is open in editor");
@@ -65,44 +228,45 @@ public class Editor {
         return currentLineRange;
     }
 
+    /**
+     * Method to check if the open content was changed since it was loaded or last saved
+     * @return true if any line was changed, inserted or removed
+     */
+    public boolean isModified() {
+        validateContentState();
+        return content.getDirtyLines().isModified();
+    }
+
     public void updateLine(int lineIndex, String line) {
         if (line == null) {
             throw new IllegalArgumentException("The new value of line cannot be null value");
         }
-        currentLineRange.getLines().set(lineIndex, line.getBytes());
+        byte[] newLine = line.getBytes();
+        byte[] oldLine = currentLineRange.getLines().set(lineIndex, newLine);
+        undoJournal.lineUpdated(toContentIndex(lineIndex), oldLine, newLine);
+        lineChangeNotifier.lineUpdated(toContentIndex(lineIndex));
     }
 
     public void addLineAtIndex(int index, String newLine) {
-        if (index <= currentLineRange.getLines().size()) {
-            currentLineRange = new LineRange(currentLineRange, insertLineInExistingRange(index, newLine));
-        } else {
-            currentLineRange = new LineRange(currentLineRange, insertLineOutsideOfTheExistingLineRange(index, newLine));
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be less then zero");
         }
-    }
-
-    private List<byte[]> insertLineInExistingRange(int index, String newLine) {
         List<byte[]> lines = currentLineRange.getLines();
-        List<byte[]> result = new ArrayList<>(lines.subList(0, index));
-        result.add(newLine.getBytes());
-        result.addAll(lines.subList(index, lines.size()));
-        return result;
-    }
-
-    private List<byte[]> insertLineOutsideOfTheExistingLineRange(int index, String newLine) {
-        List<byte[]> lines = currentLineRange.getLines();
-        List<byte[]> result = new ArrayList<>(lines.subList(0, lines.size()));
-        for (int i = lines.size(); i < index; i++) {
-            result.add(EMPTY_LINE);
-        }
-        result.add(newLine.getBytes());
-        return result;
+        int insertionIndex = Math.min(index, lines.size());
+        List<byte[]> insertedLines = new ArrayList<>(Collections.nCopies(index - insertionIndex, EMPTY_LINE));
+        insertedLines.add(newLine.getBytes());
+        lines.addAll(insertionIndex, insertedLines);
+        undoJournal.linesInserted(toContentIndex(insertionIndex), insertedLines);
+        lineChangeNotifier.linesInserted(toContentIndex(insertionIndex), insertedLines.size());
     }
 
     public void deleteLineAtIndex(int index) {
         if (index < 0 || index >= getCurrentLineRange().size()) {
             throw new IllegalArgumentException("Index cannot be less then zero");
         }
-        getCurrentLineRange().getLines().remove(index);
+        byte[] removedLine = getCurrentLineRange().getLines().remove(index);
+        undoJournal.linesRemoved(toContentIndex(index), Collections.singletonList(removedLine));
+        lineChangeNotifier.linesRemoved(toContentIndex(index), 1);
     }
 
     public void deleteLinesOfRange(int startIndex, int endIndex) {
@@ -110,6 +274,227 @@ public class Editor {
         if (startIndex < 0 || startIndex > endIndex || endIndex > numberOfLines) {
             throw new IllegalArgumentException("Any index cannot be less than zero");
         }
-        getCurrentLineRange().getLines().subList(startIndex, endIndex).clear();
+        List<byte[]> removedLines = getCurrentLineRange().getLines().subList(startIndex, endIndex);
+        undoJournal.linesRemoved(toContentIndex(startIndex), removedLines);
+        removedLines.clear();
+        if (endIndex > startIndex) {
+            lineChangeNotifier.linesRemoved(toContentIndex(startIndex), endIndex - startIndex);
+        }
+    }
+
+    /**
+     * Method to apply a batch of edits. The indexes of all edits refer to the current line range before the batch,
+     * so the edits do not shift each other. The edits are validated before any of them is applied and then applied
+     * from the last line to the first, every line is touched once. The batch is undone in a single step
+     * @param edits Edits to apply, lines inserted at the same index keep their order
+     */
+    public void applyBatch(List<Edit> edits) {
+        validateContentState();
+        if (edits == null) {
+            throw new IllegalArgumentException("The batch of edits cannot be null");
+        }
+        List<Edit> sortedEdits = new ArrayList<>(edits);
+        sortedEdits.sort(Comparator.comparingInt(Edit::getIndex));
+        validateBatch(sortedEdits);
+        List<byte[]> lines = currentLineRange.getLines();
+        undoJournal.beginBatch();
+        try {
+            int end = sortedEdits.size();
+            while (end > 0) {
+                int index = sortedEdits.get(end - 1).getIndex();
+                int start = end - 1;
+                while (start > 0 && sortedEdits.get(start - 1).getIndex() == index) {
+                    start--;
+                }
+                applyEditsOfLine(lines, index, sortedEdits.subList(start, end));
+                end = start;
+            }
+        } finally {
+            undoJournal.endBatch();
+        }
+    }
+
+    /**
+     * Method to replace every occurrence of a text in the content. Lines are searched in parallel on their bytes,
+     * new bytes are created only for lines with an occurrence and all of them are applied as a single batch. The
+     * current line range is the whole content afterwards. Texts are encoded with the platform charset, which can
+     * be any charset
+     * @param target Replaced text
+     * @param replacement Text inserted instead of every occurrence
+     * @return Number of changed lines
+     */
+    public int replaceAll(String target, String replacement) {
+        if (target == null || target.isEmpty() || replacement == null) {
+            throw new IllegalArgumentException("The replaced text cannot be empty and replacement cannot be null");
+        }
+        validateContentState();
+        return applyReplacements(new ByteSearcher(target, false).replaceAll(content, replacement.getBytes()));
+    }
+
+    /**
+     * Method to replace every match of a regular expression in the content, like replaceAll(target, replacement).
+     * Lines are read with the platform charset like readLine() reads them
+     * @param pattern Regular expression, a match never spans a line break
+     * @param replacement Replacement which may refer to groups like {@link Matcher#replaceAll(String)}
+     * @return Number of changed lines
+     */
+    public int replaceAll(Pattern pattern, String replacement) {
+        validateContentState();
+        if (pattern == null || replacement == null) {
+            throw new IllegalArgumentException("The pattern and replacement cannot be null");
+        }
+        return applyReplacements(new RegexSearcher(pattern, Charset.defaultCharset()).replaceAll(content, replacement));
+    }
+
+    private int applyReplacements(List<LineReplacement> replacements) {
+        currentLineRange = content.getLineRangeAll();
+        if (!replacements.isEmpty()) {
+            List<Edit> edits = new ArrayList<>(replacements.size());
+            for (LineReplacement replacement : replacements) {
+                edits.add(Edit.updateLine(replacement.getIndex(), replacement.getLine()));
+            }
+            applyBatch(edits);
+        }
+        return replacements.size();
+    }
+
+    private void validateBatch(List<Edit> sortedEdits) {
+        int numberOfLines = currentLineRange.size();
+        int lastEditedLine = -1;
+        for (Edit edit : sortedEdits) {
+            if (edit == null) {
+                throw new IllegalArgumentException("The batch cannot contain null edit");
+            }
+            int index = edit.getIndex();
+            boolean insert = edit.getType() == Edit.Type.INSERT;
+            if (index < 0 || index > numberOfLines || !insert && index == numberOfLines) {
+                throw new IllegalArgumentException("Index of " + edit + " is out of the line range");
+            }
+            if (!insert) {
+                if (index == lastEditedLine) {
+                    throw new IllegalArgumentException("The batch contains more than one update or delete of line "
+                            + index);
+                }
+                lastEditedLine = index;
+            }
+        }
+    }
+
+    private void applyEditsOfLine(List<byte[]> lines, int index, List<Edit> editsOfLine) {
+        List<byte[]> insertedLines = new ArrayList<>();
+        for (Edit edit : editsOfLine) {
+            if (edit.getType() == Edit.Type.UPDATE) {
+                byte[] oldLine = lines.set(index, edit.getLine());
+                undoJournal.lineUpdated(toContentIndex(index), oldLine, edit.getLine());
+                lineChangeNotifier.lineUpdated(toContentIndex(index));
+            } else if (edit.getType() == Edit.Type.DELETE) {
+                byte[] removedLine = lines.remove(index);
+                undoJournal.linesRemoved(toContentIndex(index), Collections.singletonList(removedLine));
+                lineChangeNotifier.linesRemoved(toContentIndex(index), 1);
+            } else {
+                insertedLines.add(edit.getLine());
+            }
+        }
+        if (!insertedLines.isEmpty()) {
+            lines.addAll(index, insertedLines);
+            undoJournal.linesInserted(toContentIndex(index), insertedLines);
+            lineChangeNotifier.linesInserted(toContentIndex(index), insertedLines.size());
+        }
+    }
+
+    private int toContentIndex(int index) {
+        return currentLineRange.getStartIndex() + index;
+    }
+
+    public boolean canUndo() {
+        return content != null && undoJournal.canUndo();
+    }
+
+    public boolean canRedo() {
+        return content != null && undoJournal.canRedo();
+    }
+
+    /**
+     * Method to revert the last edit. Consecutive edits of the same line are reverted together. The current line
+     * range is the whole content afterwards
+     * @return true if an edit was reverted, false if there is nothing to undo
+     */
+    public boolean undo() {
+        validateContentState();
+        if (undoJournal.undo(content.getLines(), lineChangeNotifier) < 0) {
+            return false;
+        }
+        currentLineRange = content.getLineRangeAll();
+        return true;
+    }
+
+    /**
+     * Method to apply the last reverted edit again. The current line range is the whole content afterwards
+     * @return true if an edit was applied, false if there is nothing to redo
+     */
+    public boolean redo() {
+        validateContentState();
+        if (undoJournal.redo(content.getLines(), lineChangeNotifier) < 0) {
+            return false;
+        }
+        currentLineRange = content.getLineRangeAll();
+        return true;
+    }
+
+    /**
+     * Method to end the current undo step, the next edit is undone separately even if it changes the same line
+     */
+    public void endUndoStep() {
+        undoJournal.endStep();
+    }
+
+    private class ExternalChangeHandler implements LineChangeListener {
+
+        @Override
+        public void lineUpdated(int index) {
+            undoJournal.clear();
+            currentLineRange = content.getLineRangeAll();
+            lineChangeNotifier.lineUpdated(index);
+        }
+
+        @Override
+        public void linesInserted(int index, int count) {
+            if (index + count < content.getNumberOfLines()) {
+                undoJournal.clear();
+            }
+            currentLineRange = content.getLineRangeAll();
+            lineChangeNotifier.linesInserted(index, count);
+        }
+
+        @Override
+        public void linesRemoved(int index, int count) {
+            undoJournal.clear();
+            currentLineRange = content.getLineRangeAll();
+            lineChangeNotifier.linesRemoved(index, count);
+        }
+    }
+
+    private class LineChangeNotifier implements LineChangeListener {
+
+        @Override
+        public void lineUpdated(int index) {
+            for (LineChangeListener listener : lineChangeListeners) {
+                listener.lineUpdated(index);
+            }
+        }
+
+        @Override
+        public void linesInserted(int index, int count) {
+            for (LineChangeListener listener : lineChangeListeners) {
+                listener.linesInserted(index, count);
+            }
+        }
+
+        @Override
+        public void linesRemoved(int index, int count) {
+            for (LineChangeListener listener : lineChangeListeners) {
+                listener.linesRemoved(index, count);
+            }
+        }
     }
 }
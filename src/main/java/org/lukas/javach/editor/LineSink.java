@@ -0,0 +1,21 @@
+package org.lukas.javach.editor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Receiver of the lines read by {@link Editor#readLines(int, int, LineSink)}.
+ *
+ * @author Lukas Pecak
+ */
+@FunctionalInterface
+public interface LineSink {
+
+    /**
+     * Method to receive a line. The buffer is reused for the next line, it is valid only until the method returns
+     * @param index Index of the line in the current line range
+     * @param line Bytes of the line without line break, between position and limit of the buffer
+     */
+    void acceptLine(int index, ByteBuffer line);
+}
@@ -0,0 +1,69 @@
+package org.lukas.javach.editor;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Spliterator over a range of lines of a random access list. Lines are read from the list only when they are
+ * consumed, and the range is split in halves, so a parallel stream gets balanced parts of the lines.
+ *
+ * @author Lukas Pecak
+ */
+class LineSpliterator implements Spliterator<byte[]> {
+
+    private final List<byte[]> lines;
+    private int index;
+    private final int fence;
+
+    /**
+     * @param lines Random access list of the lines
+     * @param index Index of the first line, inclusive
+     * @param fence Index of the last line, exclusive
+     */
+    LineSpliterator(List<byte[]> lines, int index, int fence) {
+        this.lines = lines;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super byte[]> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(lines.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super byte[]> action) {
+        for (int i = index; i < fence; i++) {
+            action.accept(lines.get(i));
+        }
+        index = fence;
+    }
+
+    @Override
+    public Spliterator<byte[]> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (middle <= index) {
+            return null;
+        }
+        LineSpliterator prefix = new LineSpliterator(lines, index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
@@ -0,0 +1,393 @@
+package org.lukas.javach.editor;
+
+import org.lukas.javach.document.LineChangeListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Undo and redo history of the edits of a content. Every edit is recorded as a small delta holding only the lines
+ * it touched, never a copy of the content: an update keeps the old and new line, an insert the inserted lines and a
+ * delete the removed lines. The deltas are limited to a memory budget, the oldest ones are dropped when it is
+ * exceeded. Consecutive updates of the same line and consecutive inserts of adjacent lines are merged into one
+ * delta, so typing into a line or appending lines one by one is undone in a single step. The deltas of a batch
+ * are recorded as a single step.
+ *
+ * @author Lukas Pecak
+ */
+class UndoJournal {
+
+    static final long DEFAULT_MEMORY_LIMIT = 4L * 1024 * 1024;
+
+    private static final long DELTA_OVERHEAD = 48;
+    private static final long LINE_OVERHEAD = 24;
+
+    private final long memoryLimit;
+    private final Deque<Delta> undoDeltas = new ArrayDeque<>();
+    private final Deque<Delta> redoDeltas = new ArrayDeque<>();
+    private long memoryUsed;
+    private boolean mergeable;
+    private List<Delta> batch;
+    private boolean batchOverLimit;
+
+    UndoJournal() {
+        this(DEFAULT_MEMORY_LIMIT);
+    }
+
+    /**
+     * @param memoryLimit Estimated number of bytes the undo and redo deltas may use
+     */
+    UndoJournal(long memoryLimit) {
+        if (memoryLimit < 0) {
+            throw new IllegalArgumentException("Memory limit cannot be negative");
+        }
+        this.memoryLimit = memoryLimit;
+    }
+
+    boolean canUndo() {
+        return !undoDeltas.isEmpty();
+    }
+
+    boolean canRedo() {
+        return !redoDeltas.isEmpty();
+    }
+
+    long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    int getNumberOfUndoSteps() {
+        return undoDeltas.size();
+    }
+
+    void clear() {
+        undoDeltas.clear();
+        redoDeltas.clear();
+        memoryUsed = 0;
+        mergeable = false;
+    }
+
+    void lineUpdated(int index, byte[] oldLine, byte[] newLine) {
+        Delta last = mergeable ? undoDeltas.peekLast() : null;
+        if (last instanceof LineUpdate && ((LineUpdate) last).index == index) {
+            LineUpdate update = (LineUpdate) last;
+            memoryUsed += newLine.length - update.newLine.length;
+            update.newLine = newLine;
+            clearRedo();
+            trimToLimit();
+            return;
+        }
+        record(new LineUpdate(index, oldLine, newLine));
+    }
+
+    void linesInserted(int index, List<byte[]> lines) {
+        Delta last = mergeable ? undoDeltas.peekLast() : null;
+        if (last instanceof LinesInsertion && ((LinesInsertion) last).getEnd() == index) {
+            LinesInsertion insertion = (LinesInsertion) last;
+            insertion.lines.addAll(lines);
+            memoryUsed += sizeOf(lines);
+            clearRedo();
+            trimToLimit();
+            return;
+        }
+        record(new LinesInsertion(index, new ArrayList<>(lines)));
+    }
+
+    /**
+     * Method to record removed lines. The lines are copied only while they fit into the memory limit, a removal
+     * bigger than the limit would be dropped right away together with all older steps, so the history is cleared
+     * without copying the rest of the lines
+     * @param index Index of the first removed line
+     * @param lines Removed lines, read before they are removed from the content
+     */
+    void linesRemoved(int index, List<byte[]> lines) {
+        List<byte[]> removedLines = copyWithinLimit(lines);
+        if (removedLines == null) {
+            forgetAll();
+            return;
+        }
+        record(new LinesRemoval(index, removedLines));
+    }
+
+    private List<byte[]> copyWithinLimit(List<byte[]> lines) {
+        long size = DELTA_OVERHEAD + lines.size() * LINE_OVERHEAD;
+        if (size > memoryLimit) {
+            return null;
+        }
+        List<byte[]> copy = new ArrayList<>(lines.size());
+        for (byte[] line : lines) {
+            size += line.length;
+            if (size > memoryLimit) {
+                return null;
+            }
+            copy.add(line);
+        }
+        return copy;
+    }
+
+    private void forgetAll() {
+        if (batch != null) {
+            batchOverLimit = true;
+            batch.clear();
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Method to start a batch, the edits recorded until the batch ends are undone in a single step
+     */
+    void beginBatch() {
+        batch = new ArrayList<>();
+        batchOverLimit = false;
+        mergeable = false;
+    }
+
+    void endBatch() {
+        List<Delta> deltas = batch;
+        batch = null;
+        if (batchOverLimit) {
+            batchOverLimit = false;
+            clear();
+        } else if (deltas != null && !deltas.isEmpty()) {
+            record(new Batch(deltas));
+        }
+        mergeable = false;
+    }
+
+    /**
+     * Method to end merging of edits, the next edit is recorded as a new undo step
+     */
+    void endStep() {
+        mergeable = false;
+    }
+
+    /**
+     * Method to revert the last edit
+     * @param lines Lines of the content
+     * @return Index of the first line changed by the undo, -1 if there is nothing to undo
+     */
+    int undo(List<byte[]> lines) {
+        return undo(lines, LineChangeListener.NONE);
+    }
+
+    /**
+     * Method to revert the last edit
+     * @param lines Lines of the content
+     * @param listener Receiver of the line changes made by the undo
+     * @return Index of the first line changed by the undo, -1 if there is nothing to undo
+     */
+    int undo(List<byte[]> lines, LineChangeListener listener) {
+        Delta delta = undoDeltas.pollLast();
+        if (delta == null) {
+            return -1;
+        }
+        delta.revert(lines, listener);
+        redoDeltas.addLast(delta);
+        mergeable = false;
+        return delta.index;
+    }
+
+    /**
+     * Method to apply the last reverted edit again
+     * @param lines Lines of the content
+     * @return Index of the first line changed by the redo, -1 if there is nothing to redo
+     */
+    int redo(List<byte[]> lines) {
+        return redo(lines, LineChangeListener.NONE);
+    }
+
+    /**
+     * Method to apply the last reverted edit again
+     * @param lines Lines of the content
+     * @param listener Receiver of the line changes made by the redo
+     * @return Index of the first line changed by the redo, -1 if there is nothing to redo
+     */
+    int redo(List<byte[]> lines, LineChangeListener listener) {
+        Delta delta = redoDeltas.pollLast();
+        if (delta == null) {
+            return -1;
+        }
+        delta.apply(lines, listener);
+        undoDeltas.addLast(delta);
+        mergeable = false;
+        return delta.index;
+    }
+
+    private void record(Delta delta) {
+        if (batch != null) {
+            if (!batchOverLimit) {
+                batch.add(delta);
+            }
+            return;
+        }
+        clearRedo();
+        undoDeltas.addLast(delta);
+        memoryUsed += delta.getSize();
+        mergeable = true;
+        trimToLimit();
+    }
+
+    private void clearRedo() {
+        for (Delta delta : redoDeltas) {
+            memoryUsed -= delta.getSize();
+        }
+        redoDeltas.clear();
+    }
+
+    private void trimToLimit() {
+        while (memoryUsed > memoryLimit && !undoDeltas.isEmpty()) {
+            memoryUsed -= undoDeltas.pollFirst().getSize();
+        }
+        if (undoDeltas.isEmpty()) {
+            mergeable = false;
+        }
+    }
+
+    private static long sizeOf(List<byte[]> lines) {
+        long size = 0;
+        for (byte[] line : lines) {
+            size += LINE_OVERHEAD + line.length;
+        }
+        return size;
+    }
+
+    private abstract static class Delta {
+
+        final int index;
+
+        Delta(int index) {
+            this.index = index;
+        }
+
+        abstract void apply(List<byte[]> lines, LineChangeListener listener);
+
+        abstract void revert(List<byte[]> lines, LineChangeListener listener);
+
+        abstract long getSize();
+    }
+
+    private static class LineUpdate extends Delta {
+
+        private final byte[] oldLine;
+        private byte[] newLine;
+
+        private LineUpdate(int index, byte[] oldLine, byte[] newLine) {
+            super(index);
+            this.oldLine = oldLine;
+            this.newLine = newLine;
+        }
+
+        @Override
+        void apply(List<byte[]> lines, LineChangeListener listener) {
+            lines.set(index, newLine);
+            listener.lineUpdated(index);
+        }
+
+        @Override
+        void revert(List<byte[]> lines, LineChangeListener listener) {
+            lines.set(index, oldLine);
+            listener.lineUpdated(index);
+        }
+
+        @Override
+        long getSize() {
+            return DELTA_OVERHEAD + 2 * LINE_OVERHEAD + oldLine.length + newLine.length;
+        }
+    }
+
+    private static class LinesInsertion extends Delta {
+
+        private final List<byte[]> lines;
+
+        private LinesInsertion(int index, List<byte[]> lines) {
+            super(index);
+            this.lines = lines;
+        }
+
+        private int getEnd() {
+            return index + lines.size();
+        }
+
+        @Override
+        void apply(List<byte[]> contentLines, LineChangeListener listener) {
+            contentLines.addAll(index, lines);
+            listener.linesInserted(index, lines.size());
+        }
+
+        @Override
+        void revert(List<byte[]> contentLines, LineChangeListener listener) {
+            contentLines.subList(index, getEnd()).clear();
+            listener.linesRemoved(index, lines.size());
+        }
+
+        @Override
+        long getSize() {
+            return DELTA_OVERHEAD + sizeOf(lines);
+        }
+    }
+
+    private static class LinesRemoval extends Delta {
+
+        private final List<byte[]> lines;
+
+        private LinesRemoval(int index, List<byte[]> lines) {
+            super(index);
+            this.lines = lines;
+        }
+
+        @Override
+        void apply(List<byte[]> contentLines, LineChangeListener listener) {
+            contentLines.subList(index, index + lines.size()).clear();
+            listener.linesRemoved(index, lines.size());
+        }
+
+        @Override
+        void revert(List<byte[]> contentLines, LineChangeListener listener) {
+            contentLines.addAll(index, lines);
+            listener.linesInserted(index, lines.size());
+        }
+
+        @Override
+        long getSize() {
+            return DELTA_OVERHEAD + sizeOf(lines);
+        }
+    }
+
+    private static class Batch extends Delta {
+
+        private final List<Delta> deltas;
+
+        private Batch(List<Delta> deltas) {
+            super(deltas.get(deltas.size() - 1).index);
+            this.deltas = deltas;
+        }
+
+        @Override
+        void apply(List<byte[]> lines, LineChangeListener listener) {
+            for (Delta delta : deltas) {
+                delta.apply(lines, listener);
+            }
+        }
+
+        @Override
+        void revert(List<byte[]> lines, LineChangeListener listener) {
+            for (int i = deltas.size() - 1; i >= 0; i--) {
+                deltas.get(i).revert(lines, listener);
+            }
+        }
+
+        @Override
+        long getSize() {
+            long size = DELTA_OVERHEAD;
+            for (Delta delta : deltas) {
+                size += delta.getSize();
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.lukas.javach.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Aho-Corasick automaton finding any number of byte patterns in a single pass over a text. The trie of the patterns
+ * is completed to a deterministic automaton with a transition for every byte in every state, so every text byte
+ * costs one array lookup regardless of the number of patterns. A state reached by the end of a pattern reports it,
+ * patterns ending in a suffix of the state are found through output links. Case insensitive automatons fold the
+ * ASCII letters of the patterns and map both cases of a letter to the same transition.
+ * <p>
+ * The automaton is immutable and may be shared by threads.
+ *
+ * @author Lukas Pecak
+ */
+class AhoCorasickAutomaton {
+
+    static final int ROOT = 0;
+    static final int NONE = -1;
+
+    private static final int ALPHABET_SIZE = 256;
+    private static final int INITIAL_CAPACITY = 64;
+    static final int MAX_STATES = (Integer.MAX_VALUE - 8) / ALPHABET_SIZE;
+
+    private final int[] patternLengths;
+    private final int[] nextPatterns;
+    private int[] transitions;
+    private int[] firstPatterns;
+    private int[] outputLinks;
+    private int numberOfStates;
+
+    AhoCorasickAutomaton(List<byte[]> patterns, boolean ignoreCase) {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new IllegalArgumentException("At least one pattern is needed");
+        }
+        patternLengths = new int[patterns.size()];
+        nextPatterns = new int[patterns.size()];
+        for (byte[] pattern : patterns) {
+            if (pattern == null || pattern.length == 0) {
+                throw new IllegalArgumentException("Search pattern cannot be empty");
+            }
+        }
+        transitions = new int[INITIAL_CAPACITY * ALPHABET_SIZE];
+        firstPatterns = new int[INITIAL_CAPACITY];
+        Arrays.fill(firstPatterns, NONE);
+        numberOfStates = 1;
+        for (int i = 0; i < patterns.size(); i++) {
+            addPattern(i, patterns.get(i), ignoreCase);
+        }
+        transitions = Arrays.copyOf(transitions, numberOfStates * ALPHABET_SIZE);
+        firstPatterns = Arrays.copyOf(firstPatterns, numberOfStates);
+        outputLinks = new int[numberOfStates];
+        complete();
+        if (ignoreCase) {
+            mapUpperCase();
+        }
+    }
+
+    private void addPattern(int patternIndex, byte[] pattern, boolean ignoreCase) {
+        int state = ROOT;
+        for (byte value : pattern) {
+            int symbol = (ignoreCase ? toLowerCase(value) : value) & 0xFF;
+            int next = transitions[state * ALPHABET_SIZE + symbol];
+            if (next == ROOT) {
+                ensureCapacity();
+                next = numberOfStates++;
+                transitions[state * ALPHABET_SIZE + symbol] = next;
+            }
+            state = next;
+        }
+        patternLengths[patternIndex] = pattern.length;
+        // patterns of the same state are chained in the order they were given
+        if (firstPatterns[state] == NONE) {
+            firstPatterns[state] = patternIndex;
+        } else {
+            int last = firstPatterns[state];
+            while (nextPatterns[last] != NONE) {
+                last = nextPatterns[last];
+            }
+            nextPatterns[last] = patternIndex;
+        }
+        nextPatterns[patternIndex] = NONE;
+    }
+
+    /**
+     * Method to make room for one more state, the table grows with the number of states of the trie instead of
+     * being sized by the total length of the patterns
+     */
+    private void ensureCapacity() {
+        if (numberOfStates < firstPatterns.length) {
+            return;
+        }
+        if (numberOfStates >= MAX_STATES) {
+            throw new IllegalArgumentException("Patterns need more than " + MAX_STATES
+                    + " states, the transition table cannot be bigger than an array");
+        }
+        int capacity = (int) Math.min((long) firstPatterns.length * 2, MAX_STATES);
+        transitions = Arrays.copyOf(transitions, capacity * ALPHABET_SIZE);
+        int oldCapacity = firstPatterns.length;
+        firstPatterns = Arrays.copyOf(firstPatterns, capacity);
+        Arrays.fill(firstPatterns, oldCapacity, capacity, NONE);
+    }
+
+    /**
+     * Method to add the missing transitions in breadth first order, a missing transition of a state is the
+     * transition of its failure state, the state of its longest proper suffix in the trie
+     */
+    private void complete() {
+        int[] failures = new int[numberOfStates];
+        int[] queue = new int[numberOfStates];
+        int head = 0;
+        int tail = 0;
+        outputLinks[ROOT] = NONE;
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int child = transitions[symbol];
+            if (child != ROOT) {
+                failures[child] = ROOT;
+                outputLinks[child] = NONE;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int base = state * ALPHABET_SIZE;
+            int failureBase = failures[state] * ALPHABET_SIZE;
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int child = transitions[base + symbol];
+                if (child == ROOT) {
+                    transitions[base + symbol] = transitions[failureBase + symbol];
+                } else {
+                    int failure = transitions[failureBase + symbol];
+                    failures[child] = failure;
+                    outputLinks[child] = firstPatterns[failure] != NONE ? failure : outputLinks[failure];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+
+    private void mapUpperCase() {
+        for (int state = 0; state < numberOfStates; state++) {
+            int base = state * ALPHABET_SIZE;
+            for (int symbol = 'A'; symbol <= 'Z'; symbol++) {
+                transitions[base + symbol] = transitions[base + symbol + ('a' - 'A')];
+            }
+        }
+    }
+
+    private static byte toLowerCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+
+    int getNumberOfPatterns() {
+        return patternLengths.length;
+    }
+
+    int getNumberOfStates() {
+        return numberOfStates;
+    }
+
+    int getPatternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    /**
+     * @return State after reading the byte in the state
+     */
+    int next(int state, byte value) {
+        return transitions[state * ALPHABET_SIZE + (value & 0xFF)];
+    }
+
+    /**
+     * @return First pattern ending in the state, NONE if no pattern ends in it
+     */
+    int getFirstPattern(int state) {
+        return firstPatterns[state];
+    }
+
+    /**
+     * @return Next pattern equal to the given pattern, NONE if there is no further one
+     */
+    int getNextPattern(int pattern) {
+        return nextPatterns[pattern];
+    }
+
+    /**
+     * @return Nearest state of a proper suffix of the state in which a pattern ends, NONE if there is none
+     */
+    int getOutputLink(int state) {
+        return outputLinks[state];
+    }
+
+    /**
+     * Method to count the matches of every pattern in a text, overlapping matches are counted too
+     * @param text Text to scan
+     * @param length Number of bytes of the text
+     * @param counts Counts increased by the matches, indexed by pattern
+     */
+    void count(byte[] text, int length, long[] counts) {
+        int state = ROOT;
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * ALPHABET_SIZE + (text[i] & 0xFF)];
+            for (int output = firstPatterns[state] != NONE ? state : outputLinks[state]; output != NONE;
+                    output = outputLinks[output]) {
+                for (int pattern = firstPatterns[output]; pattern != NONE; pattern = nextPatterns[pattern]) {
+                    counts[pattern]++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package org.lukas.javach.search;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Characters of a line read directly from its bytes, so a regular expression can run over a line without creating
+ * a String of it. The sequence is reset to the next line, all arrays are reused. A line of ISO-8859-1 or of
+ * ASCII only bytes is read without decoding, every byte is a character. Other UTF-8 lines are decoded once into a
+ * cached array which also keeps the byte offset of every character. Malformed UTF-8 bytes are read as the
+ * replacement character.
+ * <p>
+ * Lines of any other charset are decoded by its decoder into the same arrays, one character at a time to know the
+ * byte offset of each. Lines of ASCII only bytes are still read without decoding when the charset is a single byte
+ * charset reading them as ASCII, like windows-1252. Malformed and unmappable bytes are read as replacements.
+ * <p>
+ * A sequence refers to the bytes it was reset to, they must not change while the sequence is used.
+ *
+ * @author Lukas Pecak
+ */
+public final class ByteCharSequence implements CharSequence {
+
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private static final int ASCII_CHARACTERS = 128;
+
+    private final boolean latin1;
+    private final boolean asciiCompatible;
+    private final CharsetDecoder decoder;
+    private byte[] bytes = new byte[0];
+    private int offset;
+    private int length;
+    private boolean decoded;
+    private char[] chars = new char[0];
+    private int[] byteOffsets = new int[1];
+    private int numberOfChars;
+
+    /**
+     * @param charset Charset of the lines
+     */
+    public ByteCharSequence(Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+        latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        if (latin1 || StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+            asciiCompatible = true;
+            decoder = null;
+        } else {
+            asciiCompatible = isAsciiCompatible(charset);
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+    }
+
+    /**
+     * Method to check whether every byte of the charset is a character and ASCII bytes are ASCII characters
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1) {
+            return false;
+        }
+        byte[] ascii = new byte[ASCII_CHARACTERS];
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = (byte) i;
+        }
+        String decoded = new String(ascii, charset);
+        if (decoded.length() != ascii.length) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length; i++) {
+            if (decoded.charAt(i) != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to point the sequence to the bytes of a line
+     * @param bytes Array holding the line
+     * @param offset Index of the first byte of the line in the array
+     * @param length Number of bytes of the line
+     * @return This sequence
+     */
+    public ByteCharSequence reset(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Line of " + length + " bytes at " + offset
+                    + " is out of array of " + bytes.length + " bytes");
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        decoded = !latin1 && !(asciiCompatible && isAscii(bytes, offset, length));
+        if (decoded && decoder == null) {
+            decodeUtf8();
+        } else if (decoded) {
+            decodeWithDecoder();
+        }
+        return this;
+    }
+
+    public ByteCharSequence reset(byte[] bytes) {
+        return reset(bytes, 0, bytes.length);
+    }
+
+    private static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to get the offset of a character in the line
+     * @param index Index of the character, the length of the sequence for the end of the line
+     * @return Offset of the first byte of the character from the start of the line
+     */
+    public int toByteOffset(int index) {
+        if (index < 0 || index > length()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+        }
+        return decoded ? byteOffsets[index] : index;
+    }
+
+    @Override
+    public int length() {
+        return decoded ? numberOfChars : length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (decoded) {
+            if (index >= numberOfChars) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + numberOfChars);
+            }
+            return chars[index];
+        }
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    /**
+     * Method to copy a part of the sequence, unlike the sequence the copy stays valid when the sequence is reset
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length()) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length());
+        }
+        if (decoded) {
+            return new String(chars, start, end - start);
+        }
+        char[] copy = new char[end - start];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = (char) (bytes[offset + start + i] & 0xFF);
+        }
+        return new String(copy);
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length()).toString();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (chars.length < capacity) {
+            chars = Arrays.copyOf(chars, Math.max(capacity, 2 * chars.length));
+            byteOffsets = Arrays.copyOf(byteOffsets, chars.length + 1);
+        }
+    }
+
+    private void decodeUtf8() {
+        ensureCapacity(length);
+        int count = 0;
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            int first = bytes[position] & 0xFF;
+            int sequenceLength = getSequenceLength(first, position, end);
+            byteOffsets[count] = position - offset;
+            if (sequenceLength == 1) {
+                chars[count++] = first < 0x80 ? (char) first : REPLACEMENT_CHARACTER;
+            } else if (sequenceLength == 2) {
+                chars[count++] = (char) ((first & 0x1F) << 6 | bytes[position + 1] & 0x3F);
+            } else if (sequenceLength == 3) {
+                chars[count++] = (char) ((first & 0x0F) << 12 | (bytes[position + 1] & 0x3F) << 6
+                        | bytes[position + 2] & 0x3F);
+            } else {
+                int codePoint = (first & 0x07) << 18 | (bytes[position + 1] & 0x3F) << 12
+                        | (bytes[position + 2] & 0x3F) << 6 | bytes[position + 3] & 0x3F;
+                chars[count++] = Character.highSurrogate(codePoint);
+                byteOffsets[count] = position - offset;
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+            position += sequenceLength;
+        }
+        byteOffsets[count] = length;
+        numberOfChars = count;
+    }
+
+    /**
+     * Method to decode the line with the decoder of the charset. The output is limited to one character, so every
+     * call decodes the bytes of a single character and the position of the input before the call is its byte
+     * offset. A supplementary character gets a limit of two, both of its surrogates start at the same byte
+     */
+    private void decodeWithDecoder() {
+        ByteBuffer input = ByteBuffer.wrap(bytes, offset, length);
+        CharBuffer output = CharBuffer.wrap(chars);
+        decoder.reset();
+        int count = 0;
+        CoderResult result;
+        do {
+            if (chars.length < count + 2) {
+                ensureCapacity(count + 2);
+                output = CharBuffer.wrap(chars);
+            }
+            int byteOffset = input.position() - offset;
+            output.limit(count + 1).position(count);
+            result = decoder.decode(input, output, true);
+            if (result.isOverflow() && output.position() == count) {
+                output.limit(count + 2);
+                result = decoder.decode(input, output, true);
+            }
+            count = setByteOffsets(count, output.position(), byteOffset);
+        } while (result.isOverflow());
+        // a stateful decoder may still hold characters which are written when it is flushed
+        do {
+            if (chars.length < count + 2) {
+                ensureCapacity(count + 2);
+                output = CharBuffer.wrap(chars);
+            }
+            output.limit(chars.length).position(count);
+            result = decoder.flush(output);
+            count = setByteOffsets(count, output.position(), length);
+        } while (result.isOverflow());
+        byteOffsets[count] = length;
+        numberOfChars = count;
+    }
+
+    private int setByteOffsets(int from, int to, int byteOffset) {
+        Arrays.fill(byteOffsets, from, to, byteOffset);
+        return to;
+    }
+
+    /**
+     * Method to get the number of bytes of a well-formed UTF-8 sequence starting with the byte, 1 for a malformed one
+     */
+    private int getSequenceLength(int first, int position, int end) {
+        if (first < 0xC2 || first > 0xF4) {
+            return 1;
+        }
+        int sequenceLength = first < 0xE0 ? 2 : first < 0xF0 ? 3 : 4;
+        if (position + sequenceLength > end) {
+            return 1;
+        }
+        int second = bytes[position + 1] & 0xFF;
+        int lowest = first == 0xE0 ? 0xA0 : first == 0xF0 ? 0x90 : 0x80;
+        int highest = first == 0xED ? 0x9F : first == 0xF4 ? 0x8F : 0xBF;
+        if (second < lowest || second > highest) {
+            return 1;
+        }
+        for (int i = 2; i < sequenceLength; i++) {
+            if ((bytes[position + i] & 0xC0) != 0x80) {
+                return 1;
+            }
+        }
+        return sequenceLength;
+    }
+}
@@ -0,0 +1,256 @@
+package org.lukas.javach.search;
+
+import org.lukas.javach.document.DocumentContent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Searches the raw bytes of the lines of a content for a pattern, no line is decoded to a String. A match never
+ * spans a line break, matches within a line do not overlap. Lines are read into a reused buffer and scanned with
+ * a {@link HorspoolMatcher}. Big contents are searched in parallel: the lines are split into ranges searched on a
+ * {@link ForkJoinPool}, the hits of the ranges are joined in line order.
+ * <p>
+ * The content must not be changed while it is searched.
+ *
+ * @author Lukas Pecak
+ */
+public class ByteSearcher {
+
+    private final byte[] pattern;
+    private final HorspoolMatcher matcher;
+    private final int linesPerTask;
+
+    /**
+     * @param pattern Text to search, encoded with the platform charset like the lines of the editor
+     * @param ignoreCase true to match ASCII letters regardless of their case
+     */
+    public ByteSearcher(String pattern, boolean ignoreCase) {
+        this(pattern == null ? null : pattern.getBytes(), ignoreCase);
+    }
+
+    public ByteSearcher(byte[] pattern, boolean ignoreCase) {
+        this(pattern, ignoreCase, LineRangeTask.DEFAULT_LINES_PER_TASK);
+    }
+
+    /**
+     * @param pattern Bytes to search
+     * @param ignoreCase true to match ASCII letters regardless of their case
+     * @param linesPerTask Number of lines from which a range of lines is split for parallel search
+     */
+    ByteSearcher(byte[] pattern, boolean ignoreCase, int linesPerTask) {
+        if (linesPerTask <= 0) {
+            throw new IllegalArgumentException("Number of lines per task has to be positive");
+        }
+        this.matcher = new HorspoolMatcher(pattern, ignoreCase);
+        this.pattern = pattern.clone();
+        this.linesPerTask = linesPerTask;
+    }
+
+    /**
+     * Method to search the content lazily, every call of next() scans only until the next hit
+     * @param content Content to search
+     * @return Iterator over the hits in line and column order
+     */
+    public Iterator<SearchHit> iterator(DocumentContent content) {
+        validateContent(content);
+        return new HitIterator(content);
+    }
+
+    /**
+     * Method to find all hits in the content, searching in parallel on the common pool
+     * @param content Content to search
+     * @return Hits in line and column order
+     */
+    public List<SearchHit> findAll(DocumentContent content) {
+        return findAll(content, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method to find all hits in the content, searching in parallel on the given pool
+     * @param content Content to search
+     * @param pool Pool running the search of the line ranges
+     * @return Hits in line and column order
+     */
+    public List<SearchHit> findAll(DocumentContent content, ForkJoinPool pool) {
+        validateContent(content);
+        int numberOfLines = content.getNumberOfLines();
+        if (numberOfLines <= linesPerTask) {
+            return findInRange(content, 0, numberOfLines);
+        }
+        return pool.invoke(new LineRangeTask<>((startIndex, endIndex) -> findInRange(content, startIndex, endIndex),
+                linesPerTask, 0, numberOfLines));
+    }
+
+    /**
+     * Method to find all hits in the content, scanning only the lines the index reports as candidates
+     * @param content Content to search
+     * @param index Up to date trigram index of the content
+     * @return Hits in line and column order
+     */
+    public List<SearchHit> findAll(DocumentContent content, TrigramIndex index) {
+        validateContent(content);
+        if (index == null) {
+            throw new IllegalArgumentException("Trigram index cannot be null");
+        }
+        List<SearchHit> hits = new ArrayList<>();
+        LineReader reader = new LineReader(content);
+        for (int line : index.findCandidateLines(pattern)) {
+            findInLine(reader, line, hits);
+        }
+        return hits;
+    }
+
+    /**
+     * Method to replace all hits in the content, searching in parallel on the common pool. The content is not
+     * changed, the replaced lines are returned to be applied by the caller. Bytes are replaced as they are, so the
+     * replacement works for every charset of the content
+     * @param content Content to search
+     * @param replacement Bytes inserted instead of every hit
+     * @return New bytes of every line with a hit, in line order
+     */
+    public List<LineReplacement> replaceAll(DocumentContent content, byte[] replacement) {
+        return replaceAll(content, replacement, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method to replace all hits in the content like replaceAll(content, replacement), searching in parallel on the
+     * given pool
+     * @param content Content to search
+     * @param replacement Bytes inserted instead of every hit
+     * @param pool Pool running the replacement of the line ranges
+     * @return New bytes of every line with a hit, in line order
+     */
+    public List<LineReplacement> replaceAll(DocumentContent content, byte[] replacement, ForkJoinPool pool) {
+        validateContent(content);
+        if (replacement == null) {
+            throw new IllegalArgumentException("Replacement cannot be null");
+        }
+        int numberOfLines = content.getNumberOfLines();
+        if (numberOfLines <= linesPerTask) {
+            return replaceInRange(content, replacement, 0, numberOfLines);
+        }
+        return pool.invoke(new LineRangeTask<>(
+                (startIndex, endIndex) -> replaceInRange(content, replacement, startIndex, endIndex),
+                linesPerTask, 0, numberOfLines));
+    }
+
+    private static void validateContent(DocumentContent content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Cannot search content which is null");
+        }
+    }
+
+    private List<SearchHit> findInRange(DocumentContent content, int startIndex, int endIndex) {
+        List<SearchHit> hits = new ArrayList<>();
+        LineReader reader = new LineReader(content);
+        for (int i = startIndex; i < endIndex; i++) {
+            findInLine(reader, i, hits);
+        }
+        return hits;
+    }
+
+    private void findInLine(LineReader reader, int line, List<SearchHit> hits) {
+        int patternLength = matcher.getPatternLength();
+        int length = reader.read(line);
+        int column = matcher.indexOf(reader.getBytes(), 0, length);
+        while (column >= 0) {
+            hits.add(new SearchHit(line, column, patternLength));
+            column = matcher.indexOf(reader.getBytes(), column + patternLength, length);
+        }
+    }
+
+    private List<LineReplacement> replaceInRange(DocumentContent content, byte[] replacement, int startIndex,
+                                                 int endIndex) {
+        List<LineReplacement> replacements = new ArrayList<>();
+        LineReader reader = new LineReader(content);
+        for (int i = startIndex; i < endIndex; i++) {
+            byte[] line = replaceInLine(reader, i, replacement);
+            if (line != null) {
+                replacements.add(new LineReplacement(i, line));
+            }
+        }
+        return replacements;
+    }
+
+    private byte[] replaceInLine(LineReader reader, int line, byte[] replacement) {
+        int patternLength = matcher.getPatternLength();
+        int length = reader.read(line);
+        byte[] bytes = reader.getBytes();
+        int hits = 0;
+        for (int column = matcher.indexOf(bytes, 0, length); column >= 0;
+             column = matcher.indexOf(bytes, column + patternLength, length)) {
+            hits++;
+        }
+        if (hits == 0) {
+            return null;
+        }
+        // the hits are found again instead of being stored, the new line is allocated once with its final length
+        byte[] replaced = new byte[length + hits * (replacement.length - patternLength)];
+        int lastEnd = 0;
+        int outputLength = 0;
+        for (int column = matcher.indexOf(bytes, 0, length); column >= 0;
+             column = matcher.indexOf(bytes, column + patternLength, length)) {
+            System.arraycopy(bytes, lastEnd, replaced, outputLength, column - lastEnd);
+            outputLength += column - lastEnd;
+            System.arraycopy(replacement, 0, replaced, outputLength, replacement.length);
+            outputLength += replacement.length;
+            lastEnd = column + patternLength;
+        }
+        System.arraycopy(bytes, lastEnd, replaced, outputLength, length - lastEnd);
+        return replaced;
+    }
+
+    private class HitIterator implements Iterator<SearchHit> {
+
+        private final DocumentContent content;
+        private final LineReader reader;
+        private final int numberOfLines;
+        private int line = -1;
+        private int lineLength;
+        private int from;
+        private SearchHit next;
+
+        private HitIterator(DocumentContent content) {
+            this.content = content;
+            this.reader = new LineReader(content);
+            this.numberOfLines = content.getNumberOfLines();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (line >= 0) {
+                    int column = matcher.indexOf(reader.getBytes(), from, lineLength);
+                    if (column >= 0) {
+                        next = new SearchHit(line, column, matcher.getPatternLength());
+                        from = column + matcher.getPatternLength();
+                        return true;
+                    }
+                }
+                if (line + 1 >= numberOfLines) {
+                    return false;
+                }
+                line++;
+                lineLength = reader.read(line);
+                from = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public SearchHit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SearchHit hit = next;
+            next = null;
+            return hit;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.lukas.javach.search;
+
+import java.util.Arrays;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Boyer-Moore-Horspool matcher of a byte pattern. The pattern is compared from its last byte, a mismatch shifts
+ * the pattern by the distance of the text byte under the last pattern byte to its last occurrence in the pattern,
+ * so most text bytes are never looked at for longer patterns. Case insensitive matching folds ASCII letters only,
+ * bytes of multi-byte characters are compared as they are.
+ *
+ * @author Lukas Pecak
+ */
+class HorspoolMatcher {
+
+    private static final int ALPHABET_SIZE = 256;
+
+    private final byte[] pattern;
+    private final boolean ignoreCase;
+    private final int[] shifts = new int[ALPHABET_SIZE];
+
+    HorspoolMatcher(byte[] pattern, boolean ignoreCase) {
+        if (pattern == null || pattern.length == 0) {
+            throw new IllegalArgumentException("Search pattern cannot be empty");
+        }
+        this.ignoreCase = ignoreCase;
+        this.pattern = ignoreCase ? foldCase(pattern) : pattern.clone();
+        Arrays.fill(shifts, this.pattern.length);
+        for (int i = 0; i < this.pattern.length - 1; i++) {
+            shifts[this.pattern[i] & 0xFF] = this.pattern.length - 1 - i;
+            if (ignoreCase && isLowerCaseLetter(this.pattern[i])) {
+                shifts[toUpperCase(this.pattern[i]) & 0xFF] = this.pattern.length - 1 - i;
+            }
+        }
+    }
+
+    int getPatternLength() {
+        return pattern.length;
+    }
+
+    /**
+     * Method to find the first match of the pattern in a range of the text
+     * @param text Text to search
+     * @param from Index of the first byte of the range, inclusive
+     * @param to Index of the last byte of the range, exclusive
+     * @return Index of the first byte of the match, -1 if the pattern is not in the range
+     */
+    int indexOf(byte[] text, int from, int to) {
+        int last = pattern.length - 1;
+        int position = from;
+        while (position <= to - pattern.length) {
+            byte lastByte = text[position + last];
+            if (equal(pattern[last], lastByte)) {
+                int i = last - 1;
+                while (i >= 0 && equal(pattern[i], text[position + i])) {
+                    i--;
+                }
+                if (i < 0) {
+                    return position;
+                }
+            }
+            position += shifts[lastByte & 0xFF];
+        }
+        return -1;
+    }
+
+    private boolean equal(byte patternByte, byte textByte) {
+        return patternByte == textByte || ignoreCase && patternByte == toLowerCase(textByte);
+    }
+
+    private static byte[] foldCase(byte[] bytes) {
+        byte[] folded = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            folded[i] = toLowerCase(bytes[i]);
+        }
+        return folded;
+    }
+
+    private static byte toLowerCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+
+    private static byte toUpperCase(byte value) {
+        return (byte) (value - ('a' - 'A'));
+    }
+
+    private static boolean isLowerCaseLetter(byte value) {
+        return value >= 'a' && value <= 'z';
+    }
+}
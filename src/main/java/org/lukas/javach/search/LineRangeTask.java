@@ -0,0 +1,68 @@
+package org.lukas.javach.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Task processing a range of lines on a fork join pool. A range bigger than the given number of lines is split in
+ * halves processed in parallel, the results of the halves are joined in line order.
+ *
+ * @author Lukas Pecak
+ */
+class LineRangeTask<T> extends RecursiveTask<List<T>> {
+
+    static final int DEFAULT_LINES_PER_TASK = 16 * 1024;
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Processing of a range of lines
+     */
+    @FunctionalInterface
+    interface RangeFunction<T> {
+
+        /**
+         * @param startIndex Index of the first line, inclusive
+         * @param endIndex Index of the last line, exclusive
+         * @return Results of the lines in line order
+         */
+        List<T> apply(int startIndex, int endIndex);
+    }
+
+    private final RangeFunction<T> function;
+    private final int linesPerTask;
+    private final int startIndex;
+    private final int endIndex;
+
+    LineRangeTask(RangeFunction<T> function, int linesPerTask, int startIndex, int endIndex) {
+        this.function = function;
+        this.linesPerTask = linesPerTask;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    @Override
+    protected List<T> compute() {
+        if (endIndex - startIndex <= linesPerTask) {
+            return function.apply(startIndex, endIndex);
+        }
+        int middle = (startIndex + endIndex) >>> 1;
+        LineRangeTask<T> first = new LineRangeTask<>(function, linesPerTask, startIndex, middle);
+        first.fork();
+        List<T> secondResults = new LineRangeTask<>(function, linesPerTask, middle, endIndex).compute();
+        List<T> firstResults = first.join();
+        if (secondResults.isEmpty()) {
+            return firstResults;
+        }
+        if (firstResults.isEmpty()) {
+            return secondResults;
+        }
+        List<T> results = new ArrayList<>(firstResults.size() + secondResults.size());
+        results.addAll(firstResults);
+        results.addAll(secondResults);
+        return results;
+    }
+}
@@ -0,0 +1,46 @@
+package org.lukas.javach.search;
+
+import org.lukas.javach.document.DocumentContent;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Reads lines of a content into a single reused array, so scanning a content does not create an array per line.
+ * A reader is used by one thread only.
+ *
+ * @author Lukas Pecak
+ */
+class LineReader {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final DocumentContent content;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    LineReader(DocumentContent content) {
+        this.content = content;
+    }
+
+    /**
+     * Method to read a line, the array returned by getBytes() holds the line from index 0 until the returned length
+     * @param index Index of the line
+     * @return Length of the line
+     */
+    int read(int index) {
+        while (true) {
+            buffer.clear();
+            try {
+                return content.copyLine(index, buffer);
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    byte[] getBytes() {
+        return buffer.array();
+    }
+}
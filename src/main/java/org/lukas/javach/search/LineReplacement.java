@@ -0,0 +1,59 @@
+package org.lukas.javach.search;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * New bytes of a line of a content in which matches were replaced. The content itself is not changed, the caller
+ * decides how to apply the replacement, e.g. as a single undoable batch in the editor.
+ *
+ * @author Lukas Pecak
+ */
+public final class LineReplacement {
+
+    private final int index;
+    private final byte[] line;
+
+    public LineReplacement(int index, byte[] line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Replaced line cannot be null");
+        }
+        this.index = index;
+        this.line = line;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public byte[] getLine() {
+        return line;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LineReplacement that = (LineReplacement) o;
+        return index == that.index && Arrays.equals(line, that.line);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(index) + Arrays.hashCode(line);
+    }
+
+    @Override
+    public String toString() {
+        return "LineReplacement{" +
+                "index=" + index +
+                ", line=" + Arrays.toString(line) +
+                '}';
+    }
+}
@@ -0,0 +1,211 @@
+package org.lukas.javach.search;
+
+import org.lukas.javach.document.DocumentContent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Searches the raw bytes of the lines of a content for many patterns at once, e.g. keywords to highlight. Every
+ * line is scanned once by an {@link AhoCorasickAutomaton}, the cost does not grow with the number of patterns.
+ * All matches are reported, also matches overlapping each other or contained in a match of another pattern. A match
+ * never spans a line break. Counting and finding all matches split the lines into ranges searched in parallel.
+ * <p>
+ * The content must not be changed while it is searched.
+ *
+ * @author Lukas Pecak
+ */
+public class MultiPatternSearcher {
+
+    private final AhoCorasickAutomaton automaton;
+    private final int linesPerTask;
+
+    /**
+     * @param patterns Texts to search, encoded with the platform charset like the lines of the editor
+     * @param ignoreCase true to match ASCII letters regardless of their case
+     */
+    public MultiPatternSearcher(List<String> patterns, boolean ignoreCase) {
+        this(encode(patterns), ignoreCase, LineRangeTask.DEFAULT_LINES_PER_TASK);
+    }
+
+    /**
+     * @param patterns Bytes to search
+     * @param ignoreCase true to match ASCII letters regardless of their case
+     * @param linesPerTask Number of lines from which a range of lines is split for parallel search
+     */
+    MultiPatternSearcher(List<byte[]> patterns, boolean ignoreCase, int linesPerTask) {
+        if (linesPerTask <= 0) {
+            throw new IllegalArgumentException("Number of lines per task has to be positive");
+        }
+        this.automaton = new AhoCorasickAutomaton(patterns, ignoreCase);
+        this.linesPerTask = linesPerTask;
+    }
+
+    private static List<byte[]> encode(List<String> patterns) {
+        if (patterns == null) {
+            throw new IllegalArgumentException("Patterns cannot be null");
+        }
+        List<byte[]> encodedPatterns = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            encodedPatterns.add(pattern == null ? null : pattern.getBytes());
+        }
+        return encodedPatterns;
+    }
+
+    /**
+     * Method to count the matches of every pattern in the content, searching in parallel on the common pool
+     * @param content Content to search
+     * @return Number of matches of every pattern, indexed like the patterns
+     */
+    public long[] count(DocumentContent content) {
+        return count(content, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method to count the matches of every pattern in the content, searching in parallel on the given pool
+     * @param content Content to search
+     * @param pool Pool running the search of the line ranges
+     * @return Number of matches of every pattern, indexed like the patterns
+     */
+    public long[] count(DocumentContent content, ForkJoinPool pool) {
+        validateContent(content);
+        List<long[]> rangeCounts = invoke(pool, content.getNumberOfLines(),
+                (startIndex, endIndex) -> countInRange(content, startIndex, endIndex));
+        long[] counts = new long[automaton.getNumberOfPatterns()];
+        for (long[] rangeCount : rangeCounts) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += rangeCount[i];
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Method to search the content lazily, every call of next() scans only until the next hit
+     * @param content Content to search
+     * @return Iterator over the hits in line order, hits of a line are ordered by their end
+     */
+    public Iterator<PatternHit> iterator(DocumentContent content) {
+        validateContent(content);
+        return new HitIterator(content);
+    }
+
+    /**
+     * Method to find all hits in the content, searching in parallel on the common pool
+     * @param content Content to search
+     * @return Hits in the order of iterator()
+     */
+    public List<PatternHit> findAll(DocumentContent content) {
+        return findAll(content, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method to find all hits in the content, searching in parallel on the given pool
+     * @param content Content to search
+     * @param pool Pool running the search of the line ranges
+     * @return Hits in the order of iterator()
+     */
+    public List<PatternHit> findAll(DocumentContent content, ForkJoinPool pool) {
+        validateContent(content);
+        return invoke(pool, content.getNumberOfLines(),
+                (startIndex, endIndex) -> findInRange(content, startIndex, endIndex));
+    }
+
+    private <T> List<T> invoke(ForkJoinPool pool, int numberOfLines, LineRangeTask.RangeFunction<T> function) {
+        if (numberOfLines <= linesPerTask) {
+            return function.apply(0, numberOfLines);
+        }
+        return pool.invoke(new LineRangeTask<>(function, linesPerTask, 0, numberOfLines));
+    }
+
+    private static void validateContent(DocumentContent content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Cannot search content which is null");
+        }
+    }
+
+    private List<long[]> countInRange(DocumentContent content, int startIndex, int endIndex) {
+        long[] counts = new long[automaton.getNumberOfPatterns()];
+        LineReader reader = new LineReader(content);
+        for (int i = startIndex; i < endIndex; i++) {
+            int length = reader.read(i);
+            automaton.count(reader.getBytes(), length, counts);
+        }
+        return Collections.singletonList(counts);
+    }
+
+    private List<PatternHit> findInRange(DocumentContent content, int startIndex, int endIndex) {
+        List<PatternHit> hits = new ArrayList<>();
+        Iterator<PatternHit> iterator = new HitIterator(content, startIndex, endIndex);
+        iterator.forEachRemaining(hits::add);
+        return hits;
+    }
+
+    /**
+     * Iterator walking the automaton over the lines. After a state with output was reached, the patterns of the
+     * state and of its output links are reported before the next byte is read
+     */
+    private class HitIterator implements Iterator<PatternHit> {
+
+        private final LineReader reader;
+        private final int endIndex;
+        private int line;
+        private int lineLength;
+        private int position;
+        private int state = AhoCorasickAutomaton.ROOT;
+        private int output = AhoCorasickAutomaton.NONE;
+        private int pattern = AhoCorasickAutomaton.NONE;
+        private PatternHit next;
+
+        private HitIterator(DocumentContent content) {
+            this(content, 0, content.getNumberOfLines());
+        }
+
+        private HitIterator(DocumentContent content, int startIndex, int endIndex) {
+            this.reader = new LineReader(content);
+            this.endIndex = endIndex;
+            this.line = startIndex - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (pattern != AhoCorasickAutomaton.NONE) {
+                    int length = automaton.getPatternLength(pattern);
+                    next = new PatternHit(pattern, line, position - length, length);
+                    pattern = automaton.getNextPattern(pattern);
+                } else if (output != AhoCorasickAutomaton.NONE) {
+                    pattern = automaton.getFirstPattern(output);
+                    output = automaton.getOutputLink(output);
+                } else if (position < lineLength) {
+                    state = automaton.next(state, reader.getBytes()[position++]);
+                    output = automaton.getFirstPattern(state) != AhoCorasickAutomaton.NONE
+                            ? state : automaton.getOutputLink(state);
+                } else if (line + 1 < endIndex) {
+                    lineLength = reader.read(++line);
+                    position = 0;
+                    state = AhoCorasickAutomaton.ROOT;
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public PatternHit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PatternHit hit = next;
+            next = null;
+            return hit;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.lukas.javach.search;
+
+import java.util.Objects;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Match of one of several patterns in a content. The pattern is identified by its index in the list of patterns,
+ * the column and length are counted in bytes of the line.
+ *
+ * @author Lukas Pecak
+ */
+public final class PatternHit {
+
+    private final int pattern;
+    private final int line;
+    private final int column;
+    private final int length;
+
+    public PatternHit(int pattern, int line, int column, int length) {
+        this.pattern = pattern;
+        this.line = line;
+        this.column = column;
+        this.length = length;
+    }
+
+    public int getPattern() {
+        return pattern;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PatternHit patternHit = (PatternHit) o;
+        return pattern == patternHit.pattern && line == patternHit.line && column == patternHit.column
+                && length == patternHit.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pattern, line, column, length);
+    }
+
+    @Override
+    public String toString() {
+        return "PatternHit{" +
+                "pattern=" + pattern +
+                ", line=" + line +
+                ", column=" + column +
+                ", length=" + length +
+                '}';
+    }
+}
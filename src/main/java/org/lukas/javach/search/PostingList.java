@@ -0,0 +1,105 @@
+package org.lukas.javach.search;
+
+import java.util.Arrays;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Ascending list of line ids stored as variable length deltas, most ids take a single byte. Ids can only be
+ * appended, so they have to be added in ascending order.
+ *
+ * @author Lukas Pecak
+ */
+class PostingList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int size;
+    private int lastId = -1;
+
+    /**
+     * @param id Id greater than all ids in the list
+     */
+    void add(int id) {
+        if (id <= lastId) {
+            throw new IllegalArgumentException("Id " + id + " is not greater than the last id " + lastId);
+        }
+        int delta = id - lastId;
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        lastId = id;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of bytes used by the encoded ids
+     */
+    int getEncodedLength() {
+        return length;
+    }
+
+    int[] toArray() {
+        int[] ids = new int[size];
+        int id = -1;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte value;
+            do {
+                value = data[position++];
+                delta |= (value & 0x7F) << shift;
+                shift += 7;
+            } while (value < 0);
+            id += delta;
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * Method to keep only the ids which are also in this list
+     * @param ids Ascending ids, the kept ids are moved to the start of the array
+     * @param count Number of ids in the array
+     * @return Number of kept ids
+     */
+    int retainAll(int[] ids, int count) {
+        int kept = 0;
+        int id = -1;
+        int position = 0;
+        int decoded = 0;
+        for (int i = 0; i < count; i++) {
+            int candidate = ids[i];
+            while (id < candidate && decoded < size) {
+                int delta = 0;
+                int shift = 0;
+                byte value;
+                do {
+                    value = data[position++];
+                    delta |= (value & 0x7F) << shift;
+                    shift += 7;
+                } while (value < 0);
+                id += delta;
+                decoded++;
+            }
+            if (id == candidate) {
+                ids[kept++] = candidate;
+            } else if (id < candidate) {
+                break;
+            }
+        }
+        return kept;
+    }
+}
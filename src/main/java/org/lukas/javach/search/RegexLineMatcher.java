@@ -0,0 +1,96 @@
+package org.lukas.javach.search;
+
+import org.lukas.javach.document.DocumentContent;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Matcher of a regular expression over the lines of a content. The line bytes, the {@link ByteCharSequence} and the
+ * {@link Matcher} are reused for every line, nothing is allocated for a line without a match. A line matcher is
+ * used by one thread only.
+ *
+ * @author Lukas Pecak
+ */
+class RegexLineMatcher {
+
+    private final Charset charset;
+    private final LineReader reader;
+    private final ByteCharSequence sequence;
+    private final Matcher matcher;
+    private final StringBuilder replacementBuilder = new StringBuilder();
+    private byte[] output = new byte[256];
+    private int line = -1;
+
+    RegexLineMatcher(Pattern pattern, Charset charset, DocumentContent content) {
+        this.charset = charset;
+        this.reader = new LineReader(content);
+        this.sequence = new ByteCharSequence(charset);
+        this.matcher = pattern.matcher(sequence);
+    }
+
+    /**
+     * Method to read a line and start matching it from its beginning
+     * @param index Index of the line in the content
+     */
+    void reset(int index) {
+        int length = reader.read(index);
+        sequence.reset(reader.getBytes(), 0, length);
+        matcher.reset(sequence);
+        line = index;
+    }
+
+    /**
+     * Method to find the next match in the line
+     * @return Hit of the match, null if there is no further match
+     */
+    SearchHit find() {
+        if (!matcher.find()) {
+            return null;
+        }
+        int start = sequence.toByteOffset(matcher.start());
+        return new SearchHit(line, start, sequence.toByteOffset(matcher.end()) - start);
+    }
+
+    /**
+     * Method to replace all matches in the line. The bytes between the matches are copied as they are, only the
+     * replacements are encoded
+     * @param replacement Replacement which may refer to groups like {@link Matcher#appendReplacement}
+     * @return New bytes of the line, null if the line has no match
+     */
+    byte[] replaceAll(String replacement) {
+        if (!matcher.find()) {
+            return null;
+        }
+        byte[] bytes = reader.getBytes();
+        int outputLength = 0;
+        int lastEnd = 0;
+        do {
+            replacementBuilder.setLength(0);
+            matcher.appendReplacement(replacementBuilder, replacement);
+            // appendReplacement adds the characters since the previous match before the replacement
+            String expanded = replacementBuilder.substring(matcher.start() - lastEnd);
+            int matchStart = sequence.toByteOffset(matcher.start());
+            outputLength = append(outputLength, bytes, sequence.toByteOffset(lastEnd), matchStart);
+            byte[] encoded = expanded.getBytes(charset);
+            outputLength = append(outputLength, encoded, 0, encoded.length);
+            lastEnd = matcher.end();
+        } while (matcher.find());
+        int lineLength = sequence.toByteOffset(sequence.length());
+        outputLength = append(outputLength, bytes, sequence.toByteOffset(lastEnd), lineLength);
+        return Arrays.copyOf(output, outputLength);
+    }
+
+    private int append(int outputLength, byte[] bytes, int start, int end) {
+        int length = end - start;
+        if (outputLength + length > output.length) {
+            output = Arrays.copyOf(output, Math.max(output.length * 2, outputLength + length));
+        }
+        System.arraycopy(bytes, start, output, outputLength, length);
+        return outputLength + length;
+    }
+}
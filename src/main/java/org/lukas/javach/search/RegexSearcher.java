@@ -0,0 +1,198 @@
+package org.lukas.javach.search;
+
+import org.lukas.javach.document.DocumentContent;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Searches the lines of a content with a regular expression without creating a String per line. Every line is
+ * matched through a {@link ByteCharSequence} over its bytes, a line without a match allocates nothing. Like
+ * {@link ByteSearcher} hits are reported in bytes of the line and a match never spans a line break.
+ * <p>
+ * The content must not be changed while it is searched.
+ *
+ * @author Lukas Pecak
+ */
+public class RegexSearcher {
+
+    private final Pattern pattern;
+    private final Charset charset;
+    private final int linesPerTask;
+
+    /**
+     * @param regex Regular expression, lines are read with the platform charset like the editor reads them
+     */
+    public RegexSearcher(String regex) {
+        this(Pattern.compile(regex), Charset.defaultCharset());
+    }
+
+    /**
+     * @param pattern Compiled regular expression
+     * @param charset Charset of the lines
+     */
+    public RegexSearcher(Pattern pattern, Charset charset) {
+        this(pattern, charset, LineRangeTask.DEFAULT_LINES_PER_TASK);
+    }
+
+    /**
+     * @param pattern Compiled regular expression
+     * @param charset Charset of the lines
+     * @param linesPerTask Number of lines from which a range of lines is split for parallel replacement
+     */
+    RegexSearcher(Pattern pattern, Charset charset, int linesPerTask) {
+        if (pattern == null || charset == null) {
+            throw new IllegalArgumentException("Pattern and charset cannot be null");
+        }
+        if (linesPerTask <= 0) {
+            throw new IllegalArgumentException("Number of lines per task has to be positive");
+        }
+        this.pattern = pattern;
+        this.charset = charset;
+        this.linesPerTask = linesPerTask;
+    }
+
+    /**
+     * Method to search the content lazily, every call of next() scans only until the next hit
+     * @param content Content to search
+     * @return Iterator over the hits in line and column order
+     */
+    public Iterator<SearchHit> iterator(DocumentContent content) {
+        validateContent(content);
+        return new HitIterator(content);
+    }
+
+    /**
+     * Method to find all hits in the content
+     * @param content Content to search
+     * @return Hits in line and column order
+     */
+    public List<SearchHit> findAll(DocumentContent content) {
+        List<SearchHit> hits = new ArrayList<>();
+        iterator(content).forEachRemaining(hits::add);
+        return hits;
+    }
+
+    /**
+     * Method to find all hits in the content, matching only the lines which contain a text every match contains
+     * @param content Content to search
+     * @param index Up to date trigram index of the content
+     * @param requiredText Text contained in every match of the expression, e.g. its longest literal part
+     * @return Hits in line and column order
+     */
+    public List<SearchHit> findAll(DocumentContent content, TrigramIndex index, String requiredText) {
+        validateContent(content);
+        if (index == null || requiredText == null) {
+            throw new IllegalArgumentException("Trigram index and required text cannot be null");
+        }
+        List<SearchHit> hits = new ArrayList<>();
+        RegexLineMatcher matcher = new RegexLineMatcher(pattern, charset, content);
+        for (int line : index.findCandidateLines(requiredText.getBytes(charset))) {
+            matcher.reset(line);
+            for (SearchHit hit = matcher.find(); hit != null; hit = matcher.find()) {
+                hits.add(hit);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Method to replace all matches in the content, searching in parallel on the common pool. The content is not
+     * changed, the replaced lines are returned to be applied by the caller, e.g. as a single undoable batch
+     * @param content Content to search
+     * @param replacement Replacement which may refer to groups like {@link java.util.regex.Matcher#replaceAll}
+     * @return New bytes of every line with a match, in line order
+     */
+    public List<LineReplacement> replaceAll(DocumentContent content, String replacement) {
+        return replaceAll(content, replacement, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method to replace all matches in the content like replaceAll(content, replacement), searching in parallel
+     * on the given pool
+     * @param content Content to search
+     * @param replacement Replacement which may refer to groups like {@link java.util.regex.Matcher#replaceAll}
+     * @param pool Pool running the replacement of the line ranges
+     * @return New bytes of every line with a match, in line order
+     */
+    public List<LineReplacement> replaceAll(DocumentContent content, String replacement, ForkJoinPool pool) {
+        validateContent(content);
+        if (replacement == null) {
+            throw new IllegalArgumentException("Replacement cannot be null");
+        }
+        int numberOfLines = content.getNumberOfLines();
+        if (numberOfLines <= linesPerTask) {
+            return replaceInRange(content, replacement, 0, numberOfLines);
+        }
+        return pool.invoke(new LineRangeTask<>(
+                (startIndex, endIndex) -> replaceInRange(content, replacement, startIndex, endIndex),
+                linesPerTask, 0, numberOfLines));
+    }
+
+    private List<LineReplacement> replaceInRange(DocumentContent content, String replacement, int startIndex,
+                                                 int endIndex) {
+        List<LineReplacement> replacements = new ArrayList<>();
+        RegexLineMatcher matcher = new RegexLineMatcher(pattern, charset, content);
+        for (int i = startIndex; i < endIndex; i++) {
+            matcher.reset(i);
+            byte[] line = matcher.replaceAll(replacement);
+            if (line != null) {
+                replacements.add(new LineReplacement(i, line));
+            }
+        }
+        return replacements;
+    }
+
+    private static void validateContent(DocumentContent content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Cannot search content which is null");
+        }
+    }
+
+    private class HitIterator implements Iterator<SearchHit> {
+
+        private final RegexLineMatcher matcher;
+        private final int numberOfLines;
+        private int line = -1;
+        private SearchHit next;
+
+        private HitIterator(DocumentContent content) {
+            this.matcher = new RegexLineMatcher(pattern, charset, content);
+            this.numberOfLines = content.getNumberOfLines();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (line >= 0) {
+                    next = matcher.find();
+                    if (next != null) {
+                        return true;
+                    }
+                }
+                if (line + 1 >= numberOfLines) {
+                    return false;
+                }
+                matcher.reset(++line);
+            }
+            return true;
+        }
+
+        @Override
+        public SearchHit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SearchHit hit = next;
+            next = null;
+            return hit;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.lukas.javach.search;
+
+import java.util.Objects;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Position of a match in a content. The column and length are counted in bytes of the line.
+ *
+ * @author Lukas Pecak
+ */
+public final class SearchHit {
+
+    private final int line;
+    private final int column;
+    private final int length;
+
+    public SearchHit(int line, int column, int length) {
+        this.line = line;
+        this.column = column;
+        this.length = length;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SearchHit searchHit = (SearchHit) o;
+        return line == searchHit.line && column == searchHit.column && length == searchHit.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(line, column, length);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" +
+                "line=" + line +
+                ", column=" + column +
+                ", length=" + length +
+                '}';
+    }
+}
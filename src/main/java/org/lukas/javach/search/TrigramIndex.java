@@ -0,0 +1,224 @@
+package org.lukas.javach.search;
+
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.LineChangeListener;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ * <p>
+ * Index of the trigrams, the sequences of three bytes, of the lines of a content. Every trigram has a
+ * {@link PostingList} of the lines containing it, so a search for a text of at least three bytes has to verify only
+ * the lines containing all trigrams of the text instead of scanning the whole content. ASCII letters are indexed in
+ * lower case, the candidates are valid for case sensitive and case insensitive searches.
+ * <p>
+ * Posting lists refer to lines by ids, not by their indexes, so inserting or removing a line does not change the
+ * posting lists of the following lines. An updated or inserted line gets a new id appended to the posting lists of
+ * its trigrams, the id of an updated or removed line is marked as removed. The index is rebuilt when more ids are
+ * removed than lines exist. Registered at the {@link org.lukas.javach.editor.Editor} with the content open, the index
+ * follows all changes of the editor, including undo and redo.
+ *
+ * @author Lukas Pecak
+ */
+public class TrigramIndex implements LineChangeListener {
+
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int MIN_REMOVED_IDS_FOR_REBUILD = 1024;
+
+    private final DocumentContent content;
+    private final LineReader reader;
+    private final Map<Integer, PostingList> postingLists = new HashMap<>();
+    private final BitSet removedIds = new BitSet();
+    private int[] lineIds;
+    private int numberOfLines;
+    private int nextId;
+    private int numberOfRemovedIds;
+    private int[] trigrams = new int[64];
+    private int[] lineIndexesById;
+
+    /**
+     * Method to build the index of all lines of the content
+     * @param content Indexed content
+     */
+    public TrigramIndex(DocumentContent content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Cannot index content which is null");
+        }
+        this.content = content;
+        this.reader = new LineReader(content);
+        rebuild();
+    }
+
+    /**
+     * Method to index all lines of the content again, dropping the removed ids
+     */
+    public void rebuild() {
+        postingLists.clear();
+        removedIds.clear();
+        numberOfRemovedIds = 0;
+        nextId = 0;
+        numberOfLines = content.getNumberOfLines();
+        lineIds = new int[Math.max(numberOfLines, 16)];
+        for (int i = 0; i < numberOfLines; i++) {
+            lineIds[i] = indexLine(i);
+        }
+        lineIndexesById = null;
+    }
+
+    public int getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    /**
+     * @return Number of distinct trigrams in the index
+     */
+    public int getNumberOfTrigrams() {
+        return postingLists.size();
+    }
+
+    /**
+     * Method to find the lines which may contain the text
+     * @param text Searched text
+     * @return Ascending indexes of the lines containing all trigrams of the text, every line if the text is shorter
+     * than a trigram
+     */
+    public int[] findCandidateLines(byte[] text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Searched text cannot be null");
+        }
+        if (text.length < TRIGRAM_LENGTH) {
+            int[] allLines = new int[numberOfLines];
+            Arrays.setAll(allLines, i -> i);
+            return allLines;
+        }
+        int numberOfTrigrams = collectTrigrams(text, text.length);
+        PostingList[] lists = new PostingList[numberOfTrigrams];
+        for (int i = 0; i < numberOfTrigrams; i++) {
+            lists[i] = postingLists.get(trigrams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size(), second.size()));
+        int[] ids = lists[0].toArray();
+        int count = ids.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = lists[i].retainAll(ids, count);
+        }
+        return toLineIndexes(ids, count);
+    }
+
+    @Override
+    public void lineUpdated(int index) {
+        validateIndex(index, numberOfLines - 1);
+        removeId(lineIds[index]);
+        lineIds[index] = indexLine(index);
+        rebuildIfSparse();
+    }
+
+    @Override
+    public void linesInserted(int index, int count) {
+        validateIndex(index, numberOfLines);
+        if (numberOfLines + count > lineIds.length) {
+            lineIds = Arrays.copyOf(lineIds, Math.max(lineIds.length * 2, numberOfLines + count));
+        }
+        System.arraycopy(lineIds, index, lineIds, index + count, numberOfLines - index);
+        numberOfLines += count;
+        for (int i = index; i < index + count; i++) {
+            lineIds[i] = indexLine(i);
+        }
+        lineIndexesById = null;
+    }
+
+    @Override
+    public void linesRemoved(int index, int count) {
+        validateIndex(index + count, numberOfLines);
+        for (int i = index; i < index + count; i++) {
+            removeId(lineIds[i]);
+        }
+        System.arraycopy(lineIds, index + count, lineIds, index, numberOfLines - index - count);
+        numberOfLines -= count;
+        lineIndexesById = null;
+        rebuildIfSparse();
+    }
+
+    private void validateIndex(int index, int maxIndex) {
+        if (index < 0 || index > maxIndex) {
+            throw new IllegalStateException("Line " + index + " is not in the index of " + numberOfLines
+                    + " lines, the content was changed without notifying the index");
+        }
+    }
+
+    private int indexLine(int index) {
+        int id = nextId++;
+        int length = reader.read(index);
+        int numberOfTrigrams = collectTrigrams(reader.getBytes(), length);
+        for (int i = 0; i < numberOfTrigrams; i++) {
+            postingLists.computeIfAbsent(trigrams[i], trigram -> new PostingList()).add(id);
+        }
+        lineIndexesById = null;
+        return id;
+    }
+
+    private void removeId(int id) {
+        removedIds.set(id);
+        numberOfRemovedIds++;
+        lineIndexesById = null;
+    }
+
+    private void rebuildIfSparse() {
+        if (numberOfRemovedIds > MIN_REMOVED_IDS_FOR_REBUILD && numberOfRemovedIds > numberOfLines) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Method to collect the distinct trigrams of the bytes into the trigrams array
+     * @return Number of collected trigrams
+     */
+    private int collectTrigrams(byte[] bytes, int length) {
+        int count = Math.max(0, length - TRIGRAM_LENGTH + 1);
+        if (trigrams.length < count) {
+            trigrams = new int[Math.max(trigrams.length * 2, count)];
+        }
+        for (int i = 0; i < count; i++) {
+            trigrams[i] = (toLowerCase(bytes[i]) << 16) | (toLowerCase(bytes[i + 1]) << 8) | toLowerCase(bytes[i + 2]);
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static int toLowerCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? value + ('a' - 'A') : value & 0xFF;
+    }
+
+    private int[] toLineIndexes(int[] ids, int count) {
+        if (lineIndexesById == null) {
+            lineIndexesById = new int[nextId];
+            Arrays.fill(lineIndexesById, -1);
+            for (int i = 0; i < numberOfLines; i++) {
+                lineIndexesById[lineIds[i]] = i;
+            }
+        }
+        int[] lineIndexes = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (!removedIds.get(ids[i])) {
+                lineIndexes[found++] = lineIndexesById[ids[i]];
+            }
+        }
+        lineIndexes = Arrays.copyOf(lineIndexes, found);
+        Arrays.sort(lineIndexes);
+        return lineIndexes;
+    }
+}
@@ -4,7 +4,11 @@ import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -22,6 +26,9 @@ import static org.junit.Assert.assertThat;
  */
 public class EdiTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private Edi sut;
 
     @Before
@@ -125,4 +132,20 @@ public class EdiTest {
 
         // THEN THROW/CATCH EXCEPTION AND LOG ERROR
     }
-}
\ No newline at end of file
+
+    @Test
+    public void saveContent_shouldWriteAllLinesToFile_whenFileAlreadyExists() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, "Some much longer previous content of the file\n".getBytes());
+        DocumentContent content = new DocumentContentFactoryImpl()
+                .createDocumentContent("First line.\nSecond line.".getBytes());
+        content.getLines().add(1, "Inserted line.".getBytes());
+
+        // WHEN
+        sut.saveContent(content, path.toString());
+
+        // THEN
+        assertThat(new String(Files.readAllBytes(path)), is(equalTo("First line.\nInserted line.\nSecond line.")));
+    }
+}
@@ -2,8 +2,20 @@ package org.lukas.javach;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import org.lukas.javach.diff.DocumentDiffTest;
+import org.lukas.javach.diff.LineHashesTest;
+import org.lukas.javach.diff.MyersDiffTest;
 import org.lukas.javach.document.*;
 import org.lukas.javach.editor.EditorTest;
+import org.lukas.javach.editor.UndoJournalTest;
+import org.lukas.javach.search.AhoCorasickAutomatonTest;
+import org.lukas.javach.search.ByteCharSequenceTest;
+import org.lukas.javach.search.ByteSearcherTest;
+import org.lukas.javach.search.HorspoolMatcherTest;
+import org.lukas.javach.search.MultiPatternSearcherTest;
+import org.lukas.javach.search.PostingListTest;
+import org.lukas.javach.search.RegexSearcherTest;
+import org.lukas.javach.search.TrigramIndexTest;
 
 /**
  * Created by Lukas on 28.07.2019.
@@ -18,6 +30,30 @@ import org.lukas.javach.editor.EditorTest;
         EditorTest.class,
         DocumentMetadataTest.class,
         LineRangeTest.class,
-        TextDocumentTest.class
+        TextDocumentTest.class,
+        MappedTextContentTest.class,
+        LineSplitterTest.class,
+        PieceTableContentTest.class,
+        LineTreeTest.class,
+        DocumentSaverTest.class,
+        DirtyLinesTest.class,
+        MappedLineIndexTest.class,
+        ProgressiveTextContentTest.class,
+        SampledLineIndexTest.class,
+        SampledTextContentTest.class,
+        LineIndexCacheTest.class,
+        TailFollowerTest.class,
+        UndoJournalTest.class,
+        HorspoolMatcherTest.class,
+        ByteSearcherTest.class,
+        PostingListTest.class,
+        TrigramIndexTest.class,
+        ByteCharSequenceTest.class,
+        RegexSearcherTest.class,
+        AhoCorasickAutomatonTest.class,
+        MultiPatternSearcherTest.class,
+        LineHashesTest.class,
+        MyersDiffTest.class,
+        DocumentDiffTest.class
 })
 public class TestSuite {}
@@ -0,0 +1,122 @@
+package org.lukas.javach.diff;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.lukas.javach.document.Document;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+import org.lukas.javach.document.DocumentMetadata;
+import org.lukas.javach.document.TextDocument;
+import org.lukas.javach.editor.Editor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class DocumentDiffTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Document loadDocument(Path path) throws IOException {
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        DocumentMetadata metadata = DocumentMetadata.createBuilder()
+                .setFileName(path.getFileName().toString())
+                .setPath(path)
+                .setLastAccessTime(Instant.now())
+                .setLastModifiedTime(Instant.now())
+                .setCreationTime(Instant.now())
+                .build();
+        return new TextDocument(content, metadata);
+    }
+
+    @Test
+    public void compareWithFile_shouldReturnNoChanges_whenContentIsUnchanged() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile("unchanged.txt").toPath();
+        Files.write(path, "first\r\nsecond\r\n\r\nlast\r\n".getBytes());
+        Document document = loadDocument(path);
+
+        // WHEN
+        List<LineChange> changes = DocumentDiff.compareWithFile(document);
+
+        // THEN
+        assertThat(changes, is(equalTo(Collections.emptyList())));
+    }
+
+    @Test
+    public void compareWithFile_shouldReturnEditedLines_whenContentWasEdited() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile("edited.txt").toPath();
+        Files.write(path, "one\ntwo\nthree\nfour".getBytes());
+        Document document = loadDocument(path);
+        LineHashes hashes = LineHashes.compute(document.getContent());
+        Editor editor = new Editor();
+        editor.openContent(document.getContent());
+        editor.addLineChangeListener(hashes);
+        editor.updateLine(1, "TWO");
+        editor.addLineAtIndex(4, "five");
+
+        // WHEN
+        List<LineChange> changes = DocumentDiff.compareWithFile(document, hashes);
+
+        // THEN
+        assertThat(changes, is(equalTo(Arrays.asList(new LineChange(1, 2, 1, 2), new LineChange(4, 4, 4, 5)))));
+    }
+
+    @Test
+    public void compareWithFile_shouldReturnChangedLines_whenFileWasModifiedExternally() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile("external.txt").toPath();
+        Files.write(path, "one\ntwo\nthree".getBytes());
+        Document document = loadDocument(path);
+        Files.write(path, "one\nthree\nfour".getBytes());
+
+        // WHEN
+        List<LineChange> changes = DocumentDiff.compareWithFile(document);
+
+        // THEN
+        assertThat(changes, is(equalTo(Arrays.asList(new LineChange(1, 1, 1, 2), new LineChange(2, 3, 3, 3)))));
+    }
+
+    @Test
+    public void hashLines_shouldSplitLikeContent_whenFileHasOldMacLineBreaks() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile("mac.txt").toPath();
+        byte[] bytes = "first\rsecond\n still second\r".getBytes();
+        Files.write(path, bytes);
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(bytes);
+
+        // WHEN
+        long[] fileHashes = DocumentDiff.hashLines(path);
+
+        // THEN
+        assertThat(fileHashes, is(equalTo(LineHashes.compute(content).toArray())));
+    }
+
+    @Test
+    public void hashLines_shouldReturnNoLines_whenFileIsEmpty() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile("empty.txt").toPath();
+
+        // WHEN
+        long[] fileHashes = DocumentDiff.hashLines(path);
+
+        // THEN
+        assertThat(fileHashes.length, is(equalTo(0)));
+    }
+}
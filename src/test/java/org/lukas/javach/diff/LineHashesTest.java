@@ -0,0 +1,90 @@
+package org.lukas.javach.diff;
+
+import org.junit.Test;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+import org.lukas.javach.editor.Editor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class LineHashesTest {
+
+    private static DocumentContent createContent(String text) {
+        return new DocumentContentFactoryImpl().createDocumentContent(text.getBytes());
+    }
+
+    @Test
+    public void hash_shouldReturnSameHash_whenBytesAreEqualAtDifferentOffsets() {
+        // GIVEN
+        byte[] first = "a line longer than eight bytes".getBytes();
+        byte[] second = "xxa line longer than eight bytesxx".getBytes();
+
+        // WHEN
+        long firstHash = LineHashes.hash(first, 0, first.length);
+        long secondHash = LineHashes.hash(second, 2, first.length);
+
+        // THEN
+        assertThat(firstHash, is(equalTo(secondHash)));
+    }
+
+    @Test
+    public void hash_shouldReturnDifferentHashes_whenBytesDiffer() {
+        // GIVEN
+        byte[] first = "line 1".getBytes();
+        byte[] second = "line 2".getBytes();
+
+        // WHEN
+        long firstHash = LineHashes.hash(first, 0, first.length);
+        long secondHash = LineHashes.hash(second, 0, second.length);
+
+        // THEN
+        assertThat(firstHash, is(not(equalTo(secondHash))));
+    }
+
+    @Test
+    public void compute_shouldHashEveryLine_whenLinesAreHashedInParallelChunks() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("line ").append(i % 10).append('\n');
+        }
+        DocumentContent content = createContent(text.toString());
+
+        // WHEN
+        LineHashes hashes = LineHashes.compute(content, 7);
+
+        // THEN
+        assertThat(hashes.size(), is(equalTo(1001)));
+        byte[] line = "line 3".getBytes();
+        assertThat(hashes.get(993), is(equalTo(LineHashes.hash(line, 0, line.length))));
+        assertThat(hashes.get(3), is(equalTo(hashes.get(993))));
+    }
+
+    @Test
+    public void get_shouldReturnHashesOfChangedLines_whenEditorChangesContent() {
+        // GIVEN
+        DocumentContent content = createContent("first\nsecond\nthird");
+        LineHashes hashes = LineHashes.compute(content);
+        Editor editor = new Editor();
+        editor.openContent(content);
+        editor.addLineChangeListener(hashes);
+
+        // WHEN
+        editor.updateLine(0, "changed");
+        editor.deleteLineAtIndex(1);
+        editor.addLineAtIndex(1, "inserted");
+        editor.undo();
+
+        // THEN
+        assertThat(hashes.toArray(), is(equalTo(LineHashes.compute(content).toArray())));
+        assertThat(hashes.size(), is(equalTo(2)));
+    }
+}
@@ -0,0 +1,157 @@
+package org.lukas.javach.diff;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class MyersDiffTest {
+
+    @Test
+    public void diff_shouldReturnNoChanges_whenLinesAreEqual() {
+        // GIVEN
+        long[] lines = {1, 2, 3};
+
+        // WHEN
+        List<LineChange> changes = MyersDiff.diff(lines, lines.clone());
+
+        // THEN
+        assertThat(changes, is(equalTo(Collections.emptyList())));
+    }
+
+    @Test
+    public void diff_shouldReturnInsertionDeletionAndReplacement_whenLinesDiffer() {
+        // GIVEN
+        long[] original = {1, 2, 3, 4, 5, 6};
+        long[] revised = {1, 9, 2, 3, 5, 7, 6};
+
+        // WHEN
+        List<LineChange> changes = MyersDiff.diff(original, revised);
+
+        // THEN
+        assertThat(changes, is(equalTo(Arrays.asList(
+                new LineChange(1, 1, 1, 2),
+                new LineChange(3, 4, 4, 4),
+                new LineChange(5, 5, 5, 6)))));
+    }
+
+    @Test
+    public void diff_shouldReturnSingleChange_whenLinesHaveNothingInCommon() {
+        // GIVEN
+        long[] original = {1, 2, 3};
+        long[] revised = {4, 5};
+
+        // WHEN
+        List<LineChange> changes = MyersDiff.diff(original, revised);
+
+        // THEN
+        assertThat(changes, is(equalTo(Collections.singletonList(new LineChange(0, 3, 0, 2)))));
+    }
+
+    @Test
+    public void diff_shouldFindShortestEditScript_whenLinesAreRandom() {
+        // GIVEN
+        Random random = new Random(42);
+
+        for (int run = 0; run < 200; run++) {
+            long[] original = randomLines(random, random.nextInt(40));
+            long[] revised = randomLines(random, random.nextInt(40));
+
+            // WHEN
+            List<LineChange> changes = MyersDiff.diff(original, revised);
+
+            // THEN
+            int edits = 0;
+            for (LineChange change : changes) {
+                edits += change.getOriginalEnd() - change.getOriginalStart();
+                edits += change.getRevisedEnd() - change.getRevisedStart();
+            }
+            int common = longestCommonSubsequence(original, revised);
+            assertThat(edits, is(equalTo(original.length + revised.length - 2 * common)));
+            assertThat(apply(original, revised, changes), is(equalTo(revised)));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void diff_shouldReplaceWholeRange_whenLargeLinesHaveNothingInCommon() {
+        // GIVEN
+        long[] original = new long[200_000];
+        long[] revised = new long[200_000];
+        for (int i = 0; i < original.length; i++) {
+            original[i] = i;
+            revised[i] = -i - 1;
+        }
+
+        // WHEN
+        List<LineChange> changes = MyersDiff.diff(original, revised);
+
+        // THEN
+        assertThat(changes, is(equalTo(Collections.singletonList(new LineChange(0, 200_000, 0, 200_000)))));
+    }
+
+    @Test
+    public void diff_shouldReturnValidChanges_whenEditCostExceedsLimit() {
+        // GIVEN
+        Random random = new Random(42);
+
+        for (int run = 0; run < 200; run++) {
+            long[] original = randomLines(random, random.nextInt(40));
+            long[] revised = randomLines(random, random.nextInt(40));
+
+            // WHEN
+            List<LineChange> changes = MyersDiff.diff(original, revised, 2);
+
+            // THEN
+            assertThat(apply(original, revised, changes), is(equalTo(revised)));
+        }
+    }
+
+    private static long[] randomLines(Random random, int length) {
+        long[] lines = new long[length];
+        for (int i = 0; i < length; i++) {
+            lines[i] = random.nextInt(4);
+        }
+        return lines;
+    }
+
+    private static int longestCommonSubsequence(long[] first, long[] second) {
+        int[][] lengths = new int[first.length + 1][second.length + 1];
+        for (int i = 1; i <= first.length; i++) {
+            for (int j = 1; j <= second.length; j++) {
+                lengths[i][j] = first[i - 1] == second[j - 1]
+                        ? lengths[i - 1][j - 1] + 1 : Math.max(lengths[i - 1][j], lengths[i][j - 1]);
+            }
+        }
+        return lengths[first.length][second.length];
+    }
+
+    private static long[] apply(long[] original, long[] revised, List<LineChange> changes) {
+        long[] result = new long[revised.length];
+        int position = 0;
+        int originalIndex = 0;
+        for (LineChange change : changes) {
+            while (originalIndex < change.getOriginalStart()) {
+                result[position++] = original[originalIndex++];
+            }
+            for (int i = change.getRevisedStart(); i < change.getRevisedEnd(); i++) {
+                result[position++] = revised[i];
+            }
+            originalIndex = change.getOriginalEnd();
+        }
+        while (originalIndex < original.length) {
+            result[position++] = original[originalIndex++];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package org.lukas.javach.document;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class DirtyLinesTest {
+
+    private DirtyLines dirtyLines;
+
+    @Before
+    public void setupTests() {
+        dirtyLines = new DirtyLines();
+    }
+
+    @Test
+    public void isModified_shouldBeFalse_whenNothingWasChanged() {
+        // GIVEN new dirty lines
+
+        // WHEN
+        boolean modified = dirtyLines.isModified();
+
+        // THEN
+        assertThat(modified, is(false));
+        assertThat(dirtyLines.getFirstDirtyLine(), is(equalTo(-1)));
+    }
+
+    @Test
+    public void getRanges_shouldMergeAdjacentLines_whenLinesWereUpdatedWithoutResize() {
+        // GIVEN
+        dirtyLines.lineUpdated(5, false);
+        dirtyLines.lineUpdated(7, false);
+        dirtyLines.lineUpdated(20, false);
+
+        // WHEN
+        dirtyLines.lineUpdated(6, false);
+        Map<Integer, Integer> ranges = dirtyLines.getRanges();
+
+        // THEN
+        assertThat(ranges.size(), is(equalTo(2)));
+        assertThat(ranges.get(5), is(equalTo(8)));
+        assertThat(ranges.get(20), is(equalTo(21)));
+        assertThat(dirtyLines.getFirstDirtyLine(), is(equalTo(5)));
+        assertThat(dirtyLines.isResized(), is(false));
+    }
+
+    @Test
+    public void getFirstDirtyLine_shouldBeTheSmallestIndex_whenLinesWereInsertedAndRemoved() {
+        // GIVEN
+        dirtyLines.lineUpdated(10, false);
+
+        // WHEN
+        dirtyLines.linesInserted(12);
+        dirtyLines.linesRemoved(3);
+
+        // THEN
+        assertThat(dirtyLines.getFirstDirtyLine(), is(equalTo(3)));
+        assertThat(dirtyLines.isResized(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getRanges_shouldThrowIllegalStateException_whenLineLengthChanged() {
+        // GIVEN
+        dirtyLines.lineUpdated(10, true);
+
+        // WHEN
+        dirtyLines.getRanges();
+
+        // THEN throw exception
+    }
+
+    @Test
+    public void clear_shouldResetAllChanges_whenContentWasSaved() {
+        // GIVEN
+        dirtyLines.allLinesChanged();
+
+        // WHEN
+        dirtyLines.clear();
+
+        // THEN
+        assertThat(dirtyLines.isModified(), is(false));
+        assertThat(dirtyLines.isResized(), is(false));
+        assertThat(dirtyLines.getRanges().isEmpty(), is(true));
+    }
+}
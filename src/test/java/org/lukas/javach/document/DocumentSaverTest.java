@@ -0,0 +1,300 @@
+package org.lukas.javach.document;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class DocumentSaverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void save_shouldReplaceFileAndLeaveNoTemporaryFile_whenFileExists() throws IOException {
+        // GIVEN
+        Path path = writeFile("Old content\n");
+        DocumentSaver saver = new DocumentSaver(FsyncPolicy.ALWAYS);
+
+        // WHEN
+        SaveReport report = saver.save(new TextContent("New\ncontent".getBytes()), path);
+
+        // THEN
+        assertThat(new String(Files.readAllBytes(path)), is(equalTo("New\ncontent")));
+        assertThat(report.getBytesWritten(), is(equalTo(11L)));
+        assertThat(report.getFsyncPolicy(), is(equalTo(FsyncPolicy.ALWAYS)));
+        assertThat(temporaryFolder.getRoot().list().length, is(equalTo(1)));
+    }
+
+    @Test
+    public void save_shouldCreateFile_whenFileDoesNotExist() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.getRoot().toPath().resolve("new.txt");
+
+        // WHEN
+        new DocumentSaver(FsyncPolicy.NEVER).save(new TextContent("Content".getBytes()), path);
+
+        // THEN
+        assertThat(new String(Files.readAllBytes(path)), is(equalTo("Content")));
+    }
+
+    @Test
+    public void save_shouldWriteBytesUnchanged_whenBytesHaveMixedLineBreaks() throws IOException {
+        // GIVEN
+        Path path = writeFile("Old content\n");
+        byte[] bytes = "first\r\nsecond\nthird\rlast".getBytes();
+
+        // WHEN
+        SaveReport report = new DocumentSaver().save(ByteBuffer.wrap(bytes), path);
+
+        // THEN
+        assertThat(Files.readAllBytes(path), is(equalTo(bytes)));
+        assertThat(report.getBytesWritten(), is(equalTo((long) bytes.length)));
+        assertThat(temporaryFolder.getRoot().list().length, is(equalTo(1)));
+    }
+
+    @Test
+    public void save_shouldLeaveFileUnchanged_whenWritingContentFails() throws IOException {
+        // GIVEN
+        Path path = writeFile("Old content\n");
+        DocumentContent failingContent = new TextContent("New content".getBytes()) {
+            @Override
+            public long writeTo(WritableByteChannel channel) throws IOException {
+                throw new IOException("Disk full");
+            }
+        };
+
+        // WHEN
+        try {
+            new DocumentSaver().save(failingContent, path);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // THEN
+            assertThat(new String(Files.readAllBytes(path)), is(equalTo("Old content\n")));
+            assertThat(temporaryFolder.getRoot().list().length, is(equalTo(1)));
+        }
+    }
+
+    @Test
+    public void save_shouldPreservePermissions_whenFileIsReplaced() throws IOException {
+        // GIVEN
+        Path path = writeFile("Old content\n");
+        Assume.assumeTrue(Files.getFileAttributeView(path, PosixFileAttributeView.class) != null);
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(path, permissions);
+
+        // WHEN
+        new DocumentSaver().save(new TextContent("New content".getBytes()), path);
+
+        // THEN
+        assertThat(Files.getPosixFilePermissions(path), is(equalTo(permissions)));
+    }
+
+    @Test
+    public void save_shouldCreateFileWithDefaultPermissions_whenFileDoesNotExist() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.getRoot().toPath().resolve("new.txt");
+        Path createdFile = Files.createFile(temporaryFolder.getRoot().toPath().resolve("created.txt"));
+        Assume.assumeTrue(Files.getFileAttributeView(createdFile, PosixFileAttributeView.class) != null);
+
+        // WHEN
+        new DocumentSaver().save(new TextContent("Content".getBytes()), path);
+
+        // THEN
+        assertThat(Files.getPosixFilePermissions(path), is(equalTo(Files.getPosixFilePermissions(createdFile))));
+    }
+
+    @Test
+    public void save_shouldKeepAccessTimeAndUpdateMetadata_whenDocumentIsSaved() throws IOException {
+        // GIVEN
+        Path path = writeFile("Old content\n");
+        Instant lastAccessTime = Instant.now().minus(10, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        DocumentMetadata metadata = DocumentMetadata.createBuilder()
+                .setFileName(path.getFileName().toString())
+                .setPath(path)
+                .setCreationTime(lastAccessTime)
+                .setLastModifiedTime(lastAccessTime)
+                .setLastAccessTime(lastAccessTime)
+                .setRegularFile(true)
+                .setSize(12)
+                .build();
+        Document document = new TextDocument(new TextContent("New content".getBytes()), metadata);
+
+        // WHEN
+        new DocumentSaver(FsyncPolicy.ON_CLOSE).save(document);
+
+        // THEN
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        assertThat(attributes.lastAccessTime(), is(equalTo(FileTime.from(lastAccessTime))));
+        assertThat(document.getMetadata().getSize(), is(equalTo(11L)));
+        assertThat(document.getMetadata().getPath(), is(equalTo(path)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void save_shouldThrowIllegalArgumentException_whenDocumentHasNoPath() throws IOException {
+        // GIVEN
+        Document document = new TextDocument(new TextContent(new byte[0]), DocumentMetadata.EMPTY);
+
+        // WHEN
+        new DocumentSaver().save(document);
+
+        // THEN throw exception
+    }
+
+    @Test
+    public void save_shouldPatchOnlyTheChangedLine_whenLineLengthDidNotChange() throws IOException {
+        // GIVEN
+        Path path = writeFile(numberedLines(100));
+        Document document = loadDocument(path);
+        document.getContent().getLines().set(98, "line XX".getBytes());
+
+        // WHEN
+        SaveReport report = new DocumentSaver().save(document);
+
+        // THEN
+        assertThat(report.getSaveMode(), is(equalTo(SaveMode.IN_PLACE_PATCH)));
+        assertThat(report.getBytesWritten(), is(equalTo(7L)));
+        assertThat(Files.readAllBytes(path), is(equalTo(document.getContent().getBytes())));
+        assertThat(document.getContent().getDirtyLines().isModified(), is(false));
+    }
+
+    @Test
+    public void save_shouldRewriteFromTheFirstChangedLine_whenLinesWereAppended() throws IOException {
+        // GIVEN
+        Path path = writeFile(numberedLines(100));
+        Document document = loadDocument(path);
+        List<byte[]> lines = document.getContent().getLines();
+        lines.add(lines.size(), "appended line".getBytes());
+
+        // WHEN
+        SaveReport report = new DocumentSaver().save(document);
+
+        // THEN
+        assertThat(report.getSaveMode(), is(equalTo(SaveMode.IN_PLACE_SUFFIX)));
+        assertThat(new String(Files.readAllBytes(path)), is(equalTo(numberedLines(100) + "\nappended line")));
+    }
+
+    @Test
+    public void save_shouldTruncateFile_whenLastLinesWereRemoved() throws IOException {
+        // GIVEN
+        Path path = writeFile(numberedLines(100));
+        Document document = loadDocument(path);
+        document.getContent().getLines().subList(90, 100).clear();
+
+        // WHEN
+        SaveReport report = new DocumentSaver().save(document);
+
+        // THEN
+        assertThat(report.getSaveMode(), is(equalTo(SaveMode.IN_PLACE_SUFFIX)));
+        assertThat(new String(Files.readAllBytes(path)), is(equalTo(numberedLines(90))));
+    }
+
+    @Test
+    public void save_shouldRewriteWholeFileAtomically_whenFirstLineChangedItsLength() throws IOException {
+        // GIVEN
+        Path path = writeFile(numberedLines(100));
+        Document document = loadDocument(path);
+        document.getContent().getLines().set(0, "longer first line".getBytes());
+
+        // WHEN
+        SaveReport report = new DocumentSaver().save(document);
+
+        // THEN
+        assertThat(report.getSaveMode(), is(equalTo(SaveMode.ATOMIC_REWRITE)));
+        assertThat(Files.readAllBytes(path), is(equalTo(document.getContent().getBytes())));
+    }
+
+    @Test
+    public void save_shouldRewriteWholeFileAtomically_whenFileWasChangedAfterLoad() throws IOException {
+        // GIVEN
+        Path path = writeFile(numberedLines(100));
+        Document document = loadDocument(path);
+        document.getContent().getLines().set(98, "line XX".getBytes());
+        Files.write(path, "Changed by another program".getBytes());
+
+        // WHEN
+        SaveReport report = new DocumentSaver().save(document);
+
+        // THEN
+        assertThat(report.getSaveMode(), is(equalTo(SaveMode.ATOMIC_REWRITE)));
+        assertThat(Files.readAllBytes(path), is(equalTo(document.getContent().getBytes())));
+    }
+
+    @Test
+    public void save_shouldKeepMappedContentReadable_whenFileWasRewrittenInPlaceTwice() throws IOException {
+        // GIVEN
+        Path path = writeFile(numberedLines(100));
+        Document document = loadDocument(path, new DocumentContentFactoryImpl(1));
+        List<byte[]> lines = document.getContent().getLines();
+        lines.add(95, "inserted line".getBytes());
+        DocumentSaver saver = new DocumentSaver();
+
+        // WHEN
+        SaveReport firstReport = saver.save(document);
+        lines.remove(97);
+        SaveReport secondReport = saver.save(document);
+
+        // THEN
+        assertThat(firstReport.getSaveMode(), is(equalTo(SaveMode.IN_PLACE_SUFFIX)));
+        assertThat(secondReport.getSaveMode(), is(equalTo(SaveMode.IN_PLACE_SUFFIX)));
+        assertThat(new String(lines.get(99)), is(equalTo("line 99")));
+        assertThat(Files.readAllBytes(path), is(equalTo(document.getContent().getBytes())));
+    }
+
+    private Document loadDocument(Path path) throws IOException {
+        return loadDocument(path, new DocumentContentFactoryImpl());
+    }
+
+    private Document loadDocument(Path path, DocumentContentFactory contentFactory) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        DocumentMetadata metadata = DocumentMetadata.createBuilder()
+                .setFileName(path.getFileName().toString())
+                .setPath(path)
+                .setCreationTime(attributes.creationTime().toInstant())
+                .setLastModifiedTime(attributes.lastModifiedTime().toInstant())
+                .setLastAccessTime(attributes.lastAccessTime().toInstant())
+                .setRegularFile(attributes.isRegularFile())
+                .setSize(attributes.size())
+                .build();
+        return new TextDocument(contentFactory.createDocumentContent(path), metadata);
+    }
+
+    private String numberedLines(int numberOfLines) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < numberOfLines; i++) {
+            text.append(i > 0 ? "\n" : "").append(String.format("line %02d", i));
+        }
+        return text.toString();
+    }
+
+    private Path writeFile(String text) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return path;
+    }
+}
@@ -0,0 +1,156 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class LineIndexCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void load_shouldReturnStoredLineStarts_whenFileDidNotChange() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\r\nsecond\r\n\r\nlast");
+        MappedFile file = MappedFile.map(path);
+        MappedLineIndex index = new MappedLineIndex(file);
+        index.indexAll();
+        LineIndexCache cache = new LineIndexCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+        cache.store(path, file, index);
+
+        // WHEN
+        MappedLineIndex loadedIndex = cache.load(path, MappedFile.map(path));
+
+        // THEN
+        assertThat(loadedIndex, is(notNullValue()));
+        assertThat(loadedIndex.isComplete(), is(true));
+        assertThat(loadedIndex.getLineBreak(), is(equalTo(WINDOWS_LINE_BREAK)));
+        assertThat(loadedIndex.size(), is(equalTo(index.size())));
+        for (int i = 0; i < index.size(); i++) {
+            assertThat(loadedIndex.get(i), is(equalTo(index.get(i))));
+        }
+    }
+
+    @Test
+    public void load_shouldReturnNull_whenFileWasModifiedAfterIndexWasStored() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsecond");
+        MappedFile file = MappedFile.map(path);
+        MappedLineIndex index = new MappedLineIndex(file);
+        index.indexAll();
+        LineIndexCache cache = new LineIndexCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+        cache.store(path, file, index);
+        Files.write(path, "fir\nst\nsecond".getBytes());
+
+        // WHEN
+        MappedLineIndex loadedIndex = cache.load(path, MappedFile.map(path));
+
+        // THEN
+        assertThat(loadedIndex, is(nullValue()));
+    }
+
+    @Test
+    public void load_shouldReturnNull_whenContentChangedButSizeAndModificationTimeAreKept() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsecond");
+        FileTime lastModifiedTime = Files.getLastModifiedTime(path);
+        MappedFile file = MappedFile.map(path);
+        MappedLineIndex index = new MappedLineIndex(file);
+        index.indexAll();
+        LineIndexCache cache = new LineIndexCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+        cache.store(path, file, index);
+        Files.write(path, "fir\nsecond\n".getBytes());
+        Files.setLastModifiedTime(path, lastModifiedTime);
+
+        // WHEN
+        MappedLineIndex loadedIndex = cache.load(path, MappedFile.map(path));
+
+        // THEN
+        assertThat(loadedIndex, is(nullValue()));
+    }
+
+    @Test
+    public void createDocumentContent_shouldStoreLineIndexAndReuseIt_whenFileIsOpenedTwice() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsecond\nthird");
+        LineIndexCache cache = new LineIndexCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+        DocumentContentFactory factory = new DocumentContentFactoryImpl(0, false, cache);
+        factory.createDocumentContent(path);
+
+        // WHEN
+        DocumentContent content = factory.createDocumentContent(path);
+
+        // THEN
+        assertThat(Files.exists(cache.getSidecar(path)), is(true));
+        assertThat(content.getNumberOfLines(), is(equalTo(3)));
+        assertThat(new String(content.getLines().get(2)), is(equalTo("third")));
+    }
+
+    @Test
+    public void store_shouldStoreLineStartsAsInts_whenFileIsSmallerThanFourGigabytes() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsecond\nthird");
+        MappedFile file = MappedFile.map(path);
+        MappedLineIndex index = new MappedLineIndex(file);
+        index.indexAll();
+        LineIndexCache cache = new LineIndexCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+
+        // WHEN
+        cache.store(path, file, index);
+
+        // THEN
+        assertThat(Files.size(cache.getSidecar(path)), is(equalTo(48L + 3 * Integer.BYTES)));
+    }
+
+    @Test
+    public void store_shouldEvictLeastRecentlyUsedIndex_whenCacheExceedsMaximalSize() throws IOException {
+        // GIVEN
+        Path first = writeFile("a\nb");
+        Path second = writeFile("c\nd");
+        Path third = writeFile("e\nf");
+        LineIndexCache cache = new LineIndexCache(temporaryFolder.getRoot().toPath().resolve("cache"), 120);
+        storeIndex(cache, first);
+        storeIndex(cache, second);
+        Files.setLastModifiedTime(cache.getSidecar(second), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(cache.getSidecar(first), FileTime.fromMillis(2000));
+
+        // WHEN
+        storeIndex(cache, third);
+
+        // THEN
+        assertThat(Files.exists(cache.getSidecar(first)), is(true));
+        assertThat(Files.exists(cache.getSidecar(second)), is(false));
+        assertThat(Files.exists(cache.getSidecar(third)), is(true));
+    }
+
+    private static void storeIndex(LineIndexCache cache, Path path) throws IOException {
+        MappedFile file = MappedFile.map(path);
+        MappedLineIndex index = new MappedLineIndex(file);
+        index.indexAll();
+        cache.store(path, file, index);
+    }
+
+    private Path writeFile(String text) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return path;
+    }
+}
@@ -0,0 +1,213 @@
+package org.lukas.javach.document;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class LineSplitterTest {
+
+    private LineSplitter lineSplitter;
+
+    @Before
+    public void setupTests() {
+        lineSplitter = new LineSplitter();
+    }
+
+    @Test
+    public void findLineStarts_shouldReturnEmptyArray_whenContentIsEmpty() {
+        // GIVEN
+        byte[] bytes = new byte[0];
+
+        // WHEN
+        int[] lineStarts = lineSplitter.findLineStarts(bytes, UNIX_LINE_BREAK);
+
+        // THEN
+        assertThat(lineStarts.length, is(equalTo(0)));
+    }
+
+    @Test
+    public void findLineStarts_shouldFindLineBreaks_whenLineBreaksAreAtEveryPositionOfAWord() {
+        // GIVEN
+        byte[] bytes = "\n1\n23\n456\n7890\n12345\n123456\n1234567\n\n".getBytes();
+
+        // WHEN
+        int[] lineStarts = lineSplitter.findLineStarts(bytes, UNIX_LINE_BREAK);
+
+        // THEN
+        assertThat(lineStarts, is(equalTo(new int[]{0, 1, 3, 6, 10, 15, 21, 28, 36, 37})));
+    }
+
+    @Test
+    public void findLineStarts_shouldFindWindowsLineBreak_whenCarriageReturnIsLastByteOfAWord() {
+        // GIVEN
+        byte[] bytes = "1234567\r\n12\r34567\r\n".getBytes();
+
+        // WHEN
+        int[] lineStarts = lineSplitter.findLineStarts(bytes, WINDOWS_LINE_BREAK);
+
+        // THEN
+        assertThat(lineStarts, is(equalTo(new int[]{0, 9, 19})));
+    }
+
+    @Test
+    public void findLineStarts_shouldIgnoreBytesWithHighBitSet_whenLookingForLineBreaks() {
+        // GIVEN
+        byte[] bytes = {(byte) 0x8A, (byte) 0x8D, (byte) 0xFF, 0x0A, (byte) 0x80, 0x0B, 0x09, (byte) 0x8A, 0x0A};
+
+        // WHEN
+        int[] lineStarts = lineSplitter.findLineStarts(bytes, UNIX_LINE_BREAK);
+
+        // THEN
+        assertThat(lineStarts, is(equalTo(new int[]{0, 4, 9})));
+    }
+
+    @Test
+    public void split_shouldReturnTheSameLinesAsByteByByteSplitting_forEveryLineBreak() {
+        // GIVEN
+        Random random = new Random(17);
+        byte[] alphabet = {'a', 'b', 0x0D, 0x0A, (byte) 0x8D, (byte) 0x8A};
+        byte[] bytes = new byte[4096];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+
+        for (LineBreak lineBreak : new LineBreak[]{WINDOWS_LINE_BREAK, UNIX_LINE_BREAK, OLD_MAC_LINE_BREAK}) {
+            // WHEN
+            List<byte[]> lines = lineSplitter.split(bytes, lineBreak);
+
+            // THEN
+            List<byte[]> expectedLines = splitByteByByte(bytes, lineBreak.getBytes());
+            assertThat(lines.size(), is(equalTo(expectedLines.size())));
+            for (int i = 0; i < lines.size(); i++) {
+                assertThat(lines.get(i), is(equalTo(expectedLines.get(i))));
+            }
+        }
+    }
+
+    @Test
+    public void findLineStarts_shouldReturnTheSameLineStartsAsSequentialSplitting_whenSplitInParallelChunks() {
+        // GIVEN
+        Random random = new Random(4);
+        byte[] alphabet = {'a', 'b', 'c', 0x0D, 0x0A};
+        byte[] bytes = new byte[10_000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        LineSplitter parallelLineSplitter = new LineSplitter(0, 7);
+
+        for (LineBreak lineBreak : new LineBreak[]{WINDOWS_LINE_BREAK, UNIX_LINE_BREAK, OLD_MAC_LINE_BREAK}) {
+            // WHEN
+            int[] lineStarts = parallelLineSplitter.findLineStarts(bytes, lineBreak);
+
+            // THEN
+            assertThat(lineStarts, is(equalTo(lineSplitter.findLineStarts(bytes, lineBreak))));
+        }
+    }
+
+    @Test
+    public void findLineStarts_shouldFindWindowsLineBreakOnce_whenLineBreakStraddlesChunkBoundary() {
+        // GIVEN
+        byte[] bytes = "abc\r\ndef\r\r\n".getBytes();
+        LineSplitter parallelLineSplitter = new LineSplitter(0, 4);
+
+        // WHEN
+        int[] lineStarts = parallelLineSplitter.findLineStarts(bytes, WINDOWS_LINE_BREAK);
+
+        // THEN
+        assertThat(lineStarts, is(equalTo(new int[]{0, 5, 11})));
+    }
+
+    @Test
+    public void findLineStarts_shouldDetectTheSameLineBreakAsResolveLineBreak_whenLineBreakIsNotGiven() {
+        // GIVEN
+        Random random = new Random(5);
+        byte[] alphabet = {'a', 'b', 'c', 'd', 'e', 'f', 0x0D, 0x0A};
+
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+
+            // WHEN
+            int[] lineStarts = lineSplitter.findLineStarts(bytes);
+
+            // THEN
+            LineBreak expectedLineBreak = LineBreak.resolveLineBreak(bytes);
+            LineBreak lineBreak = lineSplitter.getLineBreak();
+            if (lineBreak == UNDEFINED_LINE_BREAK) {
+                assertThat(lineStarts.length, is(equalTo(length == 0 ? 0 : 1)));
+            } else {
+                assertThat(lineBreak, is(equalTo(expectedLineBreak)));
+                assertThat(lineStarts, is(equalTo(new LineSplitter().findLineStarts(bytes, expectedLineBreak))));
+            }
+        }
+    }
+
+    @Test
+    public void getLineBreakStatistics_shouldCountEveryKindOfLineBreak_whenContentHasMixedLineBreaks() {
+        // GIVEN
+        byte[] bytes = "one\r\ntwo\nthree\rfour\r\n\n\r".getBytes();
+
+        // WHEN
+        int[] lineStarts = lineSplitter.findLineStarts(bytes);
+        LineBreakStatistics statistics = lineSplitter.getLineBreakStatistics();
+
+        // THEN
+        assertThat(lineSplitter.getLineBreak(), is(equalTo(WINDOWS_LINE_BREAK)));
+        assertThat(lineStarts, is(equalTo(new int[]{0, 5, 21})));
+        assertThat(statistics.getWindowsLineBreakCount(), is(equalTo(2L)));
+        assertThat(statistics.getUnixLineBreakCount(), is(equalTo(2L)));
+        assertThat(statistics.getOldMacLineBreakCount(), is(equalTo(2L)));
+        assertThat(statistics.isMixed(), is(true));
+    }
+
+    @Test
+    public void getLineBreakStatistics_shouldCountWindowsLineBreaksOnce_whenSplitInParallelChunks() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("line ").append(i).append("\r\n");
+        }
+        LineSplitter parallelLineSplitter = new LineSplitter(0, 3);
+
+        // WHEN
+        int[] lineStarts = parallelLineSplitter.findLineStarts(text.toString().getBytes());
+        LineBreakStatistics statistics = parallelLineSplitter.getLineBreakStatistics();
+
+        // THEN
+        assertThat(lineStarts.length, is(equalTo(101)));
+        assertThat(statistics.getWindowsLineBreakCount(), is(equalTo(100L)));
+        assertThat(statistics.getUnixLineBreakCount(), is(equalTo(0L)));
+        assertThat(statistics.getOldMacLineBreakCount(), is(equalTo(0L)));
+        assertThat(statistics.isMixed(), is(false));
+    }
+
+    private List<byte[]> splitByteByByte(byte[] bytes, byte[] lineBreak) {
+        List<byte[]> lines = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i <= bytes.length - lineBreak.length; i++) {
+            if (bytes[i] == lineBreak[0] && (lineBreak.length == 1 || bytes[i + 1] == lineBreak[1])) {
+                lines.add(Arrays.copyOfRange(bytes, lineStart, i));
+                lineStart = i + lineBreak.length;
+                i += lineBreak.length - 1;
+            }
+        }
+        lines.add(Arrays.copyOfRange(bytes, lineStart, bytes.length));
+        return lines;
+    }
+}
@@ -0,0 +1,200 @@
+package org.lukas.javach.document;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class LineTreeTest {
+
+    @Test
+    public void get_shouldReadLinesFromSource_whenTreeWasNotModified() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(1000));
+
+        // WHEN
+        byte[] line = lineTree.get(777);
+
+        // THEN
+        assertThat(lineTree.size(), is(equalTo(1000)));
+        assertThat(new String(line), is(equalTo("777")));
+    }
+
+    @Test
+    public void size_shouldBeZero_whenSourceIsEmpty() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(0));
+
+        // WHEN
+        lineTree.add(0, "first".getBytes());
+
+        // THEN
+        assertThat(lineTree.size(), is(equalTo(1)));
+        assertThat(new String(lineTree.get(0)), is(equalTo("first")));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_shouldThrowIndexOutOfBoundsException_whenIndexIsEqualToSize() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(10));
+
+        // WHEN
+        lineTree.get(10);
+
+        // THEN throw exception
+    }
+
+    @Test
+    public void add_shouldReportRangeOfValidIndexes_whenIndexIsBiggerThanSize() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(10));
+
+        // WHEN
+        try {
+            lineTree.add(11, "line".getBytes());
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // THEN
+            assertThat(e.getMessage(), is(equalTo("Index: 11 is out of range [0, 11)")));
+        }
+    }
+
+    @Test
+    public void add_shouldKeepTreeShallow_whenManyLinesAreInsertedAtTheBegin() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(0));
+
+        // WHEN
+        for (int i = 0; i < 100_000; i++) {
+            lineTree.add(0, ("line " + i).getBytes());
+        }
+
+        // THEN
+        assertThat(lineTree.size(), is(equalTo(100_000)));
+        assertThat(new String(lineTree.get(0)), is(equalTo("line 99999")));
+        assertThat(new String(lineTree.get(99_999)), is(equalTo("line 0")));
+        assertThat(lineTree.getHeight(), is(lessThanOrEqualTo(4)));
+    }
+
+    @Test
+    public void removeRange_shouldRemoveLinesAcrossManyLeaves_whenRangeIsCleared() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(100_000));
+
+        // WHEN
+        lineTree.subList(10, 99_990).clear();
+
+        // THEN
+        assertThat(lineTree.size(), is(equalTo(20)));
+        assertThat(new String(lineTree.get(9)), is(equalTo("9")));
+        assertThat(new String(lineTree.get(10)), is(equalTo("99990")));
+        assertThat(lineTree.getHeight(), is(lessThanOrEqualTo(2)));
+    }
+
+    @Test
+    public void operations_shouldMatchArrayList_whenManyRandomEditsWereMade() {
+        // GIVEN
+        Random random = new Random(7);
+        NumberedLineSource source = new NumberedLineSource(5000);
+        LineTree lineTree = new LineTree(source);
+        List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < source.getNumberOfLines(); i++) {
+            expected.add(source.readLine(i));
+        }
+
+        // WHEN
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(5);
+            byte[] line = ("edit " + i).getBytes();
+            if (operation <= 1 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, line);
+                lineTree.add(index, line);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertThat(lineTree.set(index, line), is(equalTo(expected.set(index, line))));
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                assertThat(lineTree.remove(index), is(equalTo(expected.remove(index))));
+            } else {
+                int fromIndex = random.nextInt(expected.size());
+                int toIndex = fromIndex + random.nextInt(Math.min(200, expected.size() - fromIndex) + 1);
+                expected.subList(fromIndex, toIndex).clear();
+                lineTree.subList(fromIndex, toIndex).clear();
+            }
+        }
+
+        // THEN
+        assertThat(lineTree.size(), is(equalTo(expected.size())));
+        long length = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(lineTree.get(i), is(equalTo(expected.get(i))));
+            assertThat(lineTree.lengthBefore(i), is(equalTo(length)));
+            length += expected.get(i).length;
+        }
+        assertThat(lineTree.lengthBefore(expected.size()), is(equalTo(length)));
+    }
+
+    @Test
+    public void writeTo_shouldWriteOnlyTheRequestedLines_whenRangeSpansManyLeaves() throws IOException {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(1000));
+        lineTree.set(500, "edited".getBytes());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        long written = lineTree.writeTo(Channels.newChannel(outputStream), ",".getBytes(), 498, 503);
+
+        // THEN
+        assertThat(new String(outputStream.toByteArray()), is(equalTo("498,499,edited,501,502")));
+        assertThat(written, is(equalTo(22L)));
+    }
+
+    @Test
+    public void getDirtyLines_shouldContainTheFirstChangedLine_whenLinesWereEdited() {
+        // GIVEN
+        LineTree lineTree = new LineTree(new NumberedLineSource(1000));
+
+        // WHEN
+        lineTree.set(700, "777".getBytes());
+        lineTree.remove(300);
+
+        // THEN
+        assertThat(lineTree.getDirtyLines().getFirstDirtyLine(), is(equalTo(300)));
+        assertThat(lineTree.getDirtyLines().isResized(), is(true));
+    }
+
+    private static class NumberedLineSource implements LineSource {
+
+        private final int numberOfLines;
+
+        private NumberedLineSource(int numberOfLines) {
+            this.numberOfLines = numberOfLines;
+        }
+
+        @Override
+        public int getNumberOfLines() {
+            return numberOfLines;
+        }
+
+        @Override
+        public byte[] readLine(int index) {
+            return String.valueOf(index).getBytes();
+        }
+    }
+}
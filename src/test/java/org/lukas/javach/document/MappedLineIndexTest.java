@@ -0,0 +1,76 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class MappedLineIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void indexUntil_shouldStopIndexing_whenRequestedNumberOfLinesIsKnown() throws IOException {
+        // GIVEN
+        MappedLineIndex index = new MappedLineIndex(mapFile("a\nb\nc\nd\ne\nf\ng\nh\n", 8), 4);
+
+        // WHEN
+        index.indexUntil(2);
+
+        // THEN
+        assertThat(index.isComplete(), is(false));
+        assertThat(index.size(), is(lessThan(9)));
+        assertThat(index.get(1), is(equalTo(2L)));
+    }
+
+    @Test
+    public void indexAll_shouldFindWindowsLineBreaks_whenLineBreakIsSplitBetweenChunksAndRegions() throws IOException {
+        // GIVEN
+        MappedLineIndex index = new MappedLineIndex(mapFile("abcdefg\r\nhijklm\r\n", 8), 4);
+
+        // WHEN
+        index.indexAll();
+
+        // THEN
+        assertThat(index.getLineBreak(), is(equalTo(WINDOWS_LINE_BREAK)));
+        assertThat(index.isComplete(), is(true));
+        assertThat(index.size(), is(equalTo(3)));
+        assertThat(index.get(1), is(equalTo(9L)));
+        assertThat(index.get(2), is(equalTo(17L)));
+    }
+
+    @Test
+    public void isComplete_shouldBeTrue_whenFileHasNoLineBreak() throws IOException {
+        // GIVEN
+        MappedLineIndex index = new MappedLineIndex(mapFile("single line", 8));
+
+        // WHEN
+        boolean complete = index.isComplete();
+
+        // THEN
+        assertThat(complete, is(true));
+        assertThat(index.size(), is(equalTo(1)));
+        assertThat(index.getLineBreak(), is(equalTo(UNDEFINED_LINE_BREAK)));
+    }
+
+    private MappedFile mapFile(String text, int regionSize) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return MappedFile.map(path, regionSize);
+    }
+}
@@ -0,0 +1,209 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class MappedTextContentTest {
+
+    private static final int SMALL_REGION_SIZE = 8;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getLines_shouldReturnEmptyList_whenFileIsEmpty() throws IOException {
+        // GIVEN
+        MappedTextContent content = mapContent("", SMALL_REGION_SIZE);
+
+        // WHEN
+        List<byte[]> lines = content.getLines();
+
+        // THEN
+        assertThat(lines.isEmpty(), is(true));
+        assertThat(content.getLineBreak().getBytes(), is(equalTo(System.lineSeparator().getBytes())));
+    }
+
+    @Test
+    public void getLines_shouldReturnTheSameLinesAsTextContent_whenLinesSpanMultipleRegions() throws IOException {
+        // GIVEN
+        String text = "First line\nThe second line\n\nA line which is longer than a single region\n";
+        MappedTextContent content = mapContent(text, SMALL_REGION_SIZE);
+        TextContent expected = new TextContent(text.getBytes());
+
+        // WHEN
+        List<byte[]> lines = content.getLines();
+
+        // THEN
+        assertThat(content.getLineBreak(), is(equalTo(LineBreak.UNIX_LINE_BREAK)));
+        assertThat(lines.size(), is(equalTo(expected.getNumberOfLines())));
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i), is(equalTo(expected.getLines().get(i))));
+        }
+    }
+
+    @Test
+    public void getLines_shouldSplitWindowsLineBreak_whenCarriageReturnAndLineFeedAreInDifferentRegions() throws IOException {
+        // GIVEN
+        String text = "1234567\r\n89\r\nlast";
+
+        // WHEN
+        MappedTextContent content = mapContent(text, SMALL_REGION_SIZE);
+
+        // THEN
+        assertThat(content.getLineBreak(), is(equalTo(LineBreak.WINDOWS_LINE_BREAK)));
+        assertThat(content.getNumberOfLines(), is(equalTo(3)));
+        assertThat(content.getLines().get(0), is(equalTo("1234567".getBytes())));
+        assertThat(content.getLines().get(1), is(equalTo("89".getBytes())));
+        assertThat(content.getLines().get(2), is(equalTo("last".getBytes())));
+    }
+
+    @Test
+    public void getLines_shouldSplitOldMacLineBreak_whenFileUsesCarriageReturnOnly() throws IOException {
+        // GIVEN
+        String text = "\rFirst\rSecond\r";
+
+        // WHEN
+        MappedTextContent content = mapContent(text, SMALL_REGION_SIZE);
+
+        // THEN
+        assertThat(content.getLineBreak(), is(equalTo(LineBreak.OLD_MAC_LINE_BREAK)));
+        assertThat(content.getNumberOfLines(), is(equalTo(4)));
+        assertThat(content.getLines().get(1), is(equalTo("First".getBytes())));
+        assertThat(content.getLines().get(3).length, is(equalTo(0)));
+    }
+
+    @Test
+    public void getBytes_shouldReturnTheFileContent_whenNoChangesWereMade() throws IOException {
+        // GIVEN
+        String text = "First line\r\nThe second line\r\nThird line\r\n";
+        MappedTextContent content = mapContent(text, SMALL_REGION_SIZE);
+
+        // WHEN
+        byte[] bytes = content.getBytes();
+
+        // THEN
+        assertThat(bytes, is(equalTo(text.getBytes())));
+    }
+
+    @Test
+    public void getBytes_shouldContainModifiedLines_whenLinesWereUpdatedAddedAndRemoved() throws IOException {
+        // GIVEN
+        MappedTextContent content = mapContent("First\nSecond\nThird", SMALL_REGION_SIZE);
+
+        // WHEN
+        content.getLines().set(1, "Changed".getBytes());
+        content.getLines().add(0, "Added".getBytes());
+        content.getLines().remove(3);
+
+        // THEN
+        assertThat(new String(content.getBytes()), is(equalTo("Added\nFirst\nChanged")));
+    }
+
+    @Test
+    public void getLineRange_shouldReturnLinesOfTheRange_whenRangeInTheMiddleOfTheFile() throws IOException {
+        // GIVEN
+        MappedTextContent content = mapContent("First line.\nSecond line.\nThird line.", SMALL_REGION_SIZE);
+
+        // WHEN
+        LineRange lineRange = content.getLineRange(1, 2);
+
+        // THEN
+        assertThat(lineRange.size(), is(equalTo(1)));
+        assertThat(lineRange.getStartIndex(), is(equalTo(1)));
+        assertThat(lineRange.getEndIndex(), is(equalTo(2)));
+        assertThat(lineRange.getLines().get(0), is(equalTo("Second line.".getBytes())));
+    }
+
+    @Test
+    public void createDocumentContent_shouldReturnMappedContent_whenFileReachesMappingThreshold() throws IOException {
+        // GIVEN
+        Path path = writeFile("Some content\n");
+        DocumentContentFactory contentFactory = new DocumentContentFactoryImpl(1);
+
+        // WHEN
+        DocumentContent content = contentFactory.createDocumentContent(path);
+
+        // THEN
+        assertThat(content, is(instanceOf(MappedTextContent.class)));
+        assertThat(content.getNumberOfLines(), is(equalTo(2)));
+    }
+
+    @Test
+    public void createDocumentContent_shouldReturnTextContent_whenFileIsSmallerThanMappingThreshold() throws IOException {
+        // GIVEN
+        Path path = writeFile("Some content\n");
+        DocumentContentFactory contentFactory = new DocumentContentFactoryImpl();
+
+        // WHEN
+        DocumentContent content = contentFactory.createDocumentContent(path);
+
+        // THEN
+        assertThat(content, is(instanceOf(TextContent.class)));
+    }
+
+    @Test
+    public void writeTo_shouldWriteLinesCrossingRegions_whenContentIsSavedToFile() throws IOException {
+        // GIVEN
+        String text = "First line.\nSecond line.\nThird line.\n";
+        MappedTextContent content = mapContent(text, SMALL_REGION_SIZE);
+        content.getLines().set(1, "Edited.".getBytes());
+        Path target = temporaryFolder.newFile().toPath();
+
+        // WHEN
+        long written;
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            written = content.writeTo(channel);
+        }
+
+        // THEN
+        assertThat(new String(Files.readAllBytes(target)), is(equalTo("First line.\nEdited.\nThird line.\n")));
+        assertThat(written, is(equalTo(Files.size(target))));
+    }
+
+
+    @Test
+    public void copyLine_shouldCopyLinesCrossingRegionsAndUpdatedLines_whenBufferIsReused() throws IOException {
+        // GIVEN
+        MappedTextContent content = mapContent("first line\nsecond line\nthird", SMALL_REGION_SIZE);
+        content.getLines().set(2, "updated".getBytes());
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+
+        // WHEN
+        int firstLength = content.copyLine(1, buffer);
+        int secondLength = content.copyLine(2, buffer);
+
+        // THEN
+        assertThat(firstLength, is(equalTo(11)));
+        assertThat(secondLength, is(equalTo(7)));
+        assertThat(new String(buffer.array(), 0, buffer.position()), is(equalTo("second lineupdated")));
+    }
+
+    private MappedTextContent mapContent(String text, int regionSize) throws IOException {
+        return new MappedTextContent(MappedFile.map(writeFile(text), regionSize));
+    }
+
+    private Path writeFile(String text) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return path;
+    }
+}
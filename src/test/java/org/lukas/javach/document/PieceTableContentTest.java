@@ -0,0 +1,186 @@
+package org.lukas.javach.document;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class PieceTableContentTest {
+
+    private PieceTableContent content;
+
+    @Test
+    public void getLines_shouldReturnTheSameLinesAsTextContent_whenNoChangesWereMade() {
+        // GIVEN
+        String text = "\r\nFirst line.\r\nSecond line.\r\n\r\nThird line.\r\n";
+
+        // WHEN
+        content = new PieceTableContent(text.getBytes());
+
+        // THEN
+        assertSameLines(content.getLines(), new TextContent(text.getBytes()).getLines());
+        assertThat(content.getLineBreak(), is(equalTo(WINDOWS_LINE_BREAK)));
+        assertThat(content.getBytes(), is(equalTo(text.getBytes())));
+    }
+
+    @Test
+    public void getLines_shouldReturnEmptyList_whenContentIsEmpty() {
+        // GIVEN
+        content = new PieceTableContent(new byte[0]);
+
+        // WHEN
+        List<byte[]> lines = content.getLines();
+
+        // THEN
+        assertThat(lines.isEmpty(), is(true));
+        assertThat(content.getBytes().length, is(equalTo(0)));
+    }
+
+    @Test
+    public void add_shouldInsertLineWithoutCopyingOtherLines_whenLineIsInsertedInTheMiddle() {
+        // GIVEN
+        content = new PieceTableContent("First\nSecond\nThird".getBytes());
+
+        // WHEN
+        content.getLines().add(1, "Inserted".getBytes());
+
+        // THEN
+        assertThat(new String(content.getBytes()), is(equalTo("First\nInserted\nSecond\nThird")));
+        assertThat(content.getNumberOfLines(), is(equalTo(4)));
+        assertThat(content.getNumberOfPieces(), is(equalTo(3)));
+    }
+
+    @Test
+    public void add_shouldAppendLine_whenIndexIsEqualToNumberOfLines() {
+        // GIVEN
+        content = new PieceTableContent("First\nSecond".getBytes());
+
+        // WHEN
+        content.getLines().add(2, "Third".getBytes());
+
+        // THEN
+        assertThat(new String(content.getBytes()), is(equalTo("First\nSecond\nThird")));
+    }
+
+    @Test
+    public void remove_shouldLeaveEmptyContent_whenAllLinesAreRemoved() {
+        // GIVEN
+        content = new PieceTableContent("First\nSecond".getBytes());
+
+        // WHEN
+        content.getLines().remove(1);
+        content.getLines().remove(0);
+
+        // THEN
+        assertThat(content.getNumberOfLines(), is(equalTo(0)));
+        assertThat(content.getBytes().length, is(equalTo(0)));
+    }
+
+    @Test
+    public void set_shouldKeepLineBreakBytesInsideTheLine_whenNewLineContainsLineBreak() {
+        // GIVEN
+        content = new PieceTableContent("First\nSecond".getBytes());
+
+        // WHEN
+        content.getLines().set(0, "Fir\nst".getBytes());
+
+        // THEN
+        assertThat(content.getNumberOfLines(), is(equalTo(2)));
+        assertThat(content.getLines().get(0), is(equalTo("Fir\nst".getBytes())));
+        assertThat(content.getLines().get(1), is(equalTo("Second".getBytes())));
+    }
+
+    @Test
+    public void getBytes_shouldSeparateLinesWithTheNewLineBreak_whenLineBreakWasChanged() {
+        // GIVEN
+        content = new PieceTableContent("First\nSecond\nThird".getBytes());
+        content.getLines().add(1, "Inserted".getBytes());
+
+        // WHEN
+        content.setLineBreak(WINDOWS_LINE_BREAK);
+
+        // THEN
+        assertThat(new String(content.getBytes()), is(equalTo("First\r\nInserted\r\nSecond\r\nThird")));
+    }
+
+    @Test
+    public void getLines_shouldMatchArrayList_whenManyRandomEditsWereMade() {
+        // GIVEN
+        Random random = new Random(6);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        content = new PieceTableContent(text.toString().getBytes());
+        List<byte[]> expected = new ArrayList<>(new TextContent(text.toString().getBytes()).getLines());
+        List<byte[]> lines = content.getLines();
+
+        // WHEN
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(4);
+            byte[] line = ("edit " + i).getBytes();
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, line);
+                lines.add(index, line);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, random.nextBoolean() ? line : new byte[0]);
+                lines.set(index, expected.get(index));
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertThat(lines.remove(index), is(equalTo(expected.remove(index))));
+            } else {
+                int fromIndex = random.nextInt(expected.size());
+                int toIndex = fromIndex + random.nextInt(Math.min(5, expected.size() - fromIndex) + 1);
+                expected.subList(fromIndex, toIndex).clear();
+                lines.subList(fromIndex, toIndex).clear();
+            }
+
+            // THEN
+            assertThat(lines.size(), is(equalTo(expected.size())));
+        }
+        assertSameLines(lines, expected);
+        assertThat(content.getNumberOfPieces(), is(lessThan(5000)));
+    }
+
+    @Test
+    public void writeTo_shouldWriteTheSameBytesAsGetBytes_whenLineBreakWasChanged() throws IOException {
+        // GIVEN
+        content = new PieceTableContent("First\nSecond\nThird".getBytes());
+        content.getLines().add(1, "Inserted".getBytes());
+        ByteArrayOutputStream unchangedOutput = new ByteArrayOutputStream();
+        ByteArrayOutputStream changedOutput = new ByteArrayOutputStream();
+
+        // WHEN
+        content.writeTo(Channels.newChannel(unchangedOutput));
+        content.setLineBreak(WINDOWS_LINE_BREAK);
+        content.writeTo(Channels.newChannel(changedOutput));
+
+        // THEN
+        assertThat(new String(unchangedOutput.toByteArray()), is(equalTo("First\nInserted\nSecond\nThird")));
+        assertThat(changedOutput.toByteArray(), is(equalTo(content.getBytes())));
+    }
+
+    private void assertSameLines(List<byte[]> lines, List<byte[]> expected) {
+        assertThat(lines.size(), is(equalTo(expected.size())));
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i), is(equalTo(expected.get(i))));
+        }
+    }
+}
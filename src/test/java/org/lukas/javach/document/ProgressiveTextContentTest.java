@@ -0,0 +1,108 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class ProgressiveTextContentTest {
+
+    private static final int NUMBER_OF_LINES = 10_000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getLines_shouldReturnTheFirstLines_whenContentWasJustCreated() throws IOException {
+        // GIVEN
+        MappedFile file = mapFile(numberedLines());
+
+        // WHEN
+        ProgressiveTextContent content = new ProgressiveTextContent(file, new MappedLineIndex(file, 64), 10);
+
+        // THEN
+        int numberOfLines = content.getNumberOfLines();
+        assertThat(numberOfLines, is(greaterThanOrEqualTo(10)));
+        assertThat(numberOfLines, is(lessThanOrEqualTo(NUMBER_OF_LINES)));
+        assertThat(new String(content.getLines().get(9)), is(equalTo("line 9")));
+        assertThat(content.getDirtyLines().isModified(), is(false));
+    }
+
+    @Test
+    public void getLines_shouldReturnAllLines_whenLoadingFinished() throws IOException {
+        // GIVEN
+        String text = numberedLines();
+        MappedFile file = mapFile(text);
+        ProgressiveTextContent content = new ProgressiveTextContent(file, new MappedLineIndex(file, 64), 10);
+
+        // WHEN
+        content.awaitLoaded();
+
+        // THEN
+        assertThat(content.isLoaded(), is(true));
+        assertThat(content.getNumberOfLines(), is(equalTo(NUMBER_OF_LINES + 1)));
+        assertThat(content.getBytes(), is(equalTo(text.getBytes())));
+    }
+
+    @Test
+    public void add_shouldWaitForLoadingAndInsertLine_whenContentIsStillLoading() throws IOException {
+        // GIVEN
+        MappedFile file = mapFile(numberedLines());
+        ProgressiveTextContent content = new ProgressiveTextContent(file, new MappedLineIndex(file, 64), 10);
+        List<byte[]> lines = content.getLines();
+
+        // WHEN
+        lines.add(5, "inserted".getBytes());
+
+        // THEN
+        assertThat(content.isLoaded(), is(true));
+        assertThat(lines.size(), is(equalTo(NUMBER_OF_LINES + 2)));
+        assertThat(new String(lines.get(5)), is(equalTo("inserted")));
+        assertThat(new String(lines.get(NUMBER_OF_LINES)), is(equalTo("line 9999")));
+        assertThat(content.getDirtyLines().getFirstDirtyLine(), is(equalTo(5)));
+    }
+
+    @Test
+    public void createDocumentContent_shouldReturnProgressiveContent_whenFactoryIsProgressive() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, numberedLines().getBytes());
+
+        // WHEN
+        DocumentContent content = new DocumentContentFactoryImpl(1, true).createDocumentContent(path);
+
+        // THEN
+        assertThat(content, is(instanceOf(ProgressiveTextContent.class)));
+        assertThat(new String(content.getLines().get(0)), is(equalTo("line 0")));
+    }
+
+    private String numberedLines() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < NUMBER_OF_LINES; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        return text.toString();
+    }
+
+    private MappedFile mapFile(String text) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return MappedFile.map(path);
+    }
+}
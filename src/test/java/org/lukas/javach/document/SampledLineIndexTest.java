@@ -0,0 +1,93 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class SampledLineIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getLineStart_shouldMatchFullIndex_whenFileIsScannedInManySegments() throws IOException {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append("line ").append(i).append(i % 7 == 0 ? "\r\n\r\n" : "\r\n");
+        }
+        MappedFile file = mapFile(text.toString(), 64);
+        MappedLineIndex fullIndex = new MappedLineIndex(file);
+        fullIndex.indexAll();
+
+        // WHEN
+        SampledLineIndex index = new SampledLineIndex(file, 16, 37);
+
+        // THEN
+        assertThat(index.getLineBreak(), is(equalTo(WINDOWS_LINE_BREAK)));
+        assertThat(index.getNumberOfLines(), is(equalTo(fullIndex.size())));
+        assertThat(index.getNumberOfSamples(), is(equalTo((fullIndex.size() + 15) / 16)));
+        for (int i = fullIndex.size() - 1; i >= 0; i -= 3) {
+            assertThat(index.getLineStart(i), is(equalTo(fullIndex.get(i))));
+        }
+    }
+
+    @Test
+    public void getLineEnd_shouldExcludeLineBreak_whenLineIsNotTheLast() throws IOException {
+        // GIVEN
+        SampledLineIndex index = new SampledLineIndex(mapFile("ab\ncde\nf", 4), 2, 3);
+
+        // WHEN
+        long start = index.getLineStart(1);
+        long end = index.getLineEnd(1, start);
+
+        // THEN
+        assertThat(start, is(equalTo(3L)));
+        assertThat(end, is(equalTo(6L)));
+        assertThat(index.getLineEnd(2, index.getLineStart(2)), is(equalTo(8L)));
+    }
+
+    @Test
+    public void getNumberOfLines_shouldBeZero_whenFileIsEmpty() throws IOException {
+        // GIVEN
+        SampledLineIndex index = new SampledLineIndex(mapFile("", 4));
+
+        // WHEN
+        int numberOfLines = index.getNumberOfLines();
+
+        // THEN
+        assertThat(numberOfLines, is(equalTo(0)));
+        assertThat(index.getLineBreak(), is(equalTo(UNDEFINED_LINE_BREAK)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getLineStart_shouldThrowIndexOutOfBoundsException_whenIndexIsNotALine() throws IOException {
+        // GIVEN
+        SampledLineIndex index = new SampledLineIndex(mapFile("a\nb", 4));
+
+        // WHEN
+        index.getLineStart(2);
+
+        // THEN throw exception
+    }
+
+    private MappedFile mapFile(String text, int regionSize) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return MappedFile.map(path, regionSize);
+    }
+}
@@ -0,0 +1,171 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class SampledTextContentTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getLines_shouldReturnTheSameLinesAsTextContent_whenLinesAreReadInAnyOrder() throws IOException {
+        // GIVEN
+        String text = numberedLines(300);
+        DocumentContent content = createContent(text, 10);
+        List<byte[]> expectedLines = new TextContent(text.getBytes()).getLines();
+
+        // WHEN
+        List<byte[]> lines = content.getLines();
+
+        // THEN
+        assertThat(lines.size(), is(equalTo(expectedLines.size())));
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i), is(equalTo(expectedLines.get(i))));
+        }
+        for (int i = lines.size() - 1; i >= 0; i -= 7) {
+            assertThat(lines.get(i), is(equalTo(expectedLines.get(i))));
+        }
+    }
+
+    @Test
+    public void getLineRange_shouldReturnLinesOfTheRange_whenRangeStartsBetweenSamples() throws IOException {
+        // GIVEN
+        DocumentContent content = createContent(numberedLines(100), 16);
+
+        // WHEN
+        LineRange lineRange = content.getLineRange(37, 40);
+
+        // THEN
+        assertThat(lineRange.size(), is(equalTo(3)));
+        assertThat(new String(lineRange.getLines().get(0)), is(equalTo("line 37")));
+        assertThat(new String(lineRange.getLines().get(2)), is(equalTo("line 39")));
+    }
+
+    @Test
+    public void writeTo_shouldWriteLinesWithoutTrailingLineBreak_whenRangeIsWritten() throws IOException {
+        // GIVEN
+        DocumentContent content = createContent(numberedLines(100), 16);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // WHEN
+        long bytesWritten = content.writeTo(Channels.newChannel(output), 10, 12);
+
+        // THEN
+        assertThat(output.toString(), is(equalTo("line 10\nline 11")));
+        assertThat(bytesWritten, is(equalTo(15L)));
+        assertThat(content.getLineOffset(10), is(equalTo(80L)));
+        assertThat(content.getLineOffset(100), is(equalTo(799L)));
+    }
+
+    @Test
+    public void getBytes_shouldReturnTheFileContent_whenContentIsRead() throws IOException {
+        // GIVEN
+        String text = numberedLines(50) + "\n";
+        DocumentContent content = createContent(text, 4);
+
+        // WHEN
+        byte[] bytes = content.getBytes();
+
+        // THEN
+        assertThat(new String(bytes), is(equalTo(text)));
+        assertThat(content.getNumberOfLines(), is(equalTo(51)));
+        assertThat(content.getLines().get(50).length, is(equalTo(0)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getLines_shouldThrowUnsupportedOperationException_whenLineIsUpdated() throws IOException {
+        // GIVEN
+        DocumentContent content = createContent(numberedLines(10), 4);
+
+        // WHEN
+        content.getLines().set(1, "changed".getBytes());
+
+        // THEN throw exception
+    }
+
+    @Test
+    public void writeTo_shouldWriteViewsOfMappedRegions_whenContentSpansManyRegions() throws IOException {
+        // GIVEN
+        String text = numberedLines(50);
+        DocumentContent content = createContent(text, 4);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<ByteBuffer> chunks = new ArrayList<>();
+        WritableByteChannel channel = new WritableByteChannel() {
+            private final WritableByteChannel target = Channels.newChannel(output);
+
+            @Override
+            public int write(ByteBuffer source) throws IOException {
+                chunks.add(source);
+                return target.write(source);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // WHEN
+        long bytesWritten = content.writeTo(channel, 3, 45);
+
+        // THEN
+        String expectedText = text.substring(3 * 8, 45 * 8 - 1);
+        assertThat(new String(output.toByteArray()), is(equalTo(expectedText)));
+        assertThat(bytesWritten, is(equalTo((long) expectedText.length())));
+        assertThat(chunks.stream().allMatch(ByteBuffer::isDirect), is(true));
+    }
+
+    @Test
+    public void createDocumentContent_shouldReturnSampledContent_whenFileIsOpened() throws IOException {
+        // GIVEN
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, numberedLines(10).getBytes());
+
+        // WHEN
+        DocumentContent content = new SampledContentFactory(4).createDocumentContent(path);
+
+        // THEN
+        assertThat(content instanceof SampledTextContent, is(true));
+        assertThat(new String(content.getLines().get(9)), is(equalTo("line 09")));
+    }
+
+    private DocumentContent createContent(String text, int sampleInterval) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        MappedFile file = MappedFile.map(path, 64);
+        return new SampledTextContent(file, new SampledLineIndex(file, sampleInterval, 50));
+    }
+
+    private String numberedLines(int numberOfLines) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < numberOfLines; i++) {
+            text.append(i > 0 ? "\n" : "").append(String.format("line %02d", i));
+        }
+        return text.toString();
+    }
+}
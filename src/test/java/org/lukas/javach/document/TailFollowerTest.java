@@ -0,0 +1,250 @@
+package org.lukas.javach.document;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.lukas.javach.document.LineBreak.*;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class TailFollowerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void poll_shouldAppendNewLinesAndExtendPartialLastLine_whenFileGrows() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsec");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        append(path, "ond\nthird\nfou");
+
+        // WHEN
+        int addedLines = follower.poll();
+
+        // THEN
+        assertThat(addedLines, is(equalTo(2)));
+        assertThat(new String(content.getBytes()), is(equalTo("first\nsecond\nthird\nfou")));
+        assertThat(follower.getPosition(), is(equalTo(Files.size(path))));
+        assertThat(content.getDirtyLines().isModified(), is(false));
+    }
+
+    @Test
+    public void poll_shouldKeepSingleLineBreak_whenCarriageReturnAndLineFeedAreAppendedSeparately() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\r\n");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+
+        // WHEN
+        append(path, "second\r");
+        follower.poll();
+        append(path, "\nthird");
+        follower.poll();
+
+        // THEN
+        List<byte[]> lines = content.getLines();
+        assertThat(lines.size(), is(equalTo(3)));
+        assertThat(new String(lines.get(1)), is(equalTo("second")));
+        assertThat(new String(lines.get(2)), is(equalTo("third")));
+        assertThat(content.getLineBreak(), is(equalTo(WINDOWS_LINE_BREAK)));
+    }
+
+    @Test
+    public void poll_shouldKeepSingleLineBreak_whenFileEndedWithCarriageReturnWhenOpened() throws IOException {
+        // GIVEN
+        Path path = writeFile("a\r\nb\r");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        append(path, "\nc");
+
+        // WHEN
+        int addedLines = follower.poll();
+
+        // THEN
+        List<byte[]> lines = content.getLines();
+        assertThat(addedLines, is(equalTo(1)));
+        assertThat(lines.size(), is(equalTo(3)));
+        assertThat(new String(lines.get(0)), is(equalTo("a")));
+        assertThat(new String(lines.get(1)), is(equalTo("b")));
+        assertThat(new String(lines.get(2)), is(equalTo("c")));
+    }
+
+    @Test
+    public void poll_shouldKeepCarriageReturnInLine_whenFileEndedWithCarriageReturnWithoutLineFeed()
+            throws IOException {
+        // GIVEN
+        Path path = writeFile("a\r\nb\r");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        append(path, "c\r\n");
+
+        // WHEN
+        follower.poll();
+
+        // THEN
+        assertThat(new String(content.getBytes()), is(equalTo("a\r\nb\rc\r\n")));
+    }
+
+    @Test
+    public void poll_shouldEndLineWithCarriageReturn_whenNoLineFeedFollowsItInSingleLineFile() throws IOException {
+        // GIVEN
+        Path path = writeFile("first");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        append(path, "\r");
+        follower.poll();
+
+        // WHEN
+        int addedLines = follower.poll();
+
+        // THEN
+        assertThat(addedLines, is(equalTo(1)));
+        assertThat(content.getLineBreak(), is(equalTo(OLD_MAC_LINE_BREAK)));
+        assertThat(new String(content.getBytes()), is(equalTo("first\r")));
+    }
+
+    @Test
+    public void poll_shouldKeepHoldingCarriageReturn_whenNoLineFeedFollowsItInWindowsFile() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\r\n");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        append(path, "second\r");
+        follower.poll();
+        follower.poll();
+
+        // WHEN
+        append(path, "\n");
+        follower.poll();
+
+        // THEN
+        assertThat(content.getNumberOfLines(), is(equalTo(3)));
+        assertThat(new String(content.getBytes()), is(equalTo("first\r\nsecond\r\n")));
+    }
+
+    @Test
+    public void poll_shouldDetectLineBreak_whenFileHadASingleLine() throws IOException {
+        // GIVEN
+        Path path = writeFile("first");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        append(path, "\rsecond\r");
+
+        // WHEN
+        int addedLines = follower.poll();
+
+        // THEN
+        assertThat(addedLines, is(equalTo(2)));
+        assertThat(content.getLineBreak(), is(equalTo(OLD_MAC_LINE_BREAK)));
+        assertThat(new String(content.getBytes()), is(equalTo("first\rsecond\r")));
+    }
+
+    @Test
+    public void poll_shouldReadFileAgain_whenFileWasTruncated() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsecond\nthird");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        Files.write(path, "new\nfile".getBytes());
+
+        // WHEN
+        follower.poll();
+
+        // THEN
+        assertThat(new String(content.getBytes()), is(equalTo("new\nfile")));
+    }
+
+    @Test
+    public void poll_shouldReadFileAgain_whenFileWasReplacedByLongerFile() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsecond");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        TailFollower follower = new TailFollower(path, content, Files.size(path));
+        Path replacement = temporaryFolder.newFile().toPath();
+        Files.write(replacement, "replaced\nfile\nwith more lines".getBytes());
+        Files.move(replacement, path, StandardCopyOption.REPLACE_EXISTING);
+
+        // WHEN
+        follower.poll();
+
+        // THEN
+        assertThat(follower.getRereadCount(), is(equalTo(1)));
+        assertThat(new String(content.getBytes()), is(equalTo("replaced\nfile\nwith more lines")));
+    }
+
+    @Test
+    public void poll_shouldNotifyListener_whenLinesAreExtendedAddedAndRemoved() throws IOException {
+        // GIVEN
+        Path path = writeFile("first\nsec");
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(path);
+        List<String> changes = new ArrayList<>();
+        TailFollower follower = new TailFollower(path, content, Files.size(path), new LineChangeListener() {
+            @Override
+            public void lineUpdated(int index) {
+                changes.add("updated " + index);
+            }
+
+            @Override
+            public void linesInserted(int index, int count) {
+                changes.add("inserted " + index + " " + count);
+            }
+
+            @Override
+            public void linesRemoved(int index, int count) {
+                changes.add("removed " + index + " " + count);
+            }
+        });
+
+        // WHEN
+        append(path, "ond\nthird\nfourth");
+        follower.poll();
+        Files.write(path, "new".getBytes());
+        follower.poll();
+
+        // THEN
+        assertThat(changes, is(equalTo(Arrays.asList("updated 1", "inserted 2 2", "removed 0 4", "inserted 0 1"))));
+    }
+
+    @Test
+    public void split_shouldKeepCarriageReturnAsLineContent_whenWindowsLineBreakIsNotCompleted() {
+        // GIVEN
+        AppendSplitter splitter = new AppendSplitter(WINDOWS_LINE_BREAK);
+        splitter.split("a\r".getBytes(), 2);
+
+        // WHEN
+        List<byte[]> segments = splitter.split("b\r\nc".getBytes(), 4);
+
+        // THEN
+        assertThat(segments.size(), is(equalTo(2)));
+        assertThat(new String(segments.get(0)), is(equalTo("\rb")));
+        assertThat(new String(segments.get(1)), is(equalTo("c")));
+    }
+
+    private void append(Path path, String text) throws IOException {
+        Files.write(path, text.getBytes(), StandardOpenOption.APPEND);
+    }
+
+    private Path writeFile(String text) throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Files.write(path, text.getBytes());
+        return path;
+    }
+}
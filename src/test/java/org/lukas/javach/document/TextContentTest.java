@@ -3,6 +3,9 @@ package org.lukas.javach.document;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -870,4 +873,76 @@ public class TextContentTest {
         assertThat(lineRange.getLines().get(4).length, is(equalTo(0)));
     }
 
+    @Test
+    public void getLines_shouldReturnReplacedLineAndKeepOtherLines_whenLineWasSet() {
+        // GIVEN
+        String text = "First line.\nSecond line.\nThird line.";
+        document = new TextContent(text.getBytes());
+
+        // WHEN
+        document.getLines().set(1, "Replaced line.".getBytes());
+
+        // THEN
+        assertThat(document.getLines().get(0), is(equalTo("First line.".getBytes())));
+        assertThat(document.getLines().get(1), is(equalTo("Replaced line.".getBytes())));
+        assertThat(document.getLines().get(2), is(equalTo("Third line.".getBytes())));
+    }
+
+    @Test
+    public void getBytes_shouldKeepReplacedLines_whenLinesWereRemovedAfterReplacing() {
+        // GIVEN
+        String text = "First line.\r\nSecond line.\r\nThird line.";
+        document = new TextContent(text.getBytes());
+        document.getLines().set(2, "Replaced line.".getBytes());
+
+        // WHEN
+        document.getLines().remove(0);
+
+        // THEN
+        assertThat(document.getNumberOfLines(), is(equalTo(2)));
+        assertThat(document.getBytes(), is(equalTo("Second line.\r\nReplaced line.".getBytes())));
+    }
+
+    @Test
+    public void getLineBreakStatistics_shouldReportMixedLineBreaks_whenContentContainsDifferentLineBreaks() {
+        // GIVEN
+        String text = "First line.\nSecond line.\r\nThird line.";
+
+        // WHEN
+        document = new TextContent(text.getBytes());
+
+        // THEN
+        assertThat(document.getLineBreak(), is(equalTo(UNIX_LINE_BREAK)));
+        assertThat(document.getLineBreakStatistics().isMixed(), is(true));
+        assertThat(document.getLines().get(1), is(equalTo("Second line.\r".getBytes())));
+    }
+
+    @Test
+    public void writeTo_shouldWriteTheSameBytesAsGetBytes_whenLinesWereEdited() throws IOException {
+        // GIVEN
+        document = new TextContent("First line.\r\nSecond line.\r\nThird line.\r\n".getBytes());
+        document.getLines().set(1, "Edited line.".getBytes());
+        document.getLines().add(0, "New line.".getBytes());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        long written = document.writeTo(Channels.newChannel(outputStream));
+
+        // THEN
+        assertThat(outputStream.toByteArray(), is(equalTo(document.getBytes())));
+        assertThat(written, is(equalTo((long) document.getBytes().length)));
+    }
+
+    @Test
+    public void writeTo_shouldWriteNothing_whenContentIsEmpty() throws IOException {
+        // GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        long written = document.writeTo(Channels.newChannel(outputStream));
+
+        // THEN
+        assertThat(written, is(equalTo(0L)));
+        assertThat(outputStream.size(), is(equalTo(0)));
+    }
 }
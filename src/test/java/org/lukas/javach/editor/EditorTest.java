@@ -5,14 +5,24 @@ import org.junit.Test;
 import org.lukas.javach.document.DocumentContent;
 import org.lukas.javach.document.DocumentContentFactory;
 import org.lukas.javach.document.DocumentContentFactoryImpl;
+import org.lukas.javach.document.LineChangeListener;
 import org.lukas.javach.document.LineRange;
+import org.lukas.javach.document.PieceTableContentFactory;
 import org.lukas.javach.exception.NoContentOpenException;
 
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * Created by Lukas on 14.08.2019.
@@ -587,4 +597,446 @@ public class EditorTest {
         assertThat(lines.isEmpty(), is(true));
     }
 
+    @Test
+    public void addLineAtIndex_shouldInsertTheLineIntoTheOpenedContent_whenContentIsPieceTable() {
+        // GIVEN
+        String content = "First line\r\nThe second line\r\nThird line";
+        DocumentContent documentContent = new PieceTableContentFactory().createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+
+        // WHEN
+        editor.addLineAtIndex(1, "The new line");
+
+        // THEN
+        assertThat(new String(documentContent.getBytes()),
+                is(equalTo("First line\r\nThe new line\r\nThe second line\r\nThird line")));
+        assertThat(editor.readAllLines().size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void isModified_shouldBeTrue_whenLineWasUpdated() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+        boolean modifiedBeforeUpdate = editor.isModified();
+
+        // WHEN
+        editor.readLine(1);
+        editor.updateLine(0, "Updated line");
+
+        // THEN
+        assertThat(modifiedBeforeUpdate, is(false));
+        assertThat(editor.isModified(), is(true));
+        assertThat(editor.getCurrentLineRange().getLines().get(0), is(equalTo("Updated line".getBytes())));
+    }
+
+    @Test
+    public void undo_shouldRestoreContent_whenLinesWereUpdatedAddedAndDeleted() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        editor.updateLine(0, "Updated line");
+        editor.addLineAtIndex(5, "Far line");
+        editor.deleteLinesOfRange(1, 3);
+
+        // WHEN
+        boolean undone = editor.undo() && editor.undo() && editor.undo();
+
+        // THEN
+        assertThat(undone, is(true));
+        assertThat(editor.canUndo(), is(false));
+        assertThat(new String(documentContent.getBytes()), is(equalTo(content)));
+    }
+
+    @Test
+    public void redo_shouldApplyUndoneEdits_whenNoOtherEditWasMade() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        editor.deleteLineAtIndex(1);
+        editor.updateLine(1, "Last line");
+        editor.undo();
+        editor.undo();
+
+        // WHEN
+        editor.redo();
+        editor.redo();
+
+        // THEN
+        assertThat(editor.canRedo(), is(false));
+        assertThat(new String(documentContent.getBytes()), is(equalTo("First line\nLast line")));
+    }
+
+    @Test
+    public void undo_shouldRevertConsecutiveUpdatesOfTheSameLineAtOnce_whenLineWasTyped() {
+        // GIVEN
+        String content = "First line\nThe second line";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        editor.updateLine(1, "T");
+        editor.updateLine(1, "Ty");
+        editor.updateLine(1, "Typ");
+
+        // WHEN
+        editor.undo();
+
+        // THEN
+        assertThat(editor.canUndo(), is(false));
+        assertThat(new String(documentContent.getBytes()), is(equalTo(content)));
+    }
+
+    @Test
+    public void undo_shouldUseContentIndexes_whenEditWasMadeInLineRangeOfReadLine() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        editor.readLine(2);
+        editor.updateLine(0, "Updated third line");
+
+        // WHEN
+        editor.undo();
+
+        // THEN
+        assertThat(new String(documentContent.getBytes()), is(equalTo(content)));
+        assertThat(editor.getCurrentLineRange().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void applyBatch_shouldApplyEditsAgainstOriginalIndexes_whenEditsAreUnsorted() {
+        // GIVEN
+        String content = "line 0\nline 1\nline 2\nline 3";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        List<Edit> edits = Arrays.asList(
+                Edit.insertLine(4, "appended"),
+                Edit.deleteLine(1),
+                Edit.insertLine(1, "first insert at 1"),
+                Edit.updateLine(3, "line 3 updated"),
+                Edit.insertLine(1, "second insert at 1"),
+                Edit.insertLine(0, "new first line"));
+
+        // WHEN
+        editor.applyBatch(edits);
+
+        // THEN
+        assertThat(new String(documentContent.getBytes()), is(equalTo("new first line\nline 0\n"
+                + "first insert at 1\nsecond insert at 1\nline 2\nline 3 updated\nappended")));
+    }
+
+    @Test
+    public void applyBatch_shouldLeaveContentUnchanged_whenAnEditIsInvalid() {
+        // GIVEN
+        String content = "line 0\nline 1";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        List<Edit> edits = Arrays.asList(Edit.updateLine(0, "updated"), Edit.deleteLine(2));
+
+        // WHEN
+        try {
+            editor.applyBatch(edits);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // THEN
+            assertThat(new String(documentContent.getBytes()), is(equalTo(content)));
+            assertThat(editor.isModified(), is(false));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyBatch_shouldThrowIllegalArgumentException_whenLineIsUpdatedAndDeleted() {
+        // GIVEN
+        editor.openContent(contentFactory.createDocumentContent("line 0\nline 1".getBytes()));
+
+        // WHEN
+        editor.applyBatch(Arrays.asList(Edit.deleteLine(1), Edit.updateLine(1, "updated")));
+
+        // THEN throw exception
+    }
+
+    @Test
+    public void undo_shouldRevertWholeBatch_whenBatchWasApplied() {
+        // GIVEN
+        String content = "line 0\nline 1\nline 2";
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.getBytes());
+        editor.openContent(documentContent);
+        List<Edit> edits = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            edits.add(Edit.insertLine(i % 4, "inserted " + i));
+        }
+        edits.add(Edit.deleteLine(0));
+        edits.add(Edit.updateLine(2, "updated"));
+        editor.applyBatch(edits);
+
+        // WHEN
+        editor.undo();
+
+        // THEN
+        assertThat(editor.canUndo(), is(false));
+        assertThat(new String(documentContent.getBytes()), is(equalTo(content)));
+    }
+
+    @Test
+    public void lines_shouldStreamLinesOfCurrentLineRange_whenDocumentIsOpened() {
+        // GIVEN
+        String content = "First line\r\nThe second line\r\nThird line";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+
+        // WHEN
+        List<String> lines = editor.lines().collect(Collectors.toList());
+
+        // THEN
+        assertThat(lines, is(equalTo(Arrays.asList("First line", "The second line", "Third line"))));
+    }
+
+    @Test
+    public void lines_shouldKeepOrderAndSize_whenStreamIsParallel() {
+        // GIVEN
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            content.append(i > 0 ? "\n" : "").append(i);
+        }
+        editor.openContent(contentFactory.createDocumentContent(content.toString().getBytes()));
+
+        // WHEN
+        List<String> lines = editor.lines().parallel().collect(Collectors.toList());
+
+        // THEN
+        assertThat(editor.lines().spliterator().hasCharacteristics(Spliterator.SUBSIZED), is(true));
+        assertThat(editor.lines().spliterator().getExactSizeIfKnown(), is(equalTo(10_000L)));
+        assertThat(lines.size(), is(equalTo(10_000)));
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i), is(equalTo(String.valueOf(i))));
+        }
+    }
+
+    @Test
+    public void rawLines_shouldStreamLineBytes_whenLineRangeWasRead() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+        editor.readLine(1);
+
+        // WHEN
+        List<byte[]> lines = editor.rawLines().collect(Collectors.toList());
+
+        // THEN
+        assertThat(lines.size(), is(equalTo(1)));
+        assertThat(lines.get(0), is(equalTo("The second line".getBytes())));
+    }
+
+    @Test
+    public void readLines_shouldPassLinesToSinkWithoutChangingLineRange_whenViewportIsRead() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+        List<String> lines = new ArrayList<>();
+
+        // WHEN
+        int numberOfLines = editor.readLines(1, 5, (index, line) -> {
+            byte[] bytes = new byte[line.remaining()];
+            line.get(bytes);
+            lines.add(index + ":" + new String(bytes));
+        });
+
+        // THEN
+        assertThat(numberOfLines, is(equalTo(2)));
+        assertThat(lines, is(equalTo(Arrays.asList("1:The second line", "2:Third line"))));
+        assertThat(editor.getCurrentLineRange().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void readLines_shouldDecodeLinesUntilBufferIsFull_whenCharBufferIsTooSmall() {
+        // GIVEN
+        String content = "First line\nThe second line\nThird line";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+        CharBuffer buffer = CharBuffer.allocate(30);
+        int[] lineEnds = new int[3];
+
+        // WHEN
+        int numberOfLines = editor.readLines(0, 3, buffer, lineEnds);
+
+        // THEN
+        assertThat(numberOfLines, is(equalTo(2)));
+        assertThat(buffer.flip().toString(), is(equalTo("First lineThe second line")));
+        assertThat(lineEnds[0], is(equalTo(10)));
+        assertThat(lineEnds[1], is(equalTo(25)));
+    }
+
+    @Test
+    public void readLines_shouldGrowLineBuffer_whenLineIsLongerThanBuffer() {
+        // GIVEN
+        String longLine = String.join("", Collections.nCopies(1000, "long "));
+        editor.openContent(new PieceTableContentFactory().createDocumentContent(("a\n" + longLine).getBytes()));
+        int[] lengths = new int[2];
+
+        // WHEN
+        editor.readLines(0, 2, (index, line) -> lengths[index] = line.remaining());
+
+        // THEN
+        assertThat(lengths[0], is(equalTo(1)));
+        assertThat(lengths[1], is(equalTo(5000)));
+    }
+
+    @Test
+    public void replaceAll_shouldReplaceLiteralText_whenTextContainsRegexCharacters() {
+        // GIVEN
+        String content = "price: $5.00\nno price\n$5.00 or $5.00";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+
+        // WHEN
+        int changedLines = editor.replaceAll("$5.00", "$6.00");
+
+        // THEN
+        assertThat(changedLines, is(equalTo(2)));
+        assertThat(editor.readAllLines(), is(equalTo(Arrays.asList("price: $6.00", "no price", "$6.00 or $6.00"))));
+    }
+
+    @Test
+    public void replaceAll_shouldReplaceMatchesOfWholeContent_whenCurrentLineRangeIsSingleLine() {
+        // GIVEN
+        String content = "host=alpha\nport=80\nhost=beta";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+        editor.readLine(1);
+
+        // WHEN
+        int changedLines = editor.replaceAll(Pattern.compile("host=(\\w+)"), "server=$1");
+
+        // THEN
+        assertThat(changedLines, is(equalTo(2)));
+        assertThat(editor.readAllLines(), is(equalTo(Arrays.asList("server=alpha", "port=80", "server=beta"))));
+    }
+
+    @Test
+    public void replaceAll_shouldBeUndoneInSingleStep_whenManyLinesAreReplaced() {
+        // GIVEN
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append("line ").append(i).append(" old\n");
+        }
+        DocumentContent documentContent = contentFactory.createDocumentContent(content.toString().getBytes());
+        editor.openContent(documentContent);
+
+        // WHEN
+        int changedLines = editor.replaceAll("old", "new");
+        String replacedLine = editor.readLine(19999);
+        editor.undo();
+
+        // THEN
+        assertThat(changedLines, is(equalTo(20000)));
+        assertThat(replacedLine, is(equalTo("line 19999 new")));
+        assertThat(editor.readLine(19999), is(equalTo("line 19999 old")));
+        assertThat(editor.canUndo(), is(false));
+    }
+
+    @Test
+    public void replaceAll_shouldNotChangeContent_whenTextIsNotFound() {
+        // GIVEN
+        String content = "First line\nSecond line";
+        editor.openContent(contentFactory.createDocumentContent(content.getBytes()));
+
+        // WHEN
+        int changedLines = editor.replaceAll("third", "fourth");
+
+        // THEN
+        assertThat(changedLines, is(equalTo(0)));
+        assertThat(editor.isModified(), is(false));
+        assertThat(editor.canUndo(), is(false));
+    }
+
+    @Test
+    public void replaceAll_shouldKeepOtherBytes_whenLineIsNotValidInPlatformCharset() {
+        // GIVEN
+        byte[] content = {'a', (byte) 0xE4, 'x', '\n', (byte) 0x80, 'x', 'x'};
+        DocumentContent documentContent = contentFactory.createDocumentContent(content);
+        editor.openContent(documentContent);
+
+        // WHEN
+        int changedLines = editor.replaceAll("x", "yz");
+
+        // THEN
+        assertThat(changedLines, is(equalTo(2)));
+        assertThat(documentContent.getLines().get(0), is(equalTo(new byte[]{'a', (byte) 0xE4, 'y', 'z'})));
+        assertThat(documentContent.getLines().get(1), is(equalTo(new byte[]{(byte) 0x80, 'y', 'z', 'y', 'z'})));
+    }
+
+    @Test
+    public void openContent_shouldDropLineChangeListeners_whenAnotherContentIsOpened() {
+        // GIVEN
+        List<Integer> updatedLines = new ArrayList<>();
+        editor.openContent(contentFactory.createDocumentContent("first".getBytes()));
+        editor.addLineChangeListener(new LineChangeListener() {
+            @Override
+            public void lineUpdated(int index) {
+                updatedLines.add(index);
+            }
+
+            @Override
+            public void linesInserted(int index, int count) {
+            }
+
+            @Override
+            public void linesRemoved(int index, int count) {
+            }
+        });
+        editor.updateLine(0, "changed");
+
+        // WHEN
+        editor.openContent(contentFactory.createDocumentContent("second".getBytes()));
+        editor.updateLine(0, "changed");
+
+        // THEN
+        assertThat(updatedLines, is(equalTo(Collections.singletonList(0))));
+    }
+
+    @Test
+    public void getExternalChangeListener_shouldKeepUndoHistoryAndNotifyListeners_whenLinesAreAppended() {
+        // GIVEN
+        DocumentContent content = contentFactory.createDocumentContent("first\nsecond".getBytes());
+        editor.openContent(content);
+        List<Integer> insertedLines = new ArrayList<>();
+        editor.addLineChangeListener(new LineChangeListener() {
+            @Override
+            public void lineUpdated(int index) {
+            }
+
+            @Override
+            public void linesInserted(int index, int count) {
+                insertedLines.add(index);
+            }
+
+            @Override
+            public void linesRemoved(int index, int count) {
+            }
+        });
+        editor.updateLine(0, "changed");
+        editor.readLine(0);
+
+        // WHEN
+        content.getLines().add("third".getBytes());
+        editor.getExternalChangeListener().linesInserted(2, 1);
+
+        // THEN
+        assertThat(insertedLines, is(equalTo(Collections.singletonList(2))));
+        assertThat(editor.readAllLines(), is(equalTo(Arrays.asList("changed", "second", "third"))));
+        assertThat(editor.canUndo(), is(true));
+    }
+
+    @Test
+    public void getExternalChangeListener_shouldClearUndoHistory_whenLineIsUpdatedOutsideOfEditor() {
+        // GIVEN
+        DocumentContent content = contentFactory.createDocumentContent("first\nsec".getBytes());
+        editor.openContent(content);
+        editor.updateLine(1, "second");
+
+        // WHEN
+        content.getLines().set(1, "second line".getBytes());
+        editor.getExternalChangeListener().lineUpdated(1);
+
+        // THEN
+        assertThat(editor.canUndo(), is(false));
+        assertThat(editor.readAllLines(), is(equalTo(Arrays.asList("first", "second line"))));
+    }
 }
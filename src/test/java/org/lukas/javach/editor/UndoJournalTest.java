@@ -0,0 +1,160 @@
+package org.lukas.javach.editor;
+
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class UndoJournalTest {
+
+    @Test
+    public void linesInserted_shouldMergeInsertsOfAdjacentLines_whenLinesAreAppendedOneByOne() {
+        // GIVEN
+        UndoJournal journal = new UndoJournal();
+        List<byte[]> lines = lines("a", "b");
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            byte[] line = ("new " + i).getBytes();
+            lines.add(2 + i, line);
+            journal.linesInserted(2 + i, Collections.singletonList(line));
+        }
+
+        // THEN
+        assertThat(journal.getNumberOfUndoSteps(), is(equalTo(1)));
+        journal.undo(lines);
+        assertThat(lines.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void lineUpdated_shouldRecordSeparateSteps_whenStepWasEnded() {
+        // GIVEN
+        UndoJournal journal = new UndoJournal();
+        List<byte[]> lines = lines("a");
+        update(journal, lines, 0, "b");
+        journal.endStep();
+
+        // WHEN
+        update(journal, lines, 0, "c");
+        journal.undo(lines);
+
+        // THEN
+        assertThat(journal.getNumberOfUndoSteps(), is(equalTo(1)));
+        assertThat(new String(lines.get(0)), is(equalTo("b")));
+    }
+
+    @Test
+    public void record_shouldForgetOldestSteps_whenMemoryLimitIsExceeded() {
+        // GIVEN
+        UndoJournal journal = new UndoJournal(10_000);
+        List<byte[]> lines = lines("line");
+
+        // WHEN
+        for (int i = 0; i < 100_000; i++) {
+            byte[] line = ("line " + i).getBytes();
+            lines.add(0, line);
+            journal.linesInserted(0, Collections.singletonList(line));
+        }
+
+        // THEN
+        assertThat(journal.getMemoryUsed(), is(lessThanOrEqualTo(10_000L)));
+        assertThat(journal.getNumberOfUndoSteps() < 1000, is(true));
+        assertThat(journal.canUndo(), is(true));
+    }
+
+    @Test
+    public void linesRemoved_shouldClearHistoryWithoutReadingLines_whenRemovalExceedsMemoryLimit() {
+        // GIVEN
+        UndoJournal journal = new UndoJournal(10_000);
+        List<byte[]> lines = lines("a", "b");
+        update(journal, lines, 0, "c");
+        int[] readLines = {0};
+        List<byte[]> removedLines = new AbstractList<byte[]>() {
+            @Override
+            public byte[] get(int index) {
+                readLines[0]++;
+                return "removed line".getBytes();
+            }
+
+            @Override
+            public int size() {
+                return 1_000_000;
+            }
+        };
+
+        // WHEN
+        journal.linesRemoved(0, removedLines);
+
+        // THEN
+        assertThat(readLines[0], is(equalTo(0)));
+        assertThat(journal.canUndo(), is(false));
+        assertThat(journal.getMemoryUsed(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void linesRemoved_shouldStopCopyingLines_whenTheirBytesExceedMemoryLimit() {
+        // GIVEN
+        UndoJournal journal = new UndoJournal(10_000);
+        byte[] longLine = new byte[1000];
+        int[] readLines = {0};
+        List<byte[]> removedLines = new AbstractList<byte[]>() {
+            @Override
+            public byte[] get(int index) {
+                readLines[0]++;
+                return longLine;
+            }
+
+            @Override
+            public int size() {
+                return 100;
+            }
+        };
+
+        // WHEN
+        journal.linesRemoved(0, removedLines);
+
+        // THEN
+        assertThat(readLines[0] <= 10, is(true));
+        assertThat(journal.canUndo(), is(false));
+    }
+
+    @Test
+    public void redo_shouldBeEmpty_whenNewEditFollowsUndo() {
+        // GIVEN
+        UndoJournal journal = new UndoJournal();
+        List<byte[]> lines = lines("a", "b");
+        update(journal, lines, 0, "c");
+        journal.undo(lines);
+
+        // WHEN
+        update(journal, lines, 1, "d");
+
+        // THEN
+        assertThat(journal.canRedo(), is(false));
+        assertThat(journal.redo(lines), is(equalTo(-1)));
+    }
+
+    private void update(UndoJournal journal, List<byte[]> lines, int index, String line) {
+        byte[] newLine = line.getBytes();
+        journal.lineUpdated(index, lines.set(index, newLine), newLine);
+    }
+
+    private List<byte[]> lines(String... lines) {
+        List<byte[]> result = new ArrayList<>();
+        Arrays.stream(lines).map(String::getBytes).forEach(result::add);
+        return result;
+    }
+}
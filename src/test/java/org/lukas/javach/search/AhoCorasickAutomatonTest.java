@@ -0,0 +1,110 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class AhoCorasickAutomatonTest {
+
+    @Test
+    public void count_shouldCountOverlappingAndNestedMatches_whenPatternsShareSuffixes() {
+        // GIVEN
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Arrays.asList(
+                "he".getBytes(), "she".getBytes(), "his".getBytes(), "hers".getBytes()), false);
+        byte[] text = "ushers and his shell".getBytes();
+        long[] counts = new long[4];
+
+        // WHEN
+        automaton.count(text, text.length, counts);
+
+        // THEN
+        assertThat(counts, is(equalTo(new long[]{2, 2, 1, 1})));
+    }
+
+    @Test
+    public void count_shouldCountEveryPattern_whenPatternIsGivenTwice() {
+        // GIVEN
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Arrays.asList(
+                "ab".getBytes(), "ab".getBytes()), false);
+        byte[] text = "abab".getBytes();
+        long[] counts = new long[2];
+
+        // WHEN
+        automaton.count(text, text.length, counts);
+
+        // THEN
+        assertThat(counts, is(equalTo(new long[]{2, 2})));
+    }
+
+    @Test
+    public void count_shouldMatchAnyCase_whenCaseIsIgnored() {
+        // GIVEN
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Collections.singletonList("Error".getBytes()), true);
+        byte[] text = "ERROR error ErRoR".getBytes();
+        long[] counts = new long[1];
+
+        // WHEN
+        automaton.count(text, text.length, counts);
+
+        // THEN
+        assertThat(counts[0], is(equalTo(3L)));
+    }
+
+    @Test
+    public void count_shouldCountOnlyGivenLength_whenTextArrayIsLonger() {
+        // GIVEN
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Collections.singletonList("aa".getBytes()), false);
+        byte[] text = "aaaa".getBytes();
+        long[] counts = new long[1];
+
+        // WHEN
+        automaton.count(text, 2, counts);
+
+        // THEN
+        assertThat(counts[0], is(equalTo(1L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_shouldThrowIllegalArgumentException_whenPatternIsEmpty() {
+        // GIVEN
+        byte[] pattern = new byte[0];
+
+        // WHEN
+        new AhoCorasickAutomaton(Collections.singletonList(pattern), false);
+
+        // THEN THROW
+    }
+
+    @Test
+    public void constructor_shouldGrowTransitionTable_whenPatternsNeedManyStates() {
+        // GIVEN
+        List<byte[]> patterns = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            patterns.add(("keyword-" + i).getBytes());
+        }
+
+        // WHEN
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(patterns, false);
+
+        // THEN
+        byte[] text = "keyword-999 keyword-5".getBytes();
+        long[] counts = new long[patterns.size()];
+        automaton.count(text, text.length, counts);
+        assertThat(counts[999], is(equalTo(1L)));
+        assertThat(counts[99], is(equalTo(1L)));
+        assertThat(counts[5], is(equalTo(1L)));
+        assertThat(automaton.getNumberOfStates(), is(equalTo(1 + 8 + 10 + 90 + 900)));
+    }
+}
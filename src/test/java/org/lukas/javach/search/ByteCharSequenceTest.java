@@ -0,0 +1,136 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class ByteCharSequenceTest {
+
+    @Test
+    public void toString_shouldReturnLine_whenLineIsAscii() {
+        // GIVEN
+        byte[] bytes = "xxfirst linexx".getBytes(StandardCharsets.UTF_8);
+        ByteCharSequence sequence = new ByteCharSequence(StandardCharsets.UTF_8);
+
+        // WHEN
+        sequence.reset(bytes, 2, 10);
+
+        // THEN
+        assertThat(sequence.toString(), is(equalTo("first line")));
+        assertThat(sequence.length(), is(equalTo(10)));
+        assertThat(sequence.toByteOffset(6), is(equalTo(6)));
+    }
+
+    @Test
+    public void charAt_shouldReturnDecodedCharacters_whenLineIsUtf8() {
+        // GIVEN
+        String line = "a\u00E9\u20AC\uD83D\uDE00b";
+        ByteCharSequence sequence = new ByteCharSequence(StandardCharsets.UTF_8);
+
+        // WHEN
+        sequence.reset(line.getBytes(StandardCharsets.UTF_8));
+
+        // THEN
+        assertThat(sequence.toString(), is(equalTo(line)));
+        assertThat(sequence.toByteOffset(1), is(equalTo(1)));
+        assertThat(sequence.toByteOffset(2), is(equalTo(3)));
+        assertThat(sequence.toByteOffset(3), is(equalTo(6)));
+        assertThat(sequence.toByteOffset(5), is(equalTo(10)));
+        assertThat(sequence.toByteOffset(6), is(equalTo(11)));
+    }
+
+    @Test
+    public void charAt_shouldReturnReplacementCharacter_whenUtf8IsMalformed() {
+        // GIVEN
+        byte[] bytes = {'a', (byte) 0xC3, 'b', (byte) 0xFF};
+        ByteCharSequence sequence = new ByteCharSequence(StandardCharsets.UTF_8);
+
+        // WHEN
+        sequence.reset(bytes);
+
+        // THEN
+        assertThat(sequence.toString(), is(equalTo("a\uFFFDb\uFFFD")));
+    }
+
+    @Test
+    public void charAt_shouldReturnByteAsCharacter_whenCharsetIsLatin1() {
+        // GIVEN
+        byte[] bytes = "caf\u00E9".getBytes(StandardCharsets.ISO_8859_1);
+        ByteCharSequence sequence = new ByteCharSequence(StandardCharsets.ISO_8859_1);
+
+        // WHEN
+        sequence.reset(bytes);
+
+        // THEN
+        assertThat(sequence.length(), is(equalTo(4)));
+        assertThat(sequence.charAt(3), is(equalTo('\u00E9')));
+    }
+
+    @Test
+    public void subSequence_shouldStayValid_whenSequenceIsReset() {
+        // GIVEN
+        ByteCharSequence sequence = new ByteCharSequence(StandardCharsets.UTF_8);
+        sequence.reset("first line".getBytes(StandardCharsets.UTF_8));
+        CharSequence part = sequence.subSequence(0, 5);
+
+        // WHEN
+        sequence.reset("other".getBytes(StandardCharsets.UTF_8));
+
+        // THEN
+        assertThat(part.toString(), is(equalTo("first")));
+    }
+
+    @Test
+    public void charAt_shouldReturnDecodedCharacters_whenCharsetIsWindows1252() {
+        // GIVEN
+        Charset charset = Charset.forName("windows-1252");
+        ByteCharSequence sequence = new ByteCharSequence(charset);
+
+        // WHEN
+        sequence.reset("\u20AC caf\u00E9 \u201Cquoted\u201D".getBytes(charset));
+
+        // THEN
+        assertThat(sequence.toString(), is(equalTo("\u20AC caf\u00E9 \u201Cquoted\u201D")));
+        assertThat(sequence.toByteOffset(6), is(equalTo(6)));
+        assertThat(sequence.toByteOffset(sequence.length()), is(equalTo(15)));
+    }
+
+    @Test
+    public void toByteOffset_shouldReturnOffsetsOfDecodedCharacters_whenCharsetHasMultiByteCharacters() {
+        // GIVEN
+        String line = "a\u00E9\uD83D\uDE00b";
+        ByteCharSequence sequence = new ByteCharSequence(StandardCharsets.UTF_16BE);
+
+        // WHEN
+        sequence.reset(line.getBytes(StandardCharsets.UTF_16BE));
+
+        // THEN
+        assertThat(sequence.toString(), is(equalTo(line)));
+        assertThat(sequence.toByteOffset(1), is(equalTo(2)));
+        assertThat(sequence.toByteOffset(2), is(equalTo(4)));
+        assertThat(sequence.toByteOffset(3), is(equalTo(4)));
+        assertThat(sequence.toByteOffset(4), is(equalTo(8)));
+        assertThat(sequence.toByteOffset(5), is(equalTo(10)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_shouldThrowIllegalArgumentException_whenCharsetIsNull() {
+        // GIVEN
+        Charset charset = null;
+
+        // WHEN
+        new ByteCharSequence(charset);
+
+        // THEN THROW
+    }
+}
@@ -0,0 +1,174 @@
+package org.lukas.javach.search;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class ByteSearcherTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void iterator_shouldReturnHitsInLineAndColumnOrder_whenPatternIsInSeveralLines() {
+        // GIVEN
+        DocumentContent content = new DocumentContentFactoryImpl()
+                .createDocumentContent("abc abc\nnothing\nxabc\r\nab".getBytes());
+        ByteSearcher searcher = new ByteSearcher("abc", false);
+
+        // WHEN
+        List<SearchHit> hits = new ArrayList<>();
+        searcher.iterator(content).forEachRemaining(hits::add);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(
+                new SearchHit(0, 0, 3), new SearchHit(0, 4, 3), new SearchHit(2, 1, 3)))));
+    }
+
+    @Test
+    public void iterator_shouldNotReturnOverlappingHits_whenMatchesOverlap() {
+        // GIVEN
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent("aaaaa".getBytes());
+        ByteSearcher searcher = new ByteSearcher("aa", false);
+
+        // WHEN
+        List<SearchHit> hits = new ArrayList<>();
+        searcher.iterator(content).forEachRemaining(hits::add);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(new SearchHit(0, 0, 2), new SearchHit(0, 2, 2)))));
+    }
+
+    @Test
+    public void iterator_shouldHaveNoHits_whenPatternIsNotInContent() {
+        // GIVEN
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent("first\nsecond".getBytes());
+        ByteSearcher searcher = new ByteSearcher("third", false);
+
+        // WHEN
+        Iterator<SearchHit> hits = searcher.iterator(content);
+
+        // THEN
+        assertThat(hits.hasNext(), is(false));
+    }
+
+    @Test
+    public void iterator_shouldMatchAnyCase_whenCaseIsIgnored() {
+        // GIVEN
+        DocumentContent content = new DocumentContentFactoryImpl()
+                .createDocumentContent("Hello\nHELLO\nhello".getBytes());
+        ByteSearcher searcher = new ByteSearcher("hello", true);
+
+        // WHEN
+        List<SearchHit> hits = new ArrayList<>();
+        searcher.iterator(content).forEachRemaining(hits::add);
+
+        // THEN
+        assertThat(hits.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void iterator_shouldFindPattern_whenLineIsLongerThanReadBuffer() {
+        // GIVEN
+        byte[] line = new byte[10000];
+        Arrays.fill(line, (byte) 'x');
+        System.arraycopy("needle".getBytes(), 0, line, 9994, 6);
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(line);
+        ByteSearcher searcher = new ByteSearcher("needle", false);
+
+        // WHEN
+        SearchHit hit = searcher.iterator(content).next();
+
+        // THEN
+        assertThat(hit, is(equalTo(new SearchHit(0, 9994, 6))));
+    }
+
+    @Test
+    public void findAll_shouldReturnSameHitsAsIterator_whenContentIsSearchedInParallel() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("line ").append(i).append(i % 7 == 0 ? " match" : "").append('\n');
+        }
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(text.toString().getBytes());
+        ByteSearcher searcher = new ByteSearcher("match".getBytes(), false, 100);
+        List<SearchHit> expectedHits = new ArrayList<>();
+        searcher.iterator(content).forEachRemaining(expectedHits::add);
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content, new ForkJoinPool(4));
+
+        // THEN
+        assertThat(hits.size(), is(equalTo(715)));
+        assertThat(hits, is(equalTo(expectedHits)));
+    }
+
+    @Test
+    public void findAll_shouldFindHits_whenContentIsMapped() throws IOException {
+        // GIVEN
+        Path file = temporaryFolder.newFile("mapped.txt").toPath();
+        Files.write(file, "first line\r\nsecond line\r\nlast".getBytes());
+        DocumentContent content = new DocumentContentFactoryImpl(0).createDocumentContent(file);
+        ByteSearcher searcher = new ByteSearcher("line", false);
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(new SearchHit(0, 6, 4), new SearchHit(1, 7, 4)))));
+    }
+
+    @Test
+    public void replaceAll_shouldReturnReplacementsOfLinesWithHitsOnly_whenPatternIsInSeveralLines() {
+        // GIVEN
+        DocumentContent content = new DocumentContentFactoryImpl()
+                .createDocumentContent("one two one\nthree\none".getBytes());
+        ByteSearcher searcher = new ByteSearcher("one", false);
+
+        // WHEN
+        List<LineReplacement> replacements = searcher.replaceAll(content, "1".getBytes());
+
+        // THEN
+        assertThat(replacements, is(equalTo(Arrays.asList(new LineReplacement(0, "1 two 1".getBytes()),
+                new LineReplacement(2, "1".getBytes())))));
+    }
+
+    @Test
+    public void replaceAll_shouldReturnSameReplacementsAsSingleRange_whenLinesAreReplacedInParallel() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("line ").append(i).append(i % 7 == 0 ? " match" : "").append('\n');
+        }
+        DocumentContent content = new DocumentContentFactoryImpl().createDocumentContent(text.toString().getBytes());
+        ByteSearcher searcher = new ByteSearcher("match".getBytes(), false, 100);
+        ByteSearcher singleRangeSearcher = new ByteSearcher("match".getBytes(), false, Integer.MAX_VALUE);
+
+        // WHEN
+        List<LineReplacement> replacements = searcher.replaceAll(content, "hit".getBytes(), new ForkJoinPool(4));
+
+        // THEN
+        assertThat(replacements.size(), is(equalTo(715)));
+        assertThat(replacements, is(equalTo(singleRangeSearcher.replaceAll(content, "hit".getBytes()))));
+    }
+}
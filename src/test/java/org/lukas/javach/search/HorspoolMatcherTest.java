@@ -0,0 +1,104 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class HorspoolMatcherTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_shouldThrowIllegalArgumentException_whenPatternIsEmpty() {
+        // GIVEN
+        byte[] pattern = new byte[0];
+
+        // WHEN
+        new HorspoolMatcher(pattern, false);
+
+        // THEN THROW
+    }
+
+    @Test
+    public void indexOf_shouldReturnIndexOfFirstMatch_whenPatternIsInText() {
+        // GIVEN
+        HorspoolMatcher matcher = new HorspoolMatcher("needle".getBytes(), false);
+        byte[] text = "haystack with a needle and another needle".getBytes();
+
+        // WHEN
+        int index = matcher.indexOf(text, 0, text.length);
+
+        // THEN
+        assertThat(index, is(equalTo(16)));
+    }
+
+    @Test
+    public void indexOf_shouldReturnMinusOne_whenPatternIsNotInText() {
+        // GIVEN
+        HorspoolMatcher matcher = new HorspoolMatcher("needle".getBytes(), false);
+        byte[] text = "haystack with a needl".getBytes();
+
+        // WHEN
+        int index = matcher.indexOf(text, 0, text.length);
+
+        // THEN
+        assertThat(index, is(equalTo(-1)));
+    }
+
+    @Test
+    public void indexOf_shouldFindPattern_whenPatternEndsAtEndOfRange() {
+        // GIVEN
+        HorspoolMatcher matcher = new HorspoolMatcher("end".getBytes(), false);
+        byte[] text = "the end of the line".getBytes();
+
+        // WHEN
+        int index = matcher.indexOf(text, 0, 7);
+
+        // THEN
+        assertThat(index, is(equalTo(4)));
+    }
+
+    @Test
+    public void indexOf_shouldNotFindPattern_whenPatternExceedsRange() {
+        // GIVEN
+        HorspoolMatcher matcher = new HorspoolMatcher("end".getBytes(), false);
+        byte[] text = "the end of the line".getBytes();
+
+        // WHEN
+        int index = matcher.indexOf(text, 0, 6);
+
+        // THEN
+        assertThat(index, is(equalTo(-1)));
+    }
+
+    @Test
+    public void indexOf_shouldMatchAnyCase_whenCaseIsIgnored() {
+        // GIVEN
+        HorspoolMatcher matcher = new HorspoolMatcher("NeEdLe".getBytes(), true);
+        byte[] text = "a haystack with a NEEDLE".getBytes();
+
+        // WHEN
+        int index = matcher.indexOf(text, 0, text.length);
+
+        // THEN
+        assertThat(index, is(equalTo(18)));
+    }
+
+    @Test
+    public void indexOf_shouldNotMatchOtherCase_whenCaseIsNotIgnored() {
+        // GIVEN
+        HorspoolMatcher matcher = new HorspoolMatcher("needle".getBytes(), false);
+        byte[] text = "a haystack with a NEEDLE".getBytes();
+
+        // WHEN
+        int index = matcher.indexOf(text, 0, text.length);
+
+        // THEN
+        assertThat(index, is(equalTo(-1)));
+    }
+}
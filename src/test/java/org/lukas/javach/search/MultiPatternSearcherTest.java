@@ -0,0 +1,93 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class MultiPatternSearcherTest {
+
+    private static DocumentContent createContent(String text) {
+        return new DocumentContentFactoryImpl().createDocumentContent(text.getBytes());
+    }
+
+    @Test
+    public void iterator_shouldReturnHitsOfAllPatterns_whenLinesContainSeveralPatterns() {
+        // GIVEN
+        DocumentContent content = createContent("E404 at host1\nnothing\nhost2 E500");
+        MultiPatternSearcher searcher = new MultiPatternSearcher(Arrays.asList("E404", "E500", "host"), false);
+
+        // WHEN
+        List<PatternHit> hits = new ArrayList<>();
+        searcher.iterator(content).forEachRemaining(hits::add);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(
+                new PatternHit(0, 0, 0, 4), new PatternHit(2, 0, 8, 4),
+                new PatternHit(2, 2, 0, 4), new PatternHit(1, 2, 6, 4)))));
+    }
+
+    @Test
+    public void iterator_shouldNotMatchAcrossLines_whenPatternIsSplitByLineBreak() {
+        // GIVEN
+        DocumentContent content = createContent("ab\ncd");
+        MultiPatternSearcher searcher = new MultiPatternSearcher(Arrays.asList("bc", "b\nc"), false);
+
+        // WHEN
+        Iterator<PatternHit> hits = searcher.iterator(content);
+
+        // THEN
+        assertThat(hits.hasNext(), is(false));
+    }
+
+    @Test
+    public void count_shouldReturnCountsOfEveryPattern_whenCaseIsIgnored() {
+        // GIVEN
+        DocumentContent content = createContent("ERROR timeout\nerror refused\nwarning timeout\nTimeout");
+        MultiPatternSearcher searcher = new MultiPatternSearcher(
+                Arrays.asList("error", "timeout", "refused", "fatal"), true);
+
+        // WHEN
+        long[] counts = searcher.count(content);
+
+        // THEN
+        assertThat(counts, is(equalTo(new long[]{2, 3, 1, 0})));
+    }
+
+    @Test
+    public void findAll_shouldReturnSameHitsAsIterator_whenContentIsSearchedInParallel() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("request ").append(i).append(i % 4 == 0 ? " failed" : " ok").append('\n');
+        }
+        DocumentContent content = createContent(text.toString());
+        MultiPatternSearcher searcher = new MultiPatternSearcher(
+                Arrays.asList("failed".getBytes(), "ok".getBytes(), "request 4".getBytes()), false, 100);
+        List<PatternHit> expectedHits = new ArrayList<>();
+        searcher.iterator(content).forEachRemaining(expectedHits::add);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // WHEN
+        List<PatternHit> hits = searcher.findAll(content, pool);
+        long[] counts = searcher.count(content, pool);
+
+        // THEN
+        assertThat(hits, is(equalTo(expectedHits)));
+        assertThat(counts, is(equalTo(new long[]{1250, 3750, 1111})));
+    }
+}
@@ -0,0 +1,76 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class PostingListTest {
+
+    @Test
+    public void toArray_shouldReturnAddedIds_whenDeltasNeedSeveralBytes() {
+        // GIVEN
+        PostingList list = new PostingList();
+        int[] ids = {0, 1, 130, 20000, 3000000, Integer.MAX_VALUE};
+
+        // WHEN
+        for (int id : ids) {
+            list.add(id);
+        }
+
+        // THEN
+        assertThat(list.toArray(), is(equalTo(ids)));
+        assertThat(list.size(), is(equalTo(6)));
+    }
+
+    @Test
+    public void getEncodedLength_shouldUseSingleByte_whenDeltaIsSmall() {
+        // GIVEN
+        PostingList list = new PostingList();
+
+        // WHEN
+        for (int id = 0; id < 100; id++) {
+            list.add(id);
+        }
+
+        // THEN
+        assertThat(list.getEncodedLength(), is(equalTo(100)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_shouldThrowIllegalArgumentException_whenIdIsNotAscending() {
+        // GIVEN
+        PostingList list = new PostingList();
+        list.add(5);
+
+        // WHEN
+        list.add(5);
+
+        // THEN THROW
+    }
+
+    @Test
+    public void retainAll_shouldKeepIdsInBothLists_whenListsIntersect() {
+        // GIVEN
+        PostingList list = new PostingList();
+        for (int id : new int[]{2, 4, 6, 8, 300}) {
+            list.add(id);
+        }
+        int[] ids = {1, 2, 3, 6, 7, 300, 400};
+
+        // WHEN
+        int count = list.retainAll(ids, ids.length);
+
+        // THEN
+        assertThat(count, is(equalTo(3)));
+        assertThat(ids[0], is(equalTo(2)));
+        assertThat(ids[1], is(equalTo(6)));
+        assertThat(ids[2], is(equalTo(300)));
+    }
+}
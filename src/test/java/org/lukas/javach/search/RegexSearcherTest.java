@@ -0,0 +1,139 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class RegexSearcherTest {
+
+    private static DocumentContent createContent(String text) {
+        return new DocumentContentFactoryImpl().createDocumentContent(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RegexSearcher createSearcher(String regex) {
+        return new RegexSearcher(Pattern.compile(regex), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void findAll_shouldReturnHitsInBytes_whenLinesContainMatches() {
+        // GIVEN
+        DocumentContent content = createContent("error 404\nok\n\u00E9rror 500 and error 501");
+        RegexSearcher searcher = createSearcher("\\d{3}");
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(
+                new SearchHit(0, 6, 3), new SearchHit(2, 7, 3), new SearchHit(2, 21, 3)))));
+    }
+
+    @Test
+    public void findAll_shouldReturnByteLengthOfMatch_whenMatchContainsMultiByteCharacters() {
+        // GIVEN
+        DocumentContent content = createContent("na\u00EFve caf\u00E9");
+        RegexSearcher searcher = createSearcher("caf.");
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(new SearchHit(0, 7, 5)))));
+    }
+
+    @Test
+    public void findAll_shouldReturnHitsInBytes_whenCharsetIsWindows1252() {
+        // GIVEN
+        Charset charset = Charset.forName("windows-1252");
+        DocumentContent content = new DocumentContentFactoryImpl()
+                .createDocumentContent("price \u20AC 42\n\u201Ccaf\u00E9\u201D 7".getBytes(charset));
+        RegexSearcher searcher = new RegexSearcher(Pattern.compile("\u20AC \\d+|caf\u00E9"), charset);
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content);
+
+        // THEN
+        assertThat(hits, is(equalTo(Arrays.asList(new SearchHit(0, 6, 4), new SearchHit(1, 1, 4)))));
+    }
+
+    @Test
+    public void findAll_shouldMatchOnlyCandidateLines_whenTrigramIndexIsUsed() {
+        // GIVEN
+        DocumentContent content = createContent("GET /index 200\nPOST /login 500\nGET /about 404\nGET /login 200");
+        TrigramIndex index = new TrigramIndex(content);
+        RegexSearcher searcher = createSearcher("/login \\d+");
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content, index, "/login ");
+
+        // THEN
+        assertThat(hits, is(equalTo(searcher.findAll(content))));
+        assertThat(hits.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void replaceAll_shouldReturnReplacementsOfMatchingLinesOnly_whenReplacementRefersToGroup() {
+        // GIVEN
+        DocumentContent content = createContent("key=value\nno match\nother=1 last=2");
+        RegexSearcher searcher = createSearcher("(\\w+)=(\\w+)");
+
+        // WHEN
+        List<LineReplacement> replacements = searcher.replaceAll(content, "$2:$1");
+
+        // THEN
+        assertThat(replacements, is(equalTo(Arrays.asList(
+                new LineReplacement(0, "value:key".getBytes(StandardCharsets.UTF_8)),
+                new LineReplacement(2, "1:other 2:last".getBytes(StandardCharsets.UTF_8))))));
+        assertThat(content.getLines().get(0), is(equalTo("key=value".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void replaceAll_shouldKeepBytesBetweenMatches_whenLineHasMultiByteCharacters() {
+        // GIVEN
+        DocumentContent content = createContent("\u00FCber x \u00E4 y");
+        RegexSearcher searcher = createSearcher("[xy]");
+
+        // WHEN
+        List<LineReplacement> replacements = searcher.replaceAll(content, "\u20AC");
+
+        // THEN
+        assertThat(replacements.get(0).getLine(), is(equalTo("\u00FCber \u20AC \u00E4 \u20AC"
+                .getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void replaceAll_shouldReturnSameReplacementsAsSingleRange_whenLinesAreReplacedInParallel() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append("id=").append(i).append(i % 3 == 0 ? " flag" : "").append('\n');
+        }
+        DocumentContent content = createContent(text.toString());
+        RegexSearcher searcher = new RegexSearcher(Pattern.compile("id=(\\d+) flag"), StandardCharsets.UTF_8, 100);
+        RegexSearcher singleRangeSearcher = new RegexSearcher(Pattern.compile("id=(\\d+) flag"),
+                StandardCharsets.UTF_8, Integer.MAX_VALUE);
+
+        // WHEN
+        List<LineReplacement> replacements = searcher.replaceAll(content, "flagged $1", new ForkJoinPool(4));
+
+        // THEN
+        assertThat(replacements.size(), is(equalTo(1000)));
+        assertThat(replacements, is(equalTo(singleRangeSearcher.replaceAll(content, "flagged $1"))));
+    }
+}
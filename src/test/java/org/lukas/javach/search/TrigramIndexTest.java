@@ -0,0 +1,152 @@
+package org.lukas.javach.search;
+
+import org.junit.Test;
+import org.lukas.javach.document.DocumentContent;
+import org.lukas.javach.document.DocumentContentFactoryImpl;
+import org.lukas.javach.editor.Editor;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Created by Lukas on 17.10.2026.
+ *
+ * @author Lukas Pecak
+ */
+public class TrigramIndexTest {
+
+    private static DocumentContent createContent(String text) {
+        return new DocumentContentFactoryImpl().createDocumentContent(text.getBytes());
+    }
+
+    @Test
+    public void findCandidateLines_shouldReturnLinesWithAllTrigrams_whenTextIsLongerThanTrigram() {
+        // GIVEN
+        TrigramIndex index = new TrigramIndex(createContent("apple pie\nbanana\npineapple\napricot"));
+
+        // WHEN
+        int[] lines = index.findCandidateLines("apple".getBytes());
+
+        // THEN
+        assertThat(lines, is(equalTo(new int[]{0, 2})));
+    }
+
+    @Test
+    public void findCandidateLines_shouldReturnNoLines_whenTrigramIsNotInContent() {
+        // GIVEN
+        TrigramIndex index = new TrigramIndex(createContent("apple pie\nbanana"));
+
+        // WHEN
+        int[] lines = index.findCandidateLines("cherry".getBytes());
+
+        // THEN
+        assertThat(lines.length, is(equalTo(0)));
+    }
+
+    @Test
+    public void findCandidateLines_shouldReturnAllLines_whenTextIsShorterThanTrigram() {
+        // GIVEN
+        TrigramIndex index = new TrigramIndex(createContent("apple pie\nbanana\ncherry"));
+
+        // WHEN
+        int[] lines = index.findCandidateLines("an".getBytes());
+
+        // THEN
+        assertThat(lines, is(equalTo(new int[]{0, 1, 2})));
+    }
+
+    @Test
+    public void findCandidateLines_shouldIgnoreCaseOfAsciiLetters_whenTextHasOtherCase() {
+        // GIVEN
+        TrigramIndex index = new TrigramIndex(createContent("Apple Pie\nbanana"));
+
+        // WHEN
+        int[] lines = index.findCandidateLines("APPLE".getBytes());
+
+        // THEN
+        assertThat(lines, is(equalTo(new int[]{0})));
+    }
+
+    @Test
+    public void findCandidateLines_shouldFollowEditor_whenLinesAreUpdatedInsertedAndDeleted() {
+        // GIVEN
+        DocumentContent content = createContent("apple pie\nbanana\ncherry\npineapple");
+        TrigramIndex index = new TrigramIndex(content);
+        Editor editor = new Editor();
+        editor.openContent(content);
+        editor.addLineChangeListener(index);
+
+        // WHEN
+        editor.updateLine(1, "apple juice");
+        editor.deleteLineAtIndex(0);
+        editor.addLineAtIndex(0, "green apple");
+        editor.addLineAtIndex(2, "plum");
+
+        // THEN
+        assertThat(index.getNumberOfLines(), is(equalTo(5)));
+        assertThat(index.findCandidateLines("apple".getBytes()), is(equalTo(new int[]{0, 1, 4})));
+        assertThat(index.findCandidateLines("pie".getBytes()).length, is(equalTo(0)));
+    }
+
+    @Test
+    public void findCandidateLines_shouldFollowEditor_whenEditIsUndoneAndRedone() {
+        // GIVEN
+        DocumentContent content = createContent("apple pie\nbanana\ncherry");
+        TrigramIndex index = new TrigramIndex(content);
+        Editor editor = new Editor();
+        editor.openContent(content);
+        editor.addLineChangeListener(index);
+        editor.deleteLinesOfRange(0, 2);
+
+        // WHEN
+        editor.undo();
+        int[] linesAfterUndo = index.findCandidateLines("banana".getBytes());
+        editor.redo();
+        int[] linesAfterRedo = index.findCandidateLines("cherry".getBytes());
+
+        // THEN
+        assertThat(linesAfterUndo, is(equalTo(new int[]{1})));
+        assertThat(linesAfterRedo, is(equalTo(new int[]{0})));
+    }
+
+    @Test
+    public void findCandidateLines_shouldKeepCandidates_whenIndexIsRebuiltAfterManyUpdates() {
+        // GIVEN
+        DocumentContent content = createContent("apple\nbanana");
+        TrigramIndex index = new TrigramIndex(content);
+        Editor editor = new Editor(0);
+        editor.openContent(content);
+        editor.addLineChangeListener(index);
+
+        // WHEN
+        for (int i = 0; i < 3000; i++) {
+            editor.updateLine(1, "banana " + i);
+        }
+
+        // THEN
+        assertThat(index.findCandidateLines("banana 2999".getBytes()), is(equalTo(new int[]{1})));
+        assertThat(index.findCandidateLines("apple".getBytes()), is(equalTo(new int[]{0})));
+    }
+
+    @Test
+    public void findAll_shouldReturnSameHitsAsFullScan_whenTrigramIndexIsUsed() {
+        // GIVEN
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append(i % 13 == 0 ? "Needle " : "hay ").append(i).append('\n');
+        }
+        DocumentContent content = createContent(text.toString());
+        TrigramIndex index = new TrigramIndex(content);
+        ByteSearcher searcher = new ByteSearcher("needle", true);
+
+        // WHEN
+        List<SearchHit> hits = searcher.findAll(content, index);
+
+        // THEN
+        assertThat(hits.size(), is(equalTo(154)));
+        assertThat(hits, is(equalTo(searcher.findAll(content))));
+    }
+}